@@ -0,0 +1,38 @@
+/*
+   Copyright 2020 Michael Thornes
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.zytekaron.sk.bench;
+
+import com.zytekaron.sk.bench.Workload.Engine;
+
+/**
+ * Measures the bytes each engine allocates per call of a function doing
+ * small integer arithmetic, whose results all come from the value caches.
+ * Running it with -Dsk.int.cache.low=0 -Dsk.int.cache.high=-1 disables the
+ * Int cache, for comparison.
+ */
+public class AllocationBench {
+    private static final String SCRIPT = "var x = 0; var a = 1; "
+            + "fn step() { x = x * 3 + a - x * 2 - 1 + 17 ** 2 - 289; return x; };";
+    private static final int CALLS = 1_000_000;
+    
+    public static void main(String[] args) {
+        for (Engine engine : Engine.values()) {
+            double bytes = Workload.allocated(Workload.prepare(engine, SCRIPT, "step();"), CALLS);
+            System.out.printf("%-12s %6.1f bytes per call%n", engine, bytes);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/*
+   Copyright 2020 Michael Thornes
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.zytekaron.sk.bench;
+
+import com.zytekaron.sk.bench.Workload.Engine;
+import com.zytekaron.sk.struct.result.RuntimeResult;
+
+import java.util.function.Supplier;
+
+/**
+ * Measures the time and the bytes allocated per call of functions taking
+ * zero to six arguments on each engine. The executables unroll call sites
+ * of up to four arguments, and loop through the pooled argument stack for
+ * more. The functions write a global, so that calls are not memoized.
+ */
+public class ArgumentBench {
+    private static final int MAX_ARGUMENTS = 6;
+    private static final int CALLS = 500_000;
+    
+    public static void main(String[] args) {
+        for (Engine engine : Engine.values()) {
+            for (int count = 0; count <= MAX_ARGUMENTS; count++) {
+                Supplier<RuntimeResult> call = Workload.prepare(engine, function(count), call(count));
+                double bytes = Workload.allocated(call, CALLS);
+                double time = Workload.time(call, CALLS, 5);
+                System.out.printf("%-12s %d args: %6.1f ns, %6.1f bytes per call%n", engine, count, time, bytes);
+            }
+        }
+    }
+    
+    // var x = 0; fn f(p0, p1, ...) { x = 0; return 0; };
+    private static String function(int count) {
+        StringBuilder parameters = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            parameters.append(i == 0 ? "" : ", ").append('p').append(i);
+        }
+        return "var x = 0; fn f(" + parameters + ") { x = 0; return 0; };";
+    }
+    
+    // f(0, 1, ...);
+    private static String call(int count) {
+        StringBuilder arguments = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            arguments.append(i == 0 ? "" : ", ").append(i);
+        }
+        return "f(" + arguments + ");";
+    }
+}
@@ -0,0 +1,122 @@
+/*
+   Copyright 2020 Michael Thornes
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.zytekaron.sk.bench;
+
+import com.zytekaron.sk.types.SkValue;
+import com.zytekaron.sk.types.object.SkArray;
+import com.zytekaron.sk.types.primitive.SkDouble;
+import com.zytekaron.sk.types.primitive.SkInt;
+import com.zytekaron.sk.types.primitive.SkLong;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares each SkArray storage strategy with a List of boxed values, by
+ * the bytes retained per element and the time to sum every element, read
+ * either boxed with get or unboxed with the typed getters
+ */
+public class ArrayStorageBench {
+    private static final int COUNT = Integer.getInteger("count", 2_000_000);
+    
+    public static void main(String[] args) {
+        for (String kind : new String[]{"int", "long", "double", "mixed"}) {
+            long base = Bench.retained();
+            List<SkValue> list = values(kind);
+            long listBytes = Bench.retained() - base;
+            SkArray array = new SkArray(values(kind));
+            long arrayBytes = Bench.retained() - base - listBytes;
+            
+            System.out.printf("%-6s %-8s bytes per element: list %5.1f, array %5.1f | ns per element: list %5.2f, get %5.2f, typed %5.2f%n",
+                    kind, array.getStorageType(), listBytes / (double) COUNT, arrayBytes / (double) COUNT,
+                    Bench.best(15, COUNT, () -> sumList(list)),
+                    Bench.best(15, COUNT, () -> sumArray(array)),
+                    Bench.best(15, COUNT, () -> sumTyped(array, kind)));
+            Bench.sink += list.size() + array.size();
+        }
+    }
+    
+    private static List<SkValue> values(String kind) {
+        List<SkValue> values = new ArrayList<>(COUNT);
+        for (int i = 0; i < COUNT; i++) {
+            // beyond the Int cache, so that boxed Ints are not shared
+            int value = i * 7 + 100_000;
+            switch (kind) {
+                case "int":
+                    values.add(SkInt.of(value));
+                    break;
+                case "long":
+                    values.add(new SkLong(value));
+                    break;
+                case "double":
+                    values.add(new SkDouble(value));
+                    break;
+                default:
+                    values.add(i % 2 == 0 ? SkInt.of(value) : new SkDouble(value));
+            }
+        }
+        return values;
+    }
+    
+    private static long sumList(List<SkValue> list) {
+        double sum = 0;
+        for (int i = 0; i < list.size(); i++) {
+            sum += number(list.get(i));
+        }
+        return (long) sum;
+    }
+    
+    private static long sumArray(SkArray array) {
+        double sum = 0;
+        for (int i = 0; i < array.size(); i++) {
+            sum += number(array.get(i));
+        }
+        return (long) sum;
+    }
+    
+    private static long sumTyped(SkArray array, String kind) {
+        double sum = 0;
+        int size = array.size();
+        switch (kind) {
+            case "int":
+                for (int i = 0; i < size; i++) {
+                    sum += array.getInt(i);
+                }
+                break;
+            case "long":
+                for (int i = 0; i < size; i++) {
+                    sum += array.getLong(i);
+                }
+                break;
+            default:
+                // mixed arrays are stored as values, and read through the widening getter
+                for (int i = 0; i < size; i++) {
+                    sum += array.getDouble(i);
+                }
+        }
+        return (long) sum;
+    }
+    
+    private static double number(SkValue value) {
+        if (value instanceof SkInt) {
+            return ((SkInt) value).getValue();
+        } else if (value instanceof SkLong) {
+            return ((SkLong) value).getValue();
+        }
+        return ((SkDouble) value).getValue();
+    }
+}
@@ -0,0 +1,101 @@
+/*
+   Copyright 2020 Michael Thornes
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.zytekaron.sk.bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Measurements shared by the benchmarks
+ */
+final class Bench {
+    // read by nothing, so that results are not optimized away
+    static volatile long sink;
+    
+    private Bench() {
+    }
+    
+    /**
+     * Time an operation, keeping the fastest of several rounds so that
+     * the JIT has compiled it and noise is excluded
+     *
+     * @param rounds     The number of rounds
+     * @param operations The number of operations each round performs
+     * @param round      A round, whose result is kept alive
+     * @return The fastest time per operation, in nanoseconds
+     */
+    static double best(int rounds, long operations, LongSupplier round) {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < rounds; i++) {
+            long start = System.nanoTime();
+            sink += round.getAsLong();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / (double) operations;
+    }
+    
+    /**
+     * Get the number of bytes the current thread has allocated, which counts
+     * objects exactly regardless of when they are collected
+     *
+     * @return The number of bytes
+     */
+    static long allocated() {
+        com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+    
+    /**
+     * Run a benchmark in a new JVM on the same classpath, for settings which
+     * are read once when a class is loaded, and wait for it to finish
+     *
+     * @param bench      The benchmark, whose main method is passed "run"
+     * @param properties System properties to set, such as "sk.frame.pool=0"
+     */
+    static void fork(Class<?> bench, String... properties) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        // the same heap and JIT flags as this JVM
+        command.addAll(ManagementFactory.getRuntimeMXBean().getInputArguments());
+        for (String property : properties) {
+            command.add("-D" + property);
+        }
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(bench.getName());
+        command.add("run");
+        System.out.println(String.join(" ", properties));
+        new ProcessBuilder(command).inheritIO().start().waitFor();
+    }
+    
+    /**
+     * Get the number of bytes reachable on the heap, after collecting garbage
+     *
+     * @return The number of bytes
+     */
+    static long retained() {
+        for (int i = 0; i < 4; i++) {
+            System.gc();
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,42 @@
+/*
+   Copyright 2020 Michael Thornes
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.zytekaron.sk.bench;
+
+import com.zytekaron.sk.bench.Workload.Engine;
+
+/**
+ * Compares the time each engine takes for a chain of four nested calls when
+ * every call site can use its cached function, and when the chain rebinds a
+ * function at its start, which invalidates every cache so that each call
+ * looks its function up again
+ */
+public class CallSiteBench {
+    private static final String CALLS = "fn g(n) { return n; }; var h = g; "
+            + "fn f4(n) { return h(n) + 1; }; "
+            + "fn f3(n) { return f4(n) + 1; }; "
+            + "fn f2(n) { return f3(n) + 1; }; ";
+    private static final String STABLE = CALLS + "fn f1(n) { return f2(n) + 1; };";
+    private static final String REBINDING = CALLS + "fn f1(n) { h = g; return f2(n) + 1; };";
+    private static final int RUNS = 200_000;
+    
+    public static void main(String[] args) {
+        for (Engine engine : Engine.values()) {
+            double stable = Workload.time(Workload.prepare(engine, STABLE, "f1(1);"), RUNS, 10);
+            double rebinding = Workload.time(Workload.prepare(engine, REBINDING, "f1(1);"), RUNS, 10);
+            System.out.printf("%-12s %7.1f ns per chain cached, %7.1f ns rebinding each time%n", engine, stable, rebinding);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+/*
+   Copyright 2020 Michael Thornes
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.zytekaron.sk.bench;
+
+import com.zytekaron.sk.bench.Workload.Engine;
+import com.zytekaron.sk.struct.result.RuntimeResult;
+
+import java.util.function.Supplier;
+
+/**
+ * Compares the time each engine takes per call of a function making two
+ * nested calls with arithmetic and reassignment, and the speedup of the
+ * compiled engines over the Interpreter's per-node handler dispatch
+ */
+public class DispatchBench {
+    private static final String SCRIPT = "var x = 0; var a = 1; "
+            + "fn g() { x = x * 3 + a - x * 2 - 1; }; "
+            + "fn f(q) { g(); g(); x = x + 1 - 1; };";
+    private static final int CALLS = 200_000;
+    
+    public static void main(String[] args) {
+        double interpreted = 0;
+        for (Engine engine : Engine.values()) {
+            Supplier<RuntimeResult> call = Workload.prepare(engine, SCRIPT, "f(1);");
+            double time = Workload.time(call, CALLS, 10);
+            if (engine == Engine.INTERPRETER) {
+                interpreted = time;
+            }
+            System.out.printf("%-12s %7.1f ns per call, %.2fx the interpreter's speed%n", engine, time, interpreted / time);
+        }
+    }
+}
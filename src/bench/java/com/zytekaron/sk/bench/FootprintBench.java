@@ -0,0 +1,56 @@
+/*
+   Copyright 2020 Michael Thornes
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.zytekaron.sk.bench;
+
+import com.zytekaron.sk.types.SkValue;
+import com.zytekaron.sk.types.primitive.SkChar;
+import com.zytekaron.sk.types.primitive.SkDouble;
+import com.zytekaron.sk.types.primitive.SkInt;
+import com.zytekaron.sk.types.primitive.SkLong;
+
+import java.util.function.IntFunction;
+
+/**
+ * Measures the bytes allocated for each primitive value, which with
+ * compressed class pointers is a 12 byte header plus the value, padded to 8
+ */
+public class FootprintBench {
+    private static final int COUNT = 1_000_000;
+    
+    public static void main(String[] args) {
+        // values outside the caches, so that each one is allocated
+        measure("Int", i -> SkInt.of(1_000_000 + i));
+        measure("Long", i -> new SkLong(i));
+        measure("Double", i -> new SkDouble(i));
+        measure("Char", i -> SkChar.of((char) (1000 + i % 60000)));
+    }
+    
+    private static void measure(String type, IntFunction<SkValue> factory) {
+        SkValue[] values = new SkValue[COUNT];
+        for (int round = 0; round < 3; round++) {
+            long before = Bench.allocated();
+            for (int i = 0; i < COUNT; i++) {
+                values[i] = factory.apply(i);
+            }
+            long bytes = Bench.allocated() - before;
+            if (round == 2) {
+                System.out.printf("%-6s %5.1f bytes per value%n", type, bytes / (double) COUNT);
+            }
+        }
+        Bench.sink += values[COUNT - 1].hash();
+    }
+}
@@ -0,0 +1,58 @@
+/*
+   Copyright 2020 Michael Thornes
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.zytekaron.sk.bench;
+
+import com.zytekaron.sk.bench.Workload.Engine;
+import com.zytekaron.sk.struct.result.RuntimeResult;
+
+import java.io.IOException;
+import java.util.function.Supplier;
+
+/**
+ * Measures the time and the bytes allocated per call of a tree of fifteen
+ * nested calls on each engine, with frames pooled and with the pool turned
+ * off. The pool size is fixed when FrameLayout is loaded, so each setting
+ * runs in its own JVM.
+ */
+public class FrameBench {
+    private static final String SCRIPT = "var x = 1; "
+            + "fn f4(a) { var b = a + 1; x = x + b - b; }; "
+            + "fn f3(a) { f4(a); f4(a); }; "
+            + "fn f2(a) { f3(a); f3(a); }; "
+            + "fn f1(a) { f2(a); f2(a); };";
+    private static final int CALLS = 15;
+    private static final int RUNS = 200_000;
+    private static final String[] POOL_SIZES = {"8", "0"};
+    
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length > 0 && args[0].equals("run")) {
+            run();
+            return;
+        }
+        for (String size : POOL_SIZES) {
+            Bench.fork(FrameBench.class, "sk.frame.pool=" + size);
+        }
+    }
+    
+    private static void run() {
+        for (Engine engine : Engine.values()) {
+            Supplier<RuntimeResult> call = Workload.prepare(engine, SCRIPT, "f1(1);");
+            double bytes = Workload.allocated(call, RUNS) / CALLS;
+            double time = Workload.time(call, RUNS, 10) / CALLS;
+            System.out.printf("%-12s %6.1f ns, %6.1f bytes per call%n", engine, time, bytes);
+        }
+    }
+}
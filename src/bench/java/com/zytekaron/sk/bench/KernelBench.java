@@ -0,0 +1,120 @@
+/*
+   Copyright 2020 Michael Thornes
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.zytekaron.sk.bench;
+
+import com.zytekaron.sk.types.NumericKernel;
+import com.zytekaron.sk.types.SkValue;
+import com.zytekaron.sk.types.primitive.SkBigInt;
+import com.zytekaron.sk.types.primitive.SkDouble;
+import com.zytekaron.sk.types.primitive.SkInt;
+import com.zytekaron.sk.types.primitive.SkLong;
+
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.function.BinaryOperator;
+
+/**
+ * Times every operator of the NumericKernel for every pair of operand types,
+ * in nanoseconds per operation. Operands are small enough not to overflow,
+ * and powers with a BigInt exponent are skipped, since they are too large.
+ */
+public class KernelBench {
+    private static final int COUNT = 1 << 14;
+    private static final String[] TYPES = {"Int", "Long", "BigInt", "Double"};
+    private static final String[] OPERATORS = {"+", "-", "*", "/", "%", "**"};
+    
+    public static void main(String[] args) {
+        Random random = new Random(3);
+        SkValue[][] left = new SkValue[TYPES.length][];
+        SkValue[][] right = new SkValue[TYPES.length][];
+        for (int type = 0; type < TYPES.length; type++) {
+            left[type] = values(type, random, false);
+            right[type] = values(type, random, true);
+        }
+        
+        System.out.printf("%-14s", "");
+        for (String operator : OPERATORS) {
+            System.out.printf("%8s", operator);
+        }
+        System.out.println();
+        for (int l = 0; l < TYPES.length; l++) {
+            for (int r = 0; r < TYPES.length; r++) {
+                System.out.printf("%-14s", TYPES[l] + " " + TYPES[r]);
+                for (String operator : OPERATORS) {
+                    if (operator.equals("**") && TYPES[r].equals("BigInt")) {
+                        System.out.printf("%8s", "-");
+                        continue;
+                    }
+                    System.out.printf("%8.1f", time(kernel(operator), left[l], right[r]));
+                }
+                System.out.println();
+            }
+        }
+    }
+    
+    // Right operands are small and positive, so that they divide and raise without overflowing
+    private static SkValue[] values(int type, Random random, boolean right) {
+        SkValue[] values = new SkValue[COUNT];
+        for (int i = 0; i < COUNT; i++) {
+            int small = right ? 1 + random.nextInt(4) : random.nextInt(1 << 10) - (1 << 9);
+            switch (type) {
+                case 0:
+                    values[i] = SkInt.of(small);
+                    break;
+                case 1:
+                    values[i] = new SkLong(right ? small : (long) small << 32);
+                    break;
+                case 2:
+                    values[i] = SkBigInt.of(BigInteger.valueOf(small).shiftLeft(right ? 64 : 80).add(BigInteger.ONE));
+                    break;
+                default:
+                    values[i] = new SkDouble(small + 0.5);
+            }
+        }
+        return values;
+    }
+    
+    private static double time(BinaryOperator<SkValue> operation, SkValue[] left, SkValue[] right) {
+        int reps = 20;
+        return Bench.best(10, (long) reps * COUNT, () -> {
+            long hash = 0;
+            for (int rep = 0; rep < reps; rep++) {
+                for (int i = 0; i < COUNT; i++) {
+                    hash += operation.apply(left[i], right[i]).hash();
+                }
+            }
+            return hash;
+        });
+    }
+    
+    private static BinaryOperator<SkValue> kernel(String operator) {
+        switch (operator) {
+            case "+":
+                return NumericKernel::add;
+            case "-":
+                return NumericKernel::subtract;
+            case "*":
+                return NumericKernel::multiply;
+            case "/":
+                return NumericKernel::divide;
+            case "%":
+                return NumericKernel::modulo;
+            default:
+                return NumericKernel::power;
+        }
+    }
+}
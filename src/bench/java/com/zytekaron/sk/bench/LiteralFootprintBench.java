@@ -0,0 +1,55 @@
+/*
+   Copyright 2020 Michael Thornes
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.zytekaron.sk.bench;
+
+import com.zytekaron.sk.lex.Lexer;
+import com.zytekaron.sk.parse.Parser;
+import com.zytekaron.sk.parse.nodes.Node;
+
+/**
+ * Measures the heap retained by the parsed tree of a function body of a
+ * hundred thousand string literals, when only a hundred of them differ and
+ * when every one does. Running it with -XX:-CompactStrings shows what the
+ * JDK's byte-per-character storage of Latin-1 strings saves.
+ */
+public class LiteralFootprintBench {
+    private static final String[] WORDS = {"hello", "world", "!ping", "pong", "ban", "kick", "user", "message", "reason", "general"};
+    private static final int LITERALS = 100_000;
+    
+    public static void main(String[] args) {
+        measure(100);
+        measure(LITERALS);
+    }
+    
+    private static void measure(int distinct) {
+        String script = script(distinct);
+        long before = Bench.retained();
+        Node module = new Parser(new Lexer(script).tokenize().getResult()).parse().getResult();
+        long bytes = Bench.retained() - before;
+        System.out.printf("%,7d distinct literals: %5.1f MB, %5.1f bytes per literal%n", distinct, bytes / 1e6, bytes / (double) LITERALS);
+        Bench.sink += module.hashCode();
+    }
+    
+    // fn f() { "hello hello 0"; "world hello 1"; ... }; with the counter wrapping at distinct
+    private static String script(int distinct) {
+        StringBuilder script = new StringBuilder("fn f() {\n");
+        for (int i = 0; i < LITERALS; i++) {
+            int n = i % distinct;
+            script.append("    \"").append(WORDS[n % 10]).append(' ').append(WORDS[n / 10 % 10]).append(' ').append(n).append("\";\n");
+        }
+        return script.append("};\n").toString();
+    }
+}
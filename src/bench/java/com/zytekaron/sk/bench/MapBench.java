@@ -0,0 +1,147 @@
+/*
+   Copyright 2020 Michael Thornes
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.zytekaron.sk.bench;
+
+import com.zytekaron.sk.types.SkNull;
+import com.zytekaron.sk.types.SkValue;
+import com.zytekaron.sk.types.object.SkMap;
+import com.zytekaron.sk.types.object.SkString;
+import com.zytekaron.sk.types.primitive.SkInt;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Compares SkMap with a HashMap of the same keys, by the time per put while
+ * filling a map and per get in a random order, for Int and String keys
+ * from 1K up to 10M entries (or the sizes given as arguments)
+ */
+public class MapBench {
+    
+    public static void main(String[] args) {
+        int[] sizes = {1_000, 10_000, 100_000, 1_000_000, 10_000_000};
+        if (args.length > 0) {
+            sizes = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                sizes[i] = Integer.parseInt(args[i]);
+            }
+        }
+        
+        for (String kind : new String[]{"Int", "String"}) {
+            for (int size : sizes) {
+                run(kind, size);
+            }
+        }
+    }
+    
+    private static void run(String kind, int size) {
+        SkValue[] keys = new SkValue[size];
+        int[] ints = new int[size];
+        for (int i = 0; i < size; i++) {
+            ints[i] = i * 7919;
+            keys[i] = kind.equals("Int") ? SkInt.of(ints[i]) : new SkString("user-" + ints[i]);
+            // Strings cache their hash, which neither map should pay for
+            keys[i].hash();
+        }
+        int[] order = shuffled(size);
+        
+        // about as many operations per round at every size
+        int repeats = Math.max(1, 4_000_000 / size);
+        int rounds = size >= 1_000_000 ? 3 : 7;
+        long operations = (long) repeats * size;
+        SkValue value = SkNull.NULL;
+        
+        Map<SkValue, SkValue> hashMap = new HashMap<>();
+        SkMap skMap = new SkMap();
+        double hashMapPut = Bench.best(rounds, operations, () -> {
+            Map<SkValue, SkValue> map = null;
+            for (int repeat = 0; repeat < repeats; repeat++) {
+                map = new HashMap<>();
+                for (SkValue key : keys) {
+                    map.put(key, value);
+                }
+            }
+            return map.size();
+        });
+        for (SkValue key : keys) {
+            hashMap.put(key, value);
+        }
+        double hashMapGet = Bench.best(rounds, operations, () -> {
+            long found = 0;
+            for (int repeat = 0; repeat < repeats; repeat++) {
+                for (int index : order) {
+                    found += hashMap.get(keys[index]) != null ? 1 : 0;
+                }
+            }
+            return found;
+        });
+        double skMapPut = Bench.best(rounds, operations, () -> {
+            SkMap map = null;
+            for (int repeat = 0; repeat < repeats; repeat++) {
+                map = new SkMap();
+                for (SkValue key : keys) {
+                    map.put(key, value);
+                }
+            }
+            return map.size();
+        });
+        for (SkValue key : keys) {
+            skMap.put(key, value);
+        }
+        double skMapGet = Bench.best(rounds, operations, () -> {
+            long found = 0;
+            for (int repeat = 0; repeat < repeats; repeat++) {
+                for (int index : order) {
+                    found += skMap.get(keys[index]) != null ? 1 : 0;
+                }
+            }
+            return found;
+        });
+        
+        System.out.printf("%-6s %,11d  HashMap put %6.1f get %6.1f | SkMap put %6.1f get %6.1f", kind, size,
+                hashMapPut, hashMapGet, skMapPut, skMapGet);
+        if (kind.equals("Int")) {
+            double skMapGetInt = Bench.best(rounds, operations, () -> {
+                long found = 0;
+                for (int repeat = 0; repeat < repeats; repeat++) {
+                    for (int index : order) {
+                        found += skMap.get(ints[index]) != null ? 1 : 0;
+                    }
+                }
+                return found;
+            });
+            System.out.printf(" get(int) %6.1f", skMapGetInt);
+        }
+        System.out.println(" ns");
+    }
+    
+    private static int[] shuffled(int size) {
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Random random = new Random(1);
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = order[i];
+            order[i] = order[j];
+            order[j] = swap;
+        }
+        return order;
+    }
+}
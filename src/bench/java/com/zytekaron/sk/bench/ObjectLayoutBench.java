@@ -0,0 +1,77 @@
+/*
+   Copyright 2020 Michael Thornes
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.zytekaron.sk.bench;
+
+import com.zytekaron.sk.types.SkObject;
+import com.zytekaron.sk.types.SkValue;
+import com.zytekaron.sk.types.primitive.SkInt;
+
+import java.io.IOException;
+
+/**
+ * Compares a million objects of three properties each when they share a
+ * shape and when they are dictionaries, in the bytes they retain, the time
+ * to build them and to read a property, and whether reading missing
+ * properties grows them. With -Dsk.shape.max.properties=0 every object is a
+ * dictionary. The setting is read when Shape loads, so each layout runs in
+ * its own JVM.
+ */
+public class ObjectLayoutBench {
+    private static final int COUNT = 1_000_000;
+    private static final String[] KEYS = {"x", "y", "z"};
+    private static final int MISSING = 100;
+    
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length > 0 && args[0].equals("run")) {
+            run();
+            return;
+        }
+        Bench.fork(ObjectLayoutBench.class, "sk.shape.max.properties=64");
+        Bench.fork(ObjectLayoutBench.class, "sk.shape.max.properties=0");
+    }
+    
+    private static void run() {
+        SkValue value = SkInt.of(1);
+        SkObject[] objects = new SkObject[COUNT];
+        long before = Bench.retained();
+        long start = System.nanoTime();
+        for (int i = 0; i < COUNT; i++) {
+            SkObject object = new SkObject();
+            for (String key : KEYS) {
+                object.put(key, value);
+            }
+            objects[i] = object;
+        }
+        long build = System.nanoTime() - start;
+        double retained = (Bench.retained() - before) / (double) COUNT;
+        
+        double read = Bench.best(5, COUNT, () -> {
+            long hits = 0;
+            for (SkObject object : objects) {
+                hits += object.get("y") == value ? 1 : 0;
+            }
+            return hits;
+        });
+        
+        SkObject object = objects[0];
+        for (int i = 0; i < MISSING; i++) {
+            object.get("missing" + i);
+        }
+        System.out.printf("%5.1f bytes retained per object, built in %.0f ms, %.1f ns per read%n", retained, build / 1e6, read);
+        System.out.printf("%d properties after %d reads of missing properties%n", object.getValues().size(), MISSING);
+        Bench.sink += objects.length;
+    }
+}
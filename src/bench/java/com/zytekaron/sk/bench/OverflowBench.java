@@ -0,0 +1,85 @@
+/*
+   Copyright 2020 Michael Thornes
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.zytekaron.sk.bench;
+
+import com.zytekaron.sk.types.NumericKernel;
+import com.zytekaron.sk.types.SkValue;
+import com.zytekaron.sk.types.primitive.SkInt;
+
+import java.util.Random;
+
+/**
+ * Times Int addition, subtraction and multiplication through the NumericKernel,
+ * whose results are checked for overflow, against the same operations on
+ * unchecked ints, in nanoseconds per operation. Operands are either small,
+ * so that no result overflows, or near the Int limit, so that every
+ * addition and multiplication is promoted to a Long.
+ */
+public class OverflowBench {
+    private static final int COUNT = 1 << 16;
+    private static final int REPS = 40;
+    
+    public static void main(String[] args) {
+        Random random = new Random(3);
+        SkInt[] small = new SkInt[COUNT];
+        SkInt[] large = new SkInt[COUNT];
+        SkInt[] right = new SkInt[COUNT];
+        for (int i = 0; i < COUNT; i++) {
+            small[i] = SkInt.of(random.nextInt(1 << 10));
+            large[i] = SkInt.of(Integer.MAX_VALUE - random.nextInt(1 << 10));
+            right[i] = SkInt.of(random.nextInt(1 << 10) + 2);
+        }
+        
+        System.out.printf("non-overflowing: unchecked %5.2f, kernel %5.2f ns per operation%n",
+                unchecked(small, right), kernel(small, right));
+        System.out.printf("overflowing:     unchecked %5.2f, kernel %5.2f ns per operation%n",
+                unchecked(large, right), kernel(large, right));
+    }
+    
+    // The arithmetic Ints did before overflow was checked, which wraps around
+    private static double unchecked(SkInt[] left, SkInt[] right) {
+        return Bench.best(15, REPS * COUNT * 3L, () -> {
+            long hash = 0;
+            for (int rep = 0; rep < REPS; rep++) {
+                for (int i = 0; i < COUNT; i++) {
+                    int a = left[i].getValue();
+                    int b = right[i].getValue();
+                    hash += SkInt.of(a + b).hash();
+                    hash += SkInt.of(a - b).hash();
+                    hash += SkInt.of(a * b).hash();
+                }
+            }
+            return hash;
+        });
+    }
+    
+    private static double kernel(SkInt[] left, SkInt[] right) {
+        return Bench.best(15, REPS * COUNT * 3L, () -> {
+            long hash = 0;
+            for (int rep = 0; rep < REPS; rep++) {
+                for (int i = 0; i < COUNT; i++) {
+                    SkValue a = left[i];
+                    SkValue b = right[i];
+                    hash += NumericKernel.add(a, b).hash();
+                    hash += NumericKernel.subtract(a, b).hash();
+                    hash += NumericKernel.multiply(a, b).hash();
+                }
+            }
+            return hash;
+        });
+    }
+}
@@ -0,0 +1,79 @@
+/*
+   Copyright 2020 Michael Thornes
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.zytekaron.sk.bench;
+
+import com.zytekaron.sk.struct.PropertyCache;
+import com.zytekaron.sk.types.SkObject;
+import com.zytekaron.sk.types.primitive.SkInt;
+
+/**
+ * Compares the time to read a property with and without a PropertyCache,
+ * from access sites which see one to eight shapes of object, with the
+ * property among the first keys of its shape or after twelve others. Eight
+ * shapes is more than the cache holds by default, so that site is
+ * megamorphic.
+ */
+public class PropertyCacheBench {
+    private static final int OBJECTS = 64;
+    private static final int PASSES = 200;
+    private static final int[] SHAPES = {1, 2, 4, 8};
+    private static final int[] PADDING = {0, 12};
+    
+    public static void main(String[] args) {
+        for (int padding : PADDING) {
+            for (int shapes : SHAPES) {
+                SkObject[] objects = objects(shapes, padding);
+                double uncached = Bench.best(400, OBJECTS * PASSES, () -> {
+                    long sum = 0;
+                    for (int pass = 0; pass < PASSES; pass++) {
+                        for (SkObject object : objects) {
+                            sum += ((SkInt) object.find("x")).getValue();
+                        }
+                    }
+                    return sum;
+                });
+                double cached = Bench.best(400, OBJECTS * PASSES, () -> {
+                    PropertyCache cache = new PropertyCache();
+                    long sum = 0;
+                    for (int pass = 0; pass < PASSES; pass++) {
+                        for (SkObject object : objects) {
+                            sum += ((SkInt) object.find("x", cache)).getValue();
+                        }
+                    }
+                    return sum;
+                });
+                System.out.printf("x after %2d+ keys, %d shapes: %5.2f ns uncached, %5.2f ns cached%n", padding, shapes, uncached, cached);
+            }
+        }
+    }
+    
+    // Objects of the given number of shapes, which differ in how many keys come before x
+    private static SkObject[] objects(int shapes, int padding) {
+        SkObject[] objects = new SkObject[OBJECTS];
+        for (int i = 0; i < OBJECTS; i++) {
+            SkObject object = new SkObject();
+            for (int key = 0; key < i % shapes + padding; key++) {
+                object.put("pad" + key, SkInt.of(key));
+            }
+            object.put("x", SkInt.of(i));
+            for (int key = 0; key < 3; key++) {
+                object.put("tail" + key, SkInt.of(key));
+            }
+            objects[i] = object;
+        }
+        return objects;
+    }
+}
@@ -0,0 +1,36 @@
+/*
+   Copyright 2020 Michael Thornes
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.zytekaron.sk.bench;
+
+import com.zytekaron.sk.bench.Workload.Engine;
+
+/**
+ * Measures the bytes each engine allocates per call of a recursive function.
+ * The recursion ends by dividing by zero, so every call also returns through
+ * the error, the way a deep script failure unwinds.
+ */
+public class RecursionAllocationBench {
+    private static final String SCRIPT = "fn down(n) { 1 / n; return down(n - 1) + 1; };";
+    private static final int DEPTH = 200;
+    
+    public static void main(String[] args) {
+        for (Engine engine : Engine.values()) {
+            double bytes = Workload.allocated(Workload.prepare(engine, SCRIPT, "down(" + DEPTH + ");"), 10_000);
+            System.out.printf("%-12s %6.1f bytes per call%n", engine, bytes / (DEPTH + 1));
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/*
+   Copyright 2020 Michael Thornes
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.zytekaron.sk.bench;
+
+import com.zytekaron.sk.bench.Workload.Engine;
+
+/**
+ * Compares the time each engine takes per call of a recursion that is not a
+ * tail call, so every level keeps its frame until the bottom is reached. The
+ * Interpreter and the executables nest a Java call per level, through
+ * FunctionCallHandler and the compiled call respectively, while the
+ * VirtualMachine pushes heap frames, so only it is also timed at a depth the
+ * Java stack could not hold.
+ */
+public class RecursionBench {
+    private static final String SCRIPT = "fn stop(n) { return 0; }; "
+            + "fn sum(n) { var fs = [stop, sum]; var next = fs[1 - 0 ** n]; return 1 + next(n - 1); };";
+    private static final int DEPTH = 2_000;
+    private static final int DEEP = 500_000;
+    // enough for the nested Java calls of the Interpreter at DEPTH
+    private static final long STACK_SIZE = 512L * 1024 * 1024;
+    
+    public static void main(String[] args) throws InterruptedException {
+        Thread thread = new Thread(null, RecursionBench::run, "bench", STACK_SIZE);
+        thread.start();
+        thread.join();
+    }
+    
+    private static void run() {
+        double interpreted = 0;
+        for (Engine engine : Engine.values()) {
+            double time = Workload.time(Workload.prepare(engine, SCRIPT, "sum(" + DEPTH + ");"), 2_000, 5) / (DEPTH + 1);
+            if (engine == Engine.INTERPRETER) {
+                interpreted = time;
+            }
+            System.out.printf("%-12s %6.1f ns per call at depth %d, %.2fx the interpreter's speed%n", engine, time, DEPTH, interpreted / time);
+        }
+        double deep = Workload.time(Workload.prepare(Engine.VM, SCRIPT, "sum(" + DEEP + ");"), 4, 5) / (DEEP + 1);
+        System.out.printf("%-12s %6.1f ns per call at depth %d%n", Engine.VM, deep, DEEP);
+    }
+}
@@ -0,0 +1,71 @@
+/*
+   Copyright 2020 Michael Thornes
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.zytekaron.sk.bench;
+
+import com.zytekaron.sk.bench.Workload.Engine;
+import com.zytekaron.sk.struct.result.RuntimeResult;
+
+import java.io.IOException;
+import java.util.function.Supplier;
+
+/**
+ * Measures the time each engine takes to build a string by appending to it
+ * many times, including flattening the result once at the end. Ropes are
+ * compared with copying on every append, which a flat length larger than
+ * any string gives; copying takes quadratic time, so it is not run for a
+ * million appends. The flat length is read when SkString loads, so each
+ * setting runs in its own JVM.
+ */
+public class RopeBench {
+    private static final int[] APPENDS = {25_000, 100_000, 1_000_000};
+    private static final int MAX_COPYING_APPENDS = 100_000;
+    
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length > 0 && args[0].equals("run")) {
+            run();
+            return;
+        }
+        Bench.fork(RopeBench.class, "sk.string.flat.length=64");
+        Bench.fork(RopeBench.class, "sk.string.flat.length=" + Integer.MAX_VALUE);
+    }
+    
+    private static void run() {
+        boolean copying = Integer.getInteger("sk.string.flat.length", 64) == Integer.MAX_VALUE;
+        for (Engine engine : Engine.values()) {
+            // compiles the append before it is timed
+            build(engine, 10_000);
+            for (int appends : APPENDS) {
+                if (copying && appends > MAX_COPYING_APPENDS) {
+                    continue;
+                }
+                long start = System.nanoTime();
+                int length = build(engine, appends);
+                double time = (System.nanoTime() - start) / 1e6;
+                System.out.printf("%-12s %,10d appends: %7.1f ms (%,d chars)%n", engine, appends, time, length);
+            }
+        }
+    }
+    
+    // Append to a string, and get the length of its flattened value
+    private static int build(Engine engine, int appends) {
+        Supplier<RuntimeResult> append = Workload.prepare(engine, "var s = \"\";", "s = s + \"ab12\";");
+        RuntimeResult result = null;
+        for (int i = 0; i < appends; i++) {
+            result = append.get();
+        }
+        return result.getResult().toString().length();
+    }
+}
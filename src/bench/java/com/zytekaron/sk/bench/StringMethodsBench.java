@@ -0,0 +1,114 @@
+/*
+   Copyright 2020 Michael Thornes
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.zytekaron.sk.bench;
+
+import com.zytekaron.sk.types.SkValue;
+import com.zytekaron.sk.types.object.SkArray;
+import com.zytekaron.sk.types.object.SkString;
+import com.zytekaron.sk.types.primitive.SkBool;
+import com.zytekaron.sk.types.primitive.SkInt;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.ToIntFunction;
+
+/**
+ * Compares the time and the bytes allocated per message of a bot's command
+ * pipeline: check the prefix, slice it off, trim, split on spaces, and lower
+ * the command. The string methods return views, while the copying pipeline
+ * wraps what the equivalent String methods return in new SkStrings. Each
+ * pipeline runs in its own JVM, so neither is compiled with the other's
+ * profile.
+ */
+public class StringMethodsBench {
+    private static final SkString PREFIX = new SkString("!");
+    private static final SkString SPACE = new SkString(" ");
+    private static final int MESSAGES = 1000;
+    
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length > 0 && args[0].equals("run")) {
+            run();
+            return;
+        }
+        Bench.fork(StringMethodsBench.class, "bench.pipeline=views");
+        Bench.fork(StringMethodsBench.class, "bench.pipeline=copying");
+    }
+    
+    private static void run() {
+        ToIntFunction<SkString> pipeline = System.getProperty("bench.pipeline").equals("views")
+                ? StringMethodsBench::views
+                : StringMethodsBench::copying;
+        measure("short", messages(""), pipeline);
+        measure("long", messages(" " + new String(new char[40]).replace("\0", "lorem ipsum dolor sit amet ")), pipeline);
+    }
+    
+    private static void measure(String kind, SkString[] messages, ToIntFunction<SkString> pipeline) {
+        double time = Bench.best(2000, MESSAGES, () -> {
+            long sum = 0;
+            for (SkString message : messages) {
+                sum += pipeline.applyAsInt(message);
+            }
+            return sum;
+        });
+        long before = Bench.allocated();
+        for (SkString message : messages) {
+            Bench.sink += pipeline.applyAsInt(message);
+        }
+        double bytes = (Bench.allocated() - before) / (double) MESSAGES;
+        System.out.printf("%-5s message (%d chars): %7.1f ns, %7.1f bytes per message%n", kind, messages[1].length(), time, bytes);
+    }
+    
+    // Every other message is indented, so it fails the prefix check
+    private static SkString[] messages(String suffix) {
+        SkString[] messages = new SkString[MESSAGES];
+        for (int i = 0; i < MESSAGES; i++) {
+            String indent = i % 2 == 0 ? "" : "  ";
+            messages[i] = new SkString(indent + "!Ban @user" + i + "  being rude in #general" + suffix);
+        }
+        return messages;
+    }
+    
+    private static int views(SkString message) {
+        if (message.invoke("startsWith", PREFIX) != SkBool.TRUE) {
+            return 0;
+        }
+        SkString body = (SkString) ((SkString) message.invoke("slice", SkInt.of(1))).invoke("trim");
+        SkArray parts = (SkArray) body.invoke("split", SPACE);
+        SkString command = (SkString) ((SkString) parts.get(0)).invoke("lower");
+        return command.length() + parts.size();
+    }
+    
+    private static int copying(SkString message) {
+        String value = message.getValue();
+        if (!value.startsWith("!")) {
+            return 0;
+        }
+        String body = new SkString(new SkString(value.substring(1)).getValue().trim()).getValue();
+        List<SkValue> parts = new ArrayList<>();
+        int from = 0;
+        int space;
+        while ((space = body.indexOf(' ', from)) != -1) {
+            parts.add(new SkString(body.substring(from, space)));
+            from = space + 1;
+        }
+        parts.add(new SkString(body.substring(from)));
+        SkArray array = new SkArray(parts);
+        SkString command = new SkString(((SkString) array.get(0)).getValue().toLowerCase(Locale.ROOT));
+        return command.length() + array.size();
+    }
+}
@@ -0,0 +1,152 @@
+/*
+   Copyright 2020 Michael Thornes
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.zytekaron.sk.bench;
+
+import com.zytekaron.sk.compile.Chunk;
+import com.zytekaron.sk.compile.Compiler;
+import com.zytekaron.sk.execute.Executable;
+import com.zytekaron.sk.execute.ExecutableCompiler;
+import com.zytekaron.sk.interpret.Interpreter;
+import com.zytekaron.sk.lex.Lexer;
+import com.zytekaron.sk.optimize.Optimizer;
+import com.zytekaron.sk.optimize.PurityAnalyzer;
+import com.zytekaron.sk.parse.Parser;
+import com.zytekaron.sk.parse.nodes.FunctionDefineNode;
+import com.zytekaron.sk.parse.nodes.Node;
+import com.zytekaron.sk.parse.nodes.ScopeNode;
+import com.zytekaron.sk.resolve.Resolver;
+import com.zytekaron.sk.struct.Context;
+import com.zytekaron.sk.struct.VariableTable;
+import com.zytekaron.sk.struct.result.RuntimeResult;
+import com.zytekaron.sk.types.SkNull;
+import com.zytekaron.sk.vm.VirtualMachine;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A script run on one engine: its statements are run once in a new global
+ * context, then a statement (usually a call) is prepared to be run many times
+ * in that context
+ */
+final class Workload {
+    
+    enum Engine {
+        INTERPRETER, EXECUTABLES, VM;
+        
+        @Override
+        public String toString() {
+            return name().toLowerCase();
+        }
+    }
+    
+    private Workload() {
+    }
+    
+    /**
+     * Run a script, and prepare a statement to be run after it
+     *
+     * @param engine    The engine to run both on
+     * @param script    The script, whose statements must succeed
+     * @param statement The statement, which may fail
+     * @return Runs the statement once, returning its result
+     */
+    static Supplier<RuntimeResult> prepare(Engine engine, String script, String statement) {
+        VariableTable globals = new VariableTable();
+        globals.put("null", SkNull.NULL);
+        Context context = new Context("<program>");
+        context.setVariableTable(globals);
+        
+        Function<Node, Supplier<RuntimeResult>> compiler = compiler(engine, context);
+        for (Node node : statements(script, globals)) {
+            RuntimeResult result = compiler.apply(node).get();
+            if (!result.success()) {
+                throw new IllegalStateException(engine + ": " + result.getError());
+            }
+        }
+        return compiler.apply(statements(statement, globals).get(0));
+    }
+    
+    /**
+     * Time a statement, keeping the fastest of several rounds (see Bench#best)
+     *
+     * @param run    The statement
+     * @param runs   The number of times each round runs it
+     * @param rounds The number of rounds
+     * @return The fastest time per run, in nanoseconds
+     */
+    static double time(Supplier<RuntimeResult> run, int runs, int rounds) {
+        return Bench.best(rounds, runs, () -> {
+            long failures = 0;
+            for (int i = 0; i < runs; i++) {
+                failures += run.get().success() ? 0 : 1;
+            }
+            return failures;
+        });
+    }
+    
+    /**
+     * Measure the bytes a statement allocates, once it has been run enough to be compiled
+     *
+     * @param run  The statement
+     * @param runs The number of times to run it, both to warm up and to measure
+     * @return The bytes allocated per run
+     */
+    static double allocated(Supplier<RuntimeResult> run, int runs) {
+        for (int i = 0; i < runs; i++) {
+            run.get();
+        }
+        long before = Bench.allocated();
+        for (int i = 0; i < runs; i++) {
+            run.get();
+        }
+        return (Bench.allocated() - before) / (double) runs;
+    }
+    
+    private static Function<Node, Supplier<RuntimeResult>> compiler(Engine engine, Context context) {
+        switch (engine) {
+            case INTERPRETER: {
+                Interpreter interpreter = new Interpreter();
+                return node -> () -> interpreter.visit(node, context);
+            }
+            case EXECUTABLES: {
+                ExecutableCompiler compiler = new ExecutableCompiler();
+                return node -> {
+                    Executable executable = compiler.compile(node);
+                    return () -> executable.run(context);
+                };
+            }
+            default: {
+                VirtualMachine vm = new VirtualMachine();
+                return node -> {
+                    Chunk chunk = new Compiler().compile(node).getResult();
+                    return () -> vm.run(chunk, context);
+                };
+            }
+        }
+    }
+    
+    // The statements of a script, resolved as if they were written in the global scope
+    private static List<Node> statements(String text, VariableTable globals) {
+        Node module = new Parser(new Lexer(text).tokenize().getResult()).parse().getResult();
+        ScopeNode body = (ScopeNode) ((FunctionDefineNode) new Optimizer().optimize(module)).getScope();
+        new Resolver(globals).resolve(body);
+        new PurityAnalyzer(globals).analyze(body);
+        return body.getExpressions();
+    }
+}
@@ -16,24 +16,37 @@
 
 package com.zytekaron.sk;
 
+import com.zytekaron.sk.compile.Chunk;
+import com.zytekaron.sk.compile.Compiler;
+import com.zytekaron.sk.execute.Executable;
+import com.zytekaron.sk.execute.ExecutableCompiler;
 import com.zytekaron.sk.interpret.Interpreter;
 import com.zytekaron.sk.lex.Lexer;
+import com.zytekaron.sk.optimize.Optimizer;
+import com.zytekaron.sk.optimize.PurityAnalyzer;
 import com.zytekaron.sk.parse.Parser;
 import com.zytekaron.sk.parse.nodes.Node;
+import com.zytekaron.sk.resolve.Resolver;
 import com.zytekaron.sk.struct.Context;
 import com.zytekaron.sk.struct.Token;
 import com.zytekaron.sk.struct.VariableTable;
+import com.zytekaron.sk.struct.result.CompileResult;
 import com.zytekaron.sk.struct.result.LexResult;
 import com.zytekaron.sk.struct.result.ParseResult;
+import com.zytekaron.sk.struct.result.RuntimeResult;
 import com.zytekaron.sk.types.SkNull;
 import com.zytekaron.sk.types.SkValue;
 import com.zytekaron.sk.types.error.SkError;
+import com.zytekaron.sk.types.object.SkMap;
+import com.zytekaron.sk.types.object.SkSet;
 import com.zytekaron.sk.types.primitive.SkDouble;
+import com.zytekaron.sk.vm.VirtualMachine;
 
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.Scanner;
@@ -42,12 +55,16 @@ import java.util.stream.Collectors;
 public class Main {
     private static final Context globalContext = new Context("<program>");
     private static final VariableTable globalVariables = createGlobalVariables();
+    private static boolean useVirtualMachine = false;
+    private static boolean useExecutables = false;
     
     public static void main(String[] args) {
         String text1 = "2 * (2 ** -5. / 3) - (1./3) // lol 55";
         String text2 = "123.456 + 789 + \"this is \\\" \\' \\n \\t a string\" + 445";
         
         globalContext.setVariableTable(globalVariables);
+        useVirtualMachine = Arrays.asList(args).contains("--vm");
+        useExecutables = Arrays.asList(args).contains("--compile");
         
         String content = Objects.requireNonNull(getResourceFileAsString("test.sk"));
         
@@ -92,9 +109,43 @@ public class Main {
         System.out.println("Node: " + node);
         if (node == null) return;
         
-        System.out.println("=== Interpreter ===");
-        Interpreter interpreter = new Interpreter();
-        SkValue value = interpreter.visit(node, globalContext).getResult();
+        System.out.println("=== Optimizer ===");
+        Optimizer optimizer = new Optimizer();
+        node = optimizer.optimize(node);
+        System.out.println("Removed " + optimizer.getRemoved() + " nodes: " + node);
+        
+        Resolver resolver = new Resolver(globalVariables);
+        resolver.resolve(node);
+        new PurityAnalyzer(globalVariables).analyze(node);
+        
+        RuntimeResult runtimeResult;
+        if (useVirtualMachine) {
+            System.out.println("=== Compiler ===");
+            CompileResult compileResult = new Compiler().compile(node);
+            if (!compileResult.success()) {
+                compileResult.getError().raise();
+                return;
+            }
+            Chunk chunk = compileResult.getResult();
+            System.out.println("Chunk:\n" + chunk);
+            
+            System.out.println("=== Virtual Machine ===");
+            VirtualMachine vm = new VirtualMachine();
+            runtimeResult = vm.run(chunk, globalContext);
+        } else if (useExecutables) {
+            System.out.println("=== Executables ===");
+            Executable executable = new ExecutableCompiler().compile(node);
+            runtimeResult = executable.run(globalContext);
+        } else {
+            System.out.println("=== Interpreter ===");
+            Interpreter interpreter = new Interpreter();
+            runtimeResult = interpreter.visit(node, globalContext);
+        }
+        if (!runtimeResult.success()) {
+            runtimeResult.getError().raise();
+            return;
+        }
+        SkValue value = runtimeResult.getResult();
         if (value instanceof SkError) {
             ((SkError) value).raise();
             return;
@@ -106,9 +157,11 @@ public class Main {
     
     private static VariableTable createGlobalVariables() {
         VariableTable table = new VariableTable();
-        table.put("null", new SkNull());
+        table.put("null", SkNull.NULL);
         table.put("PI", new SkDouble(Math.PI));
         table.put("E", new SkDouble(Math.E));
+        table.put("Map", SkMap.CONSTRUCTOR);
+        table.put("Set", SkSet.CONSTRUCTOR);
         return table;
     }
     
@@ -0,0 +1,49 @@
+/*
+ *    Copyright 2020 Michael Thornes
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.zytekaron.sk.compile;
+
+import lombok.Getter;
+
+@Getter
+public class Chunk {
+    private final int[] code;
+    private final Object[] constants;
+    private final int maxStack;
+    
+    public Chunk(int[] code, Object[] constants, int maxStack) {
+        this.code = code;
+        this.constants = constants;
+        this.maxStack = maxStack;
+    }
+    
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        int ip = 0;
+        while (ip < code.length) {
+            int opCode = code[ip];
+            builder.append(String.format("%04d %s", ip, OpCode.name(opCode)));
+            if (OpCode.operands(opCode) > 0) {
+                int operand = code[ip + 1];
+                builder.append(' ').append(operand).append(" (").append(constants[operand]).append(')');
+            }
+            builder.append('\n');
+            ip += 1 + OpCode.operands(opCode);
+        }
+        return builder.toString();
+    }
+}
\ No newline at end of file
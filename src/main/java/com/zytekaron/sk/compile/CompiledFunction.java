@@ -0,0 +1,38 @@
+/*
+ *    Copyright 2020 Michael Thornes
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.zytekaron.sk.compile;
+
+import com.zytekaron.sk.parse.nodes.Node;
+import com.zytekaron.sk.types.object.SkFunction;
+import com.zytekaron.sk.types.object.SkParameter;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * A function defined by the virtual machine, which carries its compiled body
+ * alongside the statements so the Interpreter is still able to call it.
+ */
+@Getter
+public class CompiledFunction extends SkFunction {
+    private final Chunk chunk;
+    
+    public CompiledFunction(List<SkParameter> parameters, List<Node> statements, Chunk chunk) {
+        super(parameters, statements);
+        this.chunk = chunk;
+    }
+}
\ No newline at end of file
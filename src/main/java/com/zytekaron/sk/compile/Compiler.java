@@ -0,0 +1,330 @@
+/*
+ *    Copyright 2020 Michael Thornes
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.zytekaron.sk.compile;
+
+import com.zytekaron.sk.parse.nodes.*;
+import com.zytekaron.sk.struct.result.CompileResult;
+import com.zytekaron.sk.types.error.SkCompilingError;
+import com.zytekaron.sk.types.error.SkError;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static com.zytekaron.sk.compile.OpCode.*;
+
+/**
+ * Lowers the Node tree produced by the Parser into a Chunk for the VirtualMachine.
+ * <p>
+ * Every chunk is self contained; function bodies are compiled into their own
+ * chunk, which is stored in the constant pool as a FunctionPrototype.
+ */
+public class Compiler {
+    private final Map<Class<? extends Node>, Function<Node, SkError>> emitters = new HashMap<>();
+    private final List<Object> constants = new ArrayList<>();
+    private int[] code = new int[32];
+    private int size = 0;
+    private int depth = 0;
+    private int maxDepth = 0;
+    
+    public Compiler() {
+        // Primitive types
+        emitters.put(BoolNode.class, node -> compileBool((BoolNode) node));
+        emitters.put(StringNode.class, node -> compileString((StringNode) node));
+        emitters.put(NumberNode.class, node -> compileNumber((NumberNode) node));
+        emitters.put(ConstantNode.class, node -> compileConstant((ConstantNode) node));
+        // Objects
+        emitters.put(ArrayNode.class, node -> compileArray((ArrayNode) node));
+        emitters.put(ElementAccessNode.class, node -> compileElementAccess((ElementAccessNode) node));
+        // Variables
+        emitters.put(VarAccessNode.class, node -> compileVarAccess((VarAccessNode) node));
+        emitters.put(VarDeleteNode.class, node -> compileVarDelete((VarDeleteNode) node));
+        emitters.put(VarAssignNode.class, node -> compileVarAssign((VarAssignNode) node));
+        emitters.put(VarReassignNode.class, node -> compileVarReassign((VarReassignNode) node));
+        // Functions
+        emitters.put(ReturnNode.class, node -> compileReturn((ReturnNode) node));
+        emitters.put(FunctionCallNode.class, node -> compileFunctionCall((FunctionCallNode) node));
+        emitters.put(FunctionDefineNode.class, node -> compileFunctionDefine((FunctionDefineNode) node));
+        emitters.put(MethodCallNode.class, node -> compileMethodCall((MethodCallNode) node));
+        // Operations
+        emitters.put(UnaryOperationNode.class, node -> compileUnaryOperation((UnaryOperationNode) node));
+        emitters.put(BinaryOperationNode.class, node -> compileBinaryOperation((BinaryOperationNode) node));
+    }
+    
+    /**
+     * Compile a program, which leaves the value of its node on the stack
+     *
+     * @param node The head node produced by the Parser
+     * @return The CompileResult
+     */
+    public CompileResult compile(Node node) {
+        CompileResult result = new CompileResult();
+        
+        SkError error = compileNode(node);
+        if (error != null) {
+            return result.failure(error);
+        }
+        emit(RETURN);
+        
+        return result.success(build());
+    }
+    
+    /**
+     * Compile the body of a function, which evaluates to null unless it returns
+     *
+     * @param statements The statements of the function
+     * @return The CompileResult
+     */
+    public CompileResult compileFunction(List<Node> statements) {
+        CompileResult result = new CompileResult();
+        
+        for (Node statement : statements) {
+            SkError error = compileNode(statement);
+            if (error != null) {
+                return result.failure(error);
+            }
+            emit(POP);
+        }
+        emit(NULL);
+        emit(RETURN);
+        
+        return result.success(build());
+    }
+    
+    private Chunk build() {
+        return new Chunk(Arrays.copyOf(code, size), constants.toArray(), maxDepth);
+    }
+    
+    private SkError compileNode(Node node) {
+        Function<Node, SkError> emitter = emitters.get(node.getClass());
+        if (emitter == null) {
+            return new SkCompilingError(node, "Unsupported node type " + node.getClass().getSimpleName());
+        }
+        return emitter.apply(node);
+    }
+    
+    private SkError compileBool(BoolNode node) {
+        emit(CONSTANT, constant(node.getValue()));
+        return null;
+    }
+    
+    private SkError compileString(StringNode node) {
+        emit(CONSTANT, constant(node.getValue()));
+        return null;
+    }
+    
+    private SkError compileNumber(NumberNode node) {
+        emit(CONSTANT, constant(node.getValue()));
+        return null;
+    }
+    
+    private SkError compileConstant(ConstantNode node) {
+        emit(CONSTANT, constant(node.getValue()));
+        return null;
+    }
+    
+    private SkError compileArray(ArrayNode node) {
+        List<Node> nodes = node.getNodes();
+        for (Node element : nodes) {
+            SkError error = compileNode(element);
+            if (error != null) {
+                return error;
+            }
+        }
+        emit(ARRAY, constant(node), 1 - nodes.size());
+        return null;
+    }
+    
+    private SkError compileElementAccess(ElementAccessNode node) {
+        SkError error = compileNode(node.getValue());
+        if (error != null) {
+            return error;
+        }
+        emit(ELEMENT, constant(node));
+        return null;
+    }
+    
+    private SkError compileVarAccess(VarAccessNode node) {
+        emit(LOAD_NAME, constant(node));
+        return null;
+    }
+    
+    private SkError compileVarDelete(VarDeleteNode node) {
+        emit(DELETE_NAME, constant(node));
+        return null;
+    }
+    
+    private SkError compileVarAssign(VarAssignNode node) {
+        if (node.getValue() == null) {
+            emit(NULL);
+        } else {
+            SkError error = compileNode(node.getValue());
+            if (error != null) {
+                return error;
+            }
+        }
+        emit(DEFINE_NAME, constant(node));
+        return null;
+    }
+    
+    private SkError compileVarReassign(VarReassignNode node) {
+        SkError error = compileNode(node.getValue());
+        if (error != null) {
+            return error;
+        }
+        emit(STORE_NAME, constant(node));
+        return null;
+    }
+    
+    private SkError compileReturn(ReturnNode node) {
+        if (node.getNode() == null) {
+            emit(NULL);
+        } else {
+            SkError error = compileNode(node.getNode());
+            if (error != null) {
+                return error;
+            }
+        }
+        emit(RETURN);
+        // the value of the statement is never observed, but POP expects one
+        emit(NULL);
+        return null;
+    }
+    
+    private SkError compileFunctionCall(FunctionCallNode node) {
+        int index = constant(node);
+        emit(LOAD_FUNCTION, index);
+        
+        List<Node> params = node.getParams();
+        for (Node param : params) {
+            SkError error = compileNode(param);
+            if (error != null) {
+                return error;
+            }
+        }
+        // a tail call never comes back, but the code after it is still counted
+        emit(node.isTailCall() ? TAIL_CALL : CALL, index, -params.size());
+        return null;
+    }
+    
+    private SkError compileMethodCall(MethodCallNode node) {
+        SkError receiverError = compileNode(node.getReceiver());
+        if (receiverError != null) {
+            return receiverError;
+        }
+        List<Node> params = node.getParams();
+        for (Node param : params) {
+            SkError error = compileNode(param);
+            if (error != null) {
+                return error;
+            }
+        }
+        emit(INVOKE, constant(node), -params.size());
+        return null;
+    }
+    
+    private SkError compileFunctionDefine(FunctionDefineNode node) {
+        int defaults = 0;
+        for (Node param : node.getParams()) {
+            Node defaultValue = ((FunctionParameterNode) param).getDefaultValue();
+            if (defaultValue != null) {
+                SkError error = compileNode(defaultValue);
+                if (error != null) {
+                    return error;
+                }
+                defaults++;
+            }
+        }
+        
+        List<Node> statements = ((ScopeNode) node.getScope()).getExpressions();
+        CompileResult body = new Compiler().compileFunction(statements);
+        if (!body.success()) {
+            return body.getError();
+        }
+        
+        FunctionPrototype prototype = new FunctionPrototype(node, statements, body.getResult());
+        emit(DEFINE_FUNCTION, constant(prototype), 1 - defaults);
+        return null;
+    }
+    
+    private SkError compileUnaryOperation(UnaryOperationNode node) {
+        SkError error = compileNode(node.getOperand());
+        if (error != null) {
+            return error;
+        }
+        emit(UNARY, constant(node));
+        return null;
+    }
+    
+    private SkError compileBinaryOperation(BinaryOperationNode node) {
+        SkError error = compileNode(node.getLeftOperand());
+        if (error != null) {
+            return error;
+        }
+        error = compileNode(node.getRightOperand());
+        if (error != null) {
+            return error;
+        }
+        emit(BINARY, constant(node));
+        return null;
+    }
+    
+    private int constant(Object value) {
+        constants.add(value);
+        return constants.size() - 1;
+    }
+    
+    private void emit(int opCode) {
+        emit(opCode, -1, stackEffect(opCode));
+    }
+    
+    private void emit(int opCode, int operand) {
+        emit(opCode, operand, stackEffect(opCode));
+    }
+    
+    private void emit(int opCode, int operand, int stackEffect) {
+        if (size + 2 > code.length) {
+            code = Arrays.copyOf(code, code.length * 2);
+        }
+        code[size++] = opCode;
+        if (OpCode.operands(opCode) > 0) {
+            code[size++] = operand;
+        }
+        depth += stackEffect;
+        maxDepth = Math.max(maxDepth, depth);
+    }
+    
+    private static int stackEffect(int opCode) {
+        switch (opCode) {
+            case CONSTANT:
+            case NULL:
+            case LOAD_NAME:
+            case DELETE_NAME:
+            case LOAD_FUNCTION:
+                return 1;
+            case POP:
+            case BINARY:
+            case RETURN:
+                return -1;
+            default:
+                return 0;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,41 @@
+/*
+ *    Copyright 2020 Michael Thornes
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.zytekaron.sk.compile;
+
+import com.zytekaron.sk.parse.nodes.FunctionDefineNode;
+import com.zytekaron.sk.parse.nodes.Node;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class FunctionPrototype {
+    private final FunctionDefineNode node;
+    private final List<Node> statements;
+    private final Chunk chunk;
+    
+    public FunctionPrototype(FunctionDefineNode node, List<Node> statements, Chunk chunk) {
+        this.node = node;
+        this.statements = statements;
+        this.chunk = chunk;
+    }
+    
+    @Override
+    public String toString() {
+        return "FnProto(" + node.getName().getValue() + ")";
+    }
+}
\ No newline at end of file
@@ -0,0 +1,75 @@
+/*
+ *    Copyright 2020 Michael Thornes
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.zytekaron.sk.compile;
+
+/**
+ * The instruction set of the sk virtual machine.
+ * <p>
+ * Every instruction is a single opcode followed by at most one operand,
+ * which is an index into the constant pool of the chunk it belongs to.
+ */
+public final class OpCode {
+    // Values
+    public static final int CONSTANT = 0;        // k: push constants[k]
+    public static final int NULL = 1;            // push null
+    public static final int POP = 2;             // discard the top of the stack
+    public static final int ARRAY = 3;           // k: pop ArrayNode#getNodes().size() values into an array
+    // Variables
+    public static final int LOAD_NAME = 4;       // k: push the variable of VarAccessNode k
+    public static final int DEFINE_NAME = 5;     // k: define the variable of VarAssignNode k as the top of the stack
+    public static final int STORE_NAME = 6;      // k: reassign the variable of VarReassignNode k to the top of the stack
+    public static final int DELETE_NAME = 7;     // k: delete the variable of VarDeleteNode k and push its value
+    // Operations
+    public static final int UNARY = 8;           // k: apply UnaryOperationNode k to the top of the stack
+    public static final int BINARY = 9;          // k: apply BinaryOperationNode k to the top two values of the stack
+    // Functions
+    public static final int DEFINE_FUNCTION = 10; // k: define FunctionPrototype k, popping its default values
+    public static final int LOAD_FUNCTION = 11;  // k: push the function named by FunctionCallNode k
+    public static final int CALL = 12;           // k: call the function below the arguments of FunctionCallNode k
+    public static final int RETURN = 13;         // return the top of the stack from the current chunk
+    public static final int TAIL_CALL = 14;      // k: like CALL, but replace the current chunk with the callee
+    // Elements
+    public static final int ELEMENT = 15;        // k: replace the key on top of the stack with the element of ElementAccessNode k
+    public static final int INVOKE = 16;         // k: replace the receiver and arguments of MethodCallNode k with the result of the method
+    
+    private static final String[] NAMES = {
+            "CONSTANT", "NULL", "POP", "ARRAY",
+            "LOAD_NAME", "DEFINE_NAME", "STORE_NAME", "DELETE_NAME",
+            "UNARY", "BINARY",
+            "DEFINE_FUNCTION", "LOAD_FUNCTION", "CALL", "RETURN", "TAIL_CALL",
+            "ELEMENT", "INVOKE"
+    };
+    
+    private static final int[] OPERANDS = {
+            1, 0, 0, 1,
+            1, 1, 1, 1,
+            1, 1,
+            1, 1, 1, 0, 1,
+            1, 1
+    };
+    
+    private OpCode() {
+    }
+    
+    public static String name(int opCode) {
+        return NAMES[opCode];
+    }
+    
+    public static int operands(int opCode) {
+        return OPERANDS[opCode];
+    }
+}
\ No newline at end of file
@@ -0,0 +1,165 @@
+/*
+ *    Copyright 2020 Michael Thornes
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.zytekaron.sk.execute;
+
+import com.zytekaron.sk.interpret.handlers.BinaryOperationHandler;
+import com.zytekaron.sk.parse.nodes.BinaryOperationNode;
+import com.zytekaron.sk.struct.Context;
+import com.zytekaron.sk.struct.TokenType;
+import com.zytekaron.sk.struct.signal.ErrorSignal;
+import com.zytekaron.sk.types.NumericKernel;
+import com.zytekaron.sk.types.SkValue;
+import com.zytekaron.sk.types.object.SkString;
+import com.zytekaron.sk.types.primitive.SkDouble;
+import com.zytekaron.sk.types.primitive.SkInt;
+import lombok.Getter;
+
+/**
+ * A binary operation which specializes itself on the operand types it observes.
+ * <p>
+ * The first execution picks a specialization for the types it sees, which then
+ * works on the raw values without any type dispatch. When a later execution
+ * sees other types, the operation permanently falls back to the generic path
+ * of the BinaryOperationHandler.
+ */
+public class BinaryOperationExecutable implements Executable {
+    private final BinaryOperationNode node;
+    private final TokenType operation;
+    private final Executable leftOperand;
+    private final Executable rightOperand;
+    @Getter
+    private Specialization specialization = Specialization.UNINITIALIZED;
+    
+    public BinaryOperationExecutable(BinaryOperationNode node, Executable leftOperand, Executable rightOperand) {
+        this.node = node;
+        this.operation = node.getOperation().getType();
+        this.leftOperand = leftOperand;
+        this.rightOperand = rightOperand;
+    }
+    
+    @Override
+    public SkValue execute(Context context) {
+        SkValue left = leftOperand.execute(context);
+        SkValue right = rightOperand.execute(context);
+        
+        try {
+            switch (specialization) {
+                case INT:
+                    if (left instanceof SkInt && right instanceof SkInt) {
+                        return executeInt(((SkInt) left).getValue(), ((SkInt) right).getValue());
+                    }
+                    break;
+                case DOUBLE:
+                    if (left instanceof SkDouble && right instanceof SkDouble) {
+                        return executeDouble(((SkDouble) left).getValue(), ((SkDouble) right).getValue());
+                    }
+                    break;
+                case STRING:
+                    if (left instanceof SkString) {
+                        return ((SkString) left).add(right);
+                    }
+                    break;
+                case GENERIC:
+                    return executeGeneric(left, right, context);
+            }
+        } catch (ArithmeticException e) {
+            throw new ErrorSignal(BinaryOperationHandler.operationError(node, context));
+        }
+        
+        specialization = specialization == Specialization.UNINITIALIZED
+                ? specialize(left, right)
+                : Specialization.GENERIC;
+        return executeGeneric(left, right, context);
+    }
+    
+    private SkValue executeGeneric(SkValue left, SkValue right, Context context) {
+        SkValue value = BinaryOperationHandler.operate(left, right, node, context);
+        if (value == null) {
+            throw new ErrorSignal(BinaryOperationHandler.operationError(node, context));
+        }
+        return value;
+    }
+    
+    private Specialization specialize(SkValue left, SkValue right) {
+        if (operation == TokenType.PLUS && left instanceof SkString) {
+            return Specialization.STRING;
+        }
+        switch (operation) {
+            case PLUS:
+            case MINUS:
+            case MULTIPLY:
+            case DIVIDE:
+            case MODULO:
+            case POWER:
+                if (left instanceof SkInt && right instanceof SkInt) {
+                    return Specialization.INT;
+                }
+                if (left instanceof SkDouble && right instanceof SkDouble) {
+                    return Specialization.DOUBLE;
+                }
+                return Specialization.GENERIC;
+            default:
+                return Specialization.GENERIC;
+        }
+    }
+    
+    private SkValue executeInt(int left, int right) {
+        switch (operation) {
+            case PLUS:
+                return NumericKernel.add(left, right);
+            case MINUS:
+                return NumericKernel.subtract(left, right);
+            case MULTIPLY:
+                return NumericKernel.multiply(left, right);
+            case DIVIDE:
+                return NumericKernel.divide(left, right);
+            case MODULO:
+                return SkInt.of(left % right);
+            case POWER:
+                return NumericKernel.power(left, right);
+            default:
+                throw new RuntimeException("Invalid operation passed: " + operation);
+        }
+    }
+    
+    private SkValue executeDouble(double left, double right) {
+        switch (operation) {
+            case PLUS:
+                return new SkDouble(left + right);
+            case MINUS:
+                return new SkDouble(left - right);
+            case MULTIPLY:
+                return new SkDouble(left * right);
+            case DIVIDE:
+                return new SkDouble(left / right);
+            case MODULO:
+                return new SkDouble(left % right);
+            case POWER:
+                return new SkDouble(Math.pow(left, right));
+            default:
+                throw new RuntimeException("Invalid operation passed: " + operation);
+        }
+    }
+    
+    public enum Specialization {
+        UNINITIALIZED,
+        INT,
+        DOUBLE,
+        STRING,
+        GENERIC
+    }
+}
\ No newline at end of file
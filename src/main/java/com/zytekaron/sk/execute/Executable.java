@@ -0,0 +1,53 @@
+/*
+ *    Copyright 2020 Michael Thornes
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.zytekaron.sk.execute;
+
+import com.zytekaron.sk.struct.Context;
+import com.zytekaron.sk.struct.result.RuntimeResult;
+import com.zytekaron.sk.struct.signal.ControlFlowSignal;
+import com.zytekaron.sk.types.SkValue;
+
+/**
+ * A Node which has been compiled by the ExecutableCompiler, with its
+ * children and the logic of its Handler already bound.
+ */
+@FunctionalInterface
+public interface Executable {
+    
+    /**
+     * Execute this node to its value
+     *
+     * @param context The context
+     * @return The value of the node
+     * @throws ControlFlowSignal if the node errors, returns, breaks or continues
+     */
+    SkValue execute(Context context);
+    
+    /**
+     * Execute this node, converting any signal which escapes it into a RuntimeResult
+     *
+     * @param context The context
+     * @return The RuntimeResult
+     */
+    default RuntimeResult run(Context context) {
+        try {
+            return new RuntimeResult().success(execute(context));
+        } catch (ControlFlowSignal signal) {
+            return signal.toResult();
+        }
+    }
+}
\ No newline at end of file
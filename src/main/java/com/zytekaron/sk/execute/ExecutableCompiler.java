@@ -0,0 +1,454 @@
+/*
+ *    Copyright 2020 Michael Thornes
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.zytekaron.sk.execute;
+
+import com.zytekaron.sk.interpret.handlers.ElementAccessHandler;
+import com.zytekaron.sk.interpret.handlers.FunctionCallHandler;
+import com.zytekaron.sk.interpret.handlers.FunctionDefineHandler;
+import com.zytekaron.sk.interpret.handlers.MethodCallHandler;
+import com.zytekaron.sk.interpret.handlers.UnaryOperationHandler;
+import com.zytekaron.sk.parse.nodes.*;
+import com.zytekaron.sk.struct.ArgumentStack;
+import com.zytekaron.sk.struct.CallSiteCache;
+import com.zytekaron.sk.struct.Context;
+import com.zytekaron.sk.struct.MemoCache;
+import com.zytekaron.sk.struct.Token;
+import com.zytekaron.sk.struct.VariableTable;
+import com.zytekaron.sk.struct.signal.ControlFlowSignal;
+import com.zytekaron.sk.struct.signal.ErrorSignal;
+import com.zytekaron.sk.struct.signal.ReturnSignal;
+import com.zytekaron.sk.struct.signal.TailCallSignal;
+import com.zytekaron.sk.types.SkNull;
+import com.zytekaron.sk.types.SkNumber;
+import com.zytekaron.sk.types.SkValue;
+import com.zytekaron.sk.types.error.SkError;
+import com.zytekaron.sk.types.error.SkRuntimeError;
+import com.zytekaron.sk.types.object.NativeFunction;
+import com.zytekaron.sk.types.object.SkArray;
+import com.zytekaron.sk.types.object.SkFunction;
+import com.zytekaron.sk.types.object.SkParameter;
+import com.zytekaron.sk.types.object.SkString;
+import com.zytekaron.sk.types.primitive.SkBool;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Converts the Node tree produced by the Parser into a tree of Executables,
+ * so the per-node handler lookup of the Interpreter is paid once ahead of time.
+ * <p>
+ * The semantics are identical to the Interpreter; the operations themselves
+ * are shared with its handlers.
+ */
+public class ExecutableCompiler {
+    private final Map<Class<? extends Node>, Function<Node, Executable>> compilers = new HashMap<>();
+    // bodies of functions which were not defined by compiled Executables
+    private final Map<SkFunction, Executable[]> functionBodies = new IdentityHashMap<>();
+    private final ReturnSignal returnSignal = new ReturnSignal();
+    private final TailCallSignal tailCallSignal = new TailCallSignal();
+    private final ArgumentStack argumentStack = new ArgumentStack();
+    
+    public ExecutableCompiler() {
+        // Primitive types
+        compilers.put(BoolNode.class, node -> compileBool((BoolNode) node));
+        compilers.put(StringNode.class, node -> compileString((StringNode) node));
+        compilers.put(NumberNode.class, node -> compileNumber((NumberNode) node));
+        compilers.put(ConstantNode.class, node -> compileConstant((ConstantNode) node));
+        // Objects
+        compilers.put(ArrayNode.class, node -> compileArray((ArrayNode) node));
+        compilers.put(ElementAccessNode.class, node -> compileElementAccess((ElementAccessNode) node));
+        // Variables
+        compilers.put(VarAccessNode.class, node -> compileVarAccess((VarAccessNode) node));
+        compilers.put(VarDeleteNode.class, node -> compileVarDelete((VarDeleteNode) node));
+        compilers.put(VarAssignNode.class, node -> compileVarAssign((VarAssignNode) node));
+        compilers.put(VarReassignNode.class, node -> compileVarReassign((VarReassignNode) node));
+        // Functions
+        compilers.put(ReturnNode.class, node -> compileReturn((ReturnNode) node));
+        compilers.put(FunctionCallNode.class, node -> compileFunctionCall((FunctionCallNode) node));
+        compilers.put(FunctionDefineNode.class, node -> compileFunctionDefine((FunctionDefineNode) node));
+        compilers.put(MethodCallNode.class, node -> compileMethodCall((MethodCallNode) node));
+        // Operations
+        compilers.put(UnaryOperationNode.class, node -> compileUnaryOperation((UnaryOperationNode) node));
+        compilers.put(BinaryOperationNode.class, node -> compileBinaryOperation((BinaryOperationNode) node));
+    }
+    
+    public Executable compile(Node node) {
+        if (node == null) {
+            throw new RuntimeException("Found null node");
+        }
+        Class<? extends Node> clazz = node.getClass();
+        Function<Node, Executable> compiler = compilers.get(clazz);
+        if (compiler == null) {
+            throw new RuntimeException("ExecutableCompiler missing Node compiler for type " + clazz);
+        }
+        return compiler.apply(node);
+    }
+    
+    private Executable[] compileAll(List<Node> nodes) {
+        Executable[] executables = new Executable[nodes.size()];
+        for (int i = 0; i < executables.length; i++) {
+            executables[i] = compile(nodes.get(i));
+        }
+        return executables;
+    }
+    
+    private Executable compileBool(BoolNode node) {
+        SkBool bool = node.getValue();
+        return context -> bool;
+    }
+    
+    private Executable compileString(StringNode node) {
+        SkString string = node.getValue();
+        return context -> string;
+    }
+    
+    private Executable compileNumber(NumberNode node) {
+        SkNumber number = node.getValue();
+        return context -> number;
+    }
+    
+    private Executable compileConstant(ConstantNode node) {
+        SkValue value = node.getValue();
+        return context -> value;
+    }
+    
+    private Executable compileArray(ArrayNode node) {
+        Executable[] elements = compileAll(node.getNodes());
+        return context -> {
+            List<SkValue> values = new ArrayList<>(elements.length);
+            for (Executable element : elements) {
+                values.add(element.execute(context));
+            }
+            return new SkArray(values);
+        };
+    }
+    
+    private Executable compileElementAccess(ElementAccessNode node) {
+        Token token = node.getName();
+        String name = token.getValue();
+        Executable value = compile(node.getValue());
+        return context -> {
+            SkValue key = value.execute(context);
+            SkValue receiver = context.getVariableTable().get(node.getDepth(), node.getSlot(), name);
+            if (receiver == null) {
+                SkError error = new SkRuntimeError(token, context, "'" + name + "' is not defined");
+                throw new ErrorSignal(error);
+            }
+            SkValue element = ElementAccessHandler.access(receiver, key, node);
+            if (element == null) {
+                throw new ErrorSignal(ElementAccessHandler.typeError(receiver, key, node, context));
+            }
+            return element;
+        };
+    }
+    
+    private Executable compileVarAccess(VarAccessNode node) {
+        Token token = node.getName();
+        String name = token.getValue();
+        return context -> {
+            VariableTable table = context.getVariableTable();
+            SkValue value = table.get(node.getDepth(), node.getSlot(), name);
+            if (value != null) {
+                return value;
+            }
+            SkError error = new SkRuntimeError(token, context, "'" + name + "' is not defined");
+            throw new ErrorSignal(error);
+        };
+    }
+    
+    private Executable compileVarDelete(VarDeleteNode node) {
+        String name = node.getName().getValue();
+        return context -> {
+            VariableTable table = context.getVariableTable();
+            SkValue value = table.get(node.getDepth(), node.getSlot(), name);
+            if (value == null) {
+                SkError error = new SkRuntimeError(node, context, "Variable '" + name + "' not defined");
+                throw new ErrorSignal(error);
+            }
+            if (table.isImmutable()) {
+                SkError error = new SkRuntimeError(node, context, "Variable '" + name + "' cannot be deleted");
+                throw new ErrorSignal(error);
+            }
+            table.delete(name);
+            return value;
+        };
+    }
+    
+    private Executable compileVarAssign(VarAssignNode node) {
+        String name = node.getName().getValue();
+        Executable value = node.getValue() == null
+                ? context -> SkNull.NULL
+                : compile(node.getValue());
+        return context -> {
+            SkValue val = value.execute(context);
+            VariableTable table = context.getVariableTable();
+            if (table.containsHere(node.getSlot(), name)) {
+                SkError error = new SkRuntimeError(node, context, "Variable '" + name + "' is already defined in this scope");
+                throw new ErrorSignal(error);
+            }
+            table.put(node.getSlot(), name, val);
+            return val;
+        };
+    }
+    
+    private Executable compileVarReassign(VarReassignNode node) {
+        String name = node.getName().getValue();
+        Executable value = compile(node.getValue());
+        return context -> {
+            SkValue val = value.execute(context);
+            VariableTable table = context.getVariableTable();
+            if (!table.set(node.getDepth(), node.getSlot(), name, val)) {
+                SkError error = new SkRuntimeError(node, context, "Variable '" + name + "' not defined");
+                throw new ErrorSignal(error);
+            }
+            return val;
+        };
+    }
+    
+    private Executable compileReturn(ReturnNode node) {
+        if (node.getNode() == null) {
+            return context -> {
+                throw returnSignal.with(SkNull.NULL);
+            };
+        }
+        Executable value = compile(node.getNode());
+        return context -> {
+            throw returnSignal.with(value.execute(context));
+        };
+    }
+    
+    private Executable compileFunctionCall(FunctionCallNode node) {
+        Arguments arguments = compileArguments(compileAll(node.getParams()));
+        int count = node.getParams().size();
+        boolean tailCall = node.isTailCall();
+        CallSiteCache cache = node.getCache();
+        return context -> {
+            VariableTable table = context.getVariableTable();
+            
+            SkFunction function = cache.get(table);
+            if (function == null) {
+                function = FunctionCallHandler.lookup(node, table, context);
+                cache.set(table, function);
+            }
+            
+            int base = argumentStack.size();
+            try {
+                arguments.push(context);
+            } catch (ControlFlowSignal signal) {
+                argumentStack.truncate(base);
+                throw signal;
+            }
+            
+            SkError validateError = FunctionCallHandler.validateParameters(function, node, count, context);
+            if (validateError != null) {
+                argumentStack.truncate(base);
+                throw new ErrorSignal(validateError);
+            }
+            
+            if (function instanceof NativeFunction) {
+                SkValue value = ((NativeFunction) function).call(argumentStack.getValues(), base, count);
+                argumentStack.truncate(base);
+                if (value == null) {
+                    throw new ErrorSignal(FunctionCallHandler.nativeError((NativeFunction) function, node, context));
+                }
+                return value;
+            }
+            
+            MemoCache memo = function.getMemo();
+            List<SkValue> argList = null;
+            if (memo != null) {
+                argList = argumentStack.copy(base);
+                SkValue value = memo.get(argList);
+                if (value != null) {
+                    argumentStack.truncate(base);
+                    return value;
+                }
+            }
+            
+            VariableTable frame = function.activate(table, argumentStack.getValues(), base, count);
+            argumentStack.truncate(base);
+            
+            // the result of a tail call is not memoized, as this call has ended once it is known
+            if (tailCall) {
+                throw tailCallSignal.with(function, frame);
+            }
+            
+            if (memo != null) {
+                SkValue value = call(function, frame, context);
+                memo.put(argList, value);
+                return value;
+            }
+            return call(function, frame, context);
+        };
+    }
+    
+    private Executable compileMethodCall(MethodCallNode node) {
+        Executable receiver = compile(node.getReceiver());
+        Executable[] params = compileAll(node.getParams());
+        return context -> {
+            SkValue value = receiver.execute(context);
+            SkValue[] args = new SkValue[params.length];
+            for (int i = 0; i < params.length; i++) {
+                args[i] = params[i].execute(context);
+            }
+            SkValue result = MethodCallHandler.invoke(value, node, args);
+            if (result == null) {
+                throw new ErrorSignal(MethodCallHandler.methodError(value, node, context));
+            }
+            return result;
+        };
+    }
+    
+    // Calls with up to four arguments push them without looping over an array
+    private Arguments compileArguments(Executable[] params) {
+        switch (params.length) {
+            case 0:
+                return context -> {};
+            case 1: {
+                Executable a = params[0];
+                return context -> argumentStack.push(a.execute(context));
+            }
+            case 2: {
+                Executable a = params[0];
+                Executable b = params[1];
+                return context -> {
+                    argumentStack.push(a.execute(context));
+                    argumentStack.push(b.execute(context));
+                };
+            }
+            case 3: {
+                Executable a = params[0];
+                Executable b = params[1];
+                Executable c = params[2];
+                return context -> {
+                    argumentStack.push(a.execute(context));
+                    argumentStack.push(b.execute(context));
+                    argumentStack.push(c.execute(context));
+                };
+            }
+            case 4: {
+                Executable a = params[0];
+                Executable b = params[1];
+                Executable c = params[2];
+                Executable d = params[3];
+                return context -> {
+                    argumentStack.push(a.execute(context));
+                    argumentStack.push(b.execute(context));
+                    argumentStack.push(c.execute(context));
+                    argumentStack.push(d.execute(context));
+                };
+            }
+            default:
+                return context -> {
+                    for (Executable param : params) {
+                        argumentStack.push(param.execute(context));
+                    }
+                };
+        }
+    }
+    
+    private SkValue call(SkFunction function, VariableTable frame, Context context) {
+        VariableTable caller = context.getVariableTable();
+        context.setVariableTable(frame);
+        try {
+            while (true) {
+                try {
+                    for (Executable statement : bodyOf(function)) {
+                        statement.execute(context);
+                    }
+                    return SkNull.NULL;
+                } catch (ReturnSignal signal) {
+                    return signal.getValue();
+                } catch (TailCallSignal signal) {
+                    function.release(frame);
+                    function = signal.getFunction();
+                    frame = signal.getFrame();
+                    context.setVariableTable(frame);
+                }
+            }
+        } finally {
+            context.setVariableTable(caller);
+            function.release(frame);
+        }
+    }
+    
+    private Executable compileFunctionDefine(FunctionDefineNode node) {
+        String name = node.getName().getValue();
+        List<Node> nodes = node.getParams();
+        Executable[] defaults = new Executable[nodes.size()];
+        for (int i = 0; i < defaults.length; i++) {
+            Node defaultValue = ((FunctionParameterNode) nodes.get(i)).getDefaultValue();
+            defaults[i] = defaultValue == null ? null : compile(defaultValue);
+        }
+        List<Node> statements = ((ScopeNode) node.getScope()).getExpressions();
+        Executable[] body = compileAll(statements);
+        
+        return context -> {
+            List<SkParameter> params = new ArrayList<>();
+            for (int i = 0; i < defaults.length; i++) {
+                FunctionParameterNode input = (FunctionParameterNode) nodes.get(i);
+                SkValue defaultValue = defaults[i] == null ? null : defaults[i].execute(context);
+                params.add(new SkParameter(input.getName().getValue(), input.isSpread(), defaultValue));
+            }
+            
+            SkError validationError = FunctionDefineHandler.validateParameters(nodes, params, context);
+            if (validationError != null) {
+                throw new ErrorSignal(validationError);
+            }
+            
+            SkFunction function = new ExecutableFunction(params, statements, body);
+            function.setMemo(MemoCache.create(node));
+            function.setLayout(node.getLayout());
+            function.setClosure(context.getVariableTable());
+            context.getVariableTable().put(name, function);
+            return function;
+        };
+    }
+    
+    private Executable compileUnaryOperation(UnaryOperationNode node) {
+        Executable operand = compile(node.getOperand());
+        return context -> {
+            SkValue value = operand.execute(context);
+            SkValue obj = UnaryOperationHandler.operate(value, node, context);
+            if (obj == null) {
+                throw new ErrorSignal(UnaryOperationHandler.typeError(value, node, context));
+            }
+            return obj;
+        };
+    }
+    
+    private Executable compileBinaryOperation(BinaryOperationNode node) {
+        Executable leftOperand = compile(node.getLeftOperand());
+        Executable rightOperand = compile(node.getRightOperand());
+        return new BinaryOperationExecutable(node, leftOperand, rightOperand);
+    }
+    
+    private Executable[] bodyOf(SkFunction function) {
+        if (function instanceof ExecutableFunction) {
+            return ((ExecutableFunction) function).getBody();
+        }
+        return functionBodies.computeIfAbsent(function, fn -> compileAll(fn.getStatements()));
+    }
+    
+    private interface Arguments {
+        void push(Context context);
+    }
+}
@@ -18,22 +18,36 @@ package com.zytekaron.sk.interpret;
 
 import com.zytekaron.sk.interpret.handlers.*;
 import com.zytekaron.sk.parse.nodes.*;
+import com.zytekaron.sk.struct.ArgumentStack;
 import com.zytekaron.sk.struct.Context;
 import com.zytekaron.sk.struct.result.RuntimeResult;
+import com.zytekaron.sk.struct.signal.ControlFlowSignal;
+import com.zytekaron.sk.struct.signal.ReturnSignal;
+import com.zytekaron.sk.struct.signal.TailCallSignal;
+import com.zytekaron.sk.types.SkValue;
+import lombok.Getter;
 
 import java.util.HashMap;
 import java.util.Map;
 
 public class Interpreter {
     private final Map<Class<? extends Node>, Handler> handlers = new HashMap<>();
+    @Getter
+    private final ReturnSignal returnSignal = new ReturnSignal();
+    @Getter
+    private final TailCallSignal tailCallSignal = new TailCallSignal();
+    @Getter
+    private final ArgumentStack arguments = new ArgumentStack();
     
     public Interpreter() {
         // Primitive types
         handlers.put(BoolNode.class, new BoolHandler());
         handlers.put(StringNode.class, new StringHandler());
         handlers.put(NumberNode.class, new NumberHandler());
+        handlers.put(ConstantNode.class, new ConstantHandler());
         // Objects
         handlers.put(ArrayNode.class, new ArrayHandler(this));
+        handlers.put(ElementAccessNode.class, new ElementAccessHandler(this));
         // Variables
         handlers.put(VarAccessNode.class, new VarAccessHandler());
         handlers.put(VarDeleteNode.class, new VarDeleteHandler());
@@ -43,12 +57,36 @@ public class Interpreter {
         handlers.put(ReturnNode.class, new ReturnHandler(this));
         handlers.put(FunctionCallNode.class, new FunctionCallHandler(this));
         handlers.put(FunctionDefineNode.class, new FunctionDefineHandler(this));
+        handlers.put(MethodCallNode.class, new MethodCallHandler(this));
         // Operations
         handlers.put(UnaryOperationNode.class, new UnaryOperationHandler(this));
         handlers.put(BinaryOperationNode.class, new BinaryOperationHandler(this));
     }
     
+    /**
+     * Evaluate a node, converting any signal which escapes it into a RuntimeResult
+     *
+     * @param node    The node
+     * @param context The context
+     * @return The RuntimeResult
+     */
     public RuntimeResult visit(Node node, Context context) {
+        try {
+            return new RuntimeResult().success(evaluate(node, context));
+        } catch (ControlFlowSignal signal) {
+            return signal.toResult();
+        }
+    }
+    
+    /**
+     * Evaluate a node to its value
+     *
+     * @param node    The node
+     * @param context The context
+     * @return The value of the node
+     * @throws ControlFlowSignal if the node errors, returns, breaks or continues
+     */
+    public SkValue evaluate(Node node, Context context) {
         if (node == null || context == null) {
             throw new RuntimeException("Found null node or context (" + node + ", " + context + ")");
         }
@@ -20,7 +20,6 @@ import com.zytekaron.sk.interpret.Interpreter;
 import com.zytekaron.sk.parse.nodes.ArrayNode;
 import com.zytekaron.sk.parse.nodes.Node;
 import com.zytekaron.sk.struct.Context;
-import com.zytekaron.sk.struct.result.RuntimeResult;
 import com.zytekaron.sk.types.SkValue;
 import com.zytekaron.sk.types.object.SkArray;
 
@@ -35,26 +34,18 @@ public class ArrayHandler implements Handler {
     }
     
     @Override
-    public RuntimeResult handle(Node node, Context context) {
+    public SkValue handle(Node node, Context context) {
         return handle((ArrayNode) node, context);
     }
     
-    private RuntimeResult handle(ArrayNode node, Context context) {
-        RuntimeResult result = new RuntimeResult();
-        
+    private SkValue handle(ArrayNode node, Context context) {
         List<Node> nodes = node.getNodes();
         
         List<SkValue> elements = new ArrayList<>();
         for (Node n : nodes) {
-            RuntimeResult res = interpreter.visit(n, context);
-            if (!res.shouldReturn()) {
-                return res;
-            }
-            elements.add(res.getResult());
+            elements.add(interpreter.evaluate(n, context));
         }
         
-        SkArray array = new SkArray(elements);
-        
-        return result.success(array);
+        return new SkArray(elements);
     }
 }
\ No newline at end of file
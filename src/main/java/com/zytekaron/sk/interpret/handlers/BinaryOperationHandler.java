@@ -20,9 +20,8 @@ import com.zytekaron.sk.interpret.Interpreter;
 import com.zytekaron.sk.parse.nodes.BinaryOperationNode;
 import com.zytekaron.sk.parse.nodes.Node;
 import com.zytekaron.sk.struct.Context;
-import com.zytekaron.sk.struct.Token;
 import com.zytekaron.sk.struct.TokenType;
-import com.zytekaron.sk.struct.result.RuntimeResult;
+import com.zytekaron.sk.struct.signal.ErrorSignal;
 import com.zytekaron.sk.types.SkNumber;
 import com.zytekaron.sk.types.SkValue;
 import com.zytekaron.sk.types.error.SkError;
@@ -38,42 +37,44 @@ public class BinaryOperationHandler implements Handler {
     }
     
     @Override
-    public RuntimeResult handle(Node node, Context context) {
+    public SkValue handle(Node node, Context context) {
         return handle((BinaryOperationNode) node, context);
     }
     
-    private RuntimeResult handle(BinaryOperationNode node, Context context) {
-        RuntimeResult result = new RuntimeResult();
+    private SkValue handle(BinaryOperationNode node, Context context) {
+        SkValue left = interpreter.evaluate(node.getLeftOperand(), context);
+        SkValue right = interpreter.evaluate(node.getRightOperand(), context);
         
-        RuntimeResult leftResult = interpreter.visit(node.getLeftOperand(), context);
-        SkValue left = result.register(leftResult);
-        if (result.shouldReturn()) {
-            return result;
+        SkValue value = operate(left, right, node, context);
+        if (value == null) {
+            throw new ErrorSignal(operationError(node, context));
         }
+        return value;
+    }
     
-        RuntimeResult rightResult = interpreter.visit(node.getRightOperand(), context);
-        SkValue right = result.register(rightResult);
-        if (result.shouldReturn()) {
-            return result;
-        }
-        
-        Token operation = node.getOperation();
-        TokenType operationType = operation.getType();
-        
+    /**
+     * Perform the operation of a BinaryOperationNode on two already evaluated operands
+     *
+     * @param left    The left operand
+     * @param right   The right operand
+     * @param node    The node, for its operation and error positions
+     * @param context The context
+     * @return The resulting value, or null if the operation failed
+     */
+    public static SkValue operate(SkValue left, SkValue right, BinaryOperationNode node, Context context) {
+        TokenType operationType = node.getOperation().getType();
         try {
-            SkValue value = execute(left, operationType, right, node, context);
-            if (value == null) {
-                SkError error = new SkRuntimeError(node, context, "An error occurred whilst performing this operation.");
-                return result.failure(error);
-            }
-            return result.success(value);
+            return execute(left, operationType, right, node, context);
         } catch (ArithmeticException e) {
-            SkError error = new SkRuntimeError(node, context, "An error occurred whilst performing this operation.");
-            return result.failure(error);
+            return null;
         }
     }
     
-    private SkValue execute(SkValue left, TokenType operationType, SkValue right, BinaryOperationNode node, Context context) {
+    public static SkError operationError(BinaryOperationNode node, Context context) {
+        return new SkRuntimeError(node, context, "An error occurred whilst performing this operation.");
+    }
+    
+    private static SkValue execute(SkValue left, TokenType operationType, SkValue right, BinaryOperationNode node, Context context) {
         switch (operationType) {
             case PLUS:
                 return add(left, right);
@@ -92,7 +93,7 @@ public class BinaryOperationHandler implements Handler {
         }
     }
     
-    private SkValue add(SkValue left, SkValue right) {
+    private static SkValue add(SkValue left, SkValue right) {
         if (left instanceof SkNumber) {
             SkNumber number = (SkNumber) left;
             return number.add(right);
@@ -105,7 +106,7 @@ public class BinaryOperationHandler implements Handler {
         return left.toSkString().add(right);
     }
     
-    private SkValue subtract(SkValue left, SkValue right, BinaryOperationNode node, Context context) {
+    private static SkValue subtract(SkValue left, SkValue right, BinaryOperationNode node, Context context) {
         if (left instanceof SkNumber) {
             SkNumber number = (SkNumber) left;
             return number.subtract(right);
@@ -113,7 +114,7 @@ public class BinaryOperationHandler implements Handler {
         return new SkRuntimeError(node, context, "Invalid operand type '" + left.getType() + "' used in - expression");
     }
     
-    private SkValue multiply(SkValue left, SkValue right, BinaryOperationNode node, Context context) {
+    private static SkValue multiply(SkValue left, SkValue right, BinaryOperationNode node, Context context) {
         if (left instanceof SkNumber) {
             SkNumber number = (SkNumber) left;
             return number.multiply(right);
@@ -125,7 +126,7 @@ public class BinaryOperationHandler implements Handler {
         return new SkRuntimeError(node, context, "Invalid operand type '" + left.getType() + "' used in * expression");
     }
     
-    private SkValue divide(SkValue left, SkValue right, BinaryOperationNode node, Context context) {
+    private static SkValue divide(SkValue left, SkValue right, BinaryOperationNode node, Context context) {
         if (left instanceof SkNumber) {
             SkNumber number = (SkNumber) left;
             return number.divide(right);
@@ -133,7 +134,7 @@ public class BinaryOperationHandler implements Handler {
         return new SkRuntimeError(node, context, "Invalid operand type '" + left.getType() + "' used in / expression");
     }
     
-    private SkValue modulo(SkValue left, SkValue right, BinaryOperationNode node, Context context) {
+    private static SkValue modulo(SkValue left, SkValue right, BinaryOperationNode node, Context context) {
         if (left instanceof SkNumber) {
             SkNumber number = (SkNumber) left;
             return number.modulo(right);
@@ -141,7 +142,7 @@ public class BinaryOperationHandler implements Handler {
         return new SkRuntimeError(node, context, "Invalid operand type '" + left.getType() + "' used in % expression");
     }
     
-    private SkValue power(SkValue left, SkValue right, BinaryOperationNode node, Context context) {
+    private static SkValue power(SkValue left, SkValue right, BinaryOperationNode node, Context context) {
         if (left instanceof SkNumber) {
             SkNumber number = (SkNumber) left;
             return number.power(right);
@@ -149,19 +150,19 @@ public class BinaryOperationHandler implements Handler {
         return new SkRuntimeError(node, context, "Invalid operand type '" + left.getType() + "' used in ** expression");
     }
     
-    private SkValue and(SkValue left, SkValue right, BinaryOperationNode node, Context context) {
+    private static SkValue and(SkValue left, SkValue right, BinaryOperationNode node, Context context) {
         return left.into(SkBool.class).and(right);
     }
     
-    private SkValue or(SkValue left, SkValue right, BinaryOperationNode node, Context context) {
+    private static SkValue or(SkValue left, SkValue right, BinaryOperationNode node, Context context) {
         return left.into(SkBool.class).or(right);
     }
     
-    private SkValue equals(SkValue left, SkValue right, BinaryOperationNode node, Context context) {
+    private static SkValue equals(SkValue left, SkValue right, BinaryOperationNode node, Context context) {
         return left.equalTo(right);
     }
     
-    private SkValue notEquals(SkValue left, SkValue right, BinaryOperationNode node, Context context) {
+    private static SkValue notEquals(SkValue left, SkValue right, BinaryOperationNode node, Context context) {
         return left.equalTo(right).not();
     }
 }
\ No newline at end of file
@@ -16,25 +16,19 @@
 
 package com.zytekaron.sk.interpret.handlers;
 
+import com.zytekaron.sk.parse.nodes.BoolNode;
 import com.zytekaron.sk.parse.nodes.Node;
-import com.zytekaron.sk.parse.nodes.StringNode;
 import com.zytekaron.sk.struct.Context;
-import com.zytekaron.sk.struct.Token;
-import com.zytekaron.sk.struct.result.RuntimeResult;
-import com.zytekaron.sk.types.primitive.SkBool;
+import com.zytekaron.sk.types.SkValue;
 
 public class BoolHandler implements Handler {
     
     @Override
-    public RuntimeResult handle(Node node, Context context) {
-        return handle((StringNode) node);
+    public SkValue handle(Node node, Context context) {
+        return handle((BoolNode) node);
     }
     
-    private RuntimeResult handle(StringNode node) {
-        Token token = node.getToken();
-        String value = token.getValue();
-        
-        SkBool bool = SkBool.fromString(value);
-        return new RuntimeResult().success(bool);
+    private SkValue handle(BoolNode node) {
+        return node.getValue();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,107 @@
+/*
+   Copyright 2020 Michael Thornes
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.zytekaron.sk.interpret.handlers;
+
+import com.zytekaron.sk.interpret.Interpreter;
+import com.zytekaron.sk.parse.nodes.ElementAccessNode;
+import com.zytekaron.sk.parse.nodes.Node;
+import com.zytekaron.sk.struct.Context;
+import com.zytekaron.sk.struct.Token;
+import com.zytekaron.sk.struct.VariableTable;
+import com.zytekaron.sk.struct.signal.ErrorSignal;
+import com.zytekaron.sk.types.SkNull;
+import com.zytekaron.sk.types.SkObject;
+import com.zytekaron.sk.types.SkValue;
+import com.zytekaron.sk.types.error.SkError;
+import com.zytekaron.sk.types.error.SkRuntimeError;
+import com.zytekaron.sk.types.object.SkArray;
+import com.zytekaron.sk.types.object.SkMap;
+import com.zytekaron.sk.types.object.SkString;
+import com.zytekaron.sk.types.primitive.SkDouble;
+import com.zytekaron.sk.types.primitive.SkInt;
+import com.zytekaron.sk.types.primitive.SkLong;
+
+public class ElementAccessHandler implements Handler {
+    private final Interpreter interpreter;
+    
+    public ElementAccessHandler(Interpreter interpreter) {
+        this.interpreter = interpreter;
+    }
+    
+    @Override
+    public SkValue handle(Node node, Context context) {
+        return handle((ElementAccessNode) node, context);
+    }
+    
+    private SkValue handle(ElementAccessNode node, Context context) {
+        SkValue key = interpreter.evaluate(node.getValue(), context);
+        
+        VariableTable table = context.getVariableTable();
+        Token token = node.getName();
+        String name = token.getValue();
+        SkValue receiver = table.get(node.getDepth(), node.getSlot(), name);
+        if (receiver == null) {
+            SkError error = new SkRuntimeError(token, context, "'" + name + "' is not defined");
+            throw new ErrorSignal(error);
+        }
+        
+        SkValue element = access(receiver, key, node);
+        if (element == null) {
+            throw new ErrorSignal(typeError(receiver, key, node, context));
+        }
+        return element;
+    }
+    
+    /**
+     * Get an element of an array by index, the value of a key in a map, or a property of an object by name
+     *
+     * @param receiver The value being indexed
+     * @param key      The index or name
+     * @param node     The node, for its property cache
+     * @return The element, SkNull if there is none, or null if the types are not supported
+     */
+    public static SkValue access(SkValue receiver, SkValue key, ElementAccessNode node) {
+        if (receiver instanceof SkArray && key instanceof SkInt) {
+            return element((SkArray) receiver, ((SkInt) key).getValue());
+        } else if (receiver instanceof SkMap) {
+            SkValue value = ((SkMap) receiver).get(key);
+            return value == null ? SkNull.NULL : value;
+        } else if (receiver instanceof SkObject && key instanceof SkString) {
+            SkValue value = ((SkObject) receiver).find(((SkString) key).getValue(), node.getCache());
+            return value == null ? SkNull.NULL : value;
+        }
+        return null;
+    }
+    
+    // Primitive elements are read by their storage type, which avoids a call through the storage for each
+    private static SkValue element(SkArray array, int index) {
+        if (index < 0 || index >= array.size()) {
+            return SkNull.NULL;
+        } else if (array.storesInts()) {
+            return SkInt.of(array.getInt(index));
+        } else if (array.storesDoubles()) {
+            return new SkDouble(array.getDouble(index));
+        } else if (array.storesLongs()) {
+            return new SkLong(array.getLong(index));
+        }
+        return array.get(index);
+    }
+    
+    public static SkError typeError(SkValue receiver, SkValue key, ElementAccessNode node, Context context) {
+        return new SkRuntimeError(node, context, "Cannot index " + receiver.getType() + " with " + key.getType());
+    }
+}
@@ -19,18 +19,23 @@ package com.zytekaron.sk.interpret.handlers;
 import com.zytekaron.sk.interpret.Interpreter;
 import com.zytekaron.sk.parse.nodes.FunctionCallNode;
 import com.zytekaron.sk.parse.nodes.Node;
+import com.zytekaron.sk.struct.ArgumentStack;
+import com.zytekaron.sk.struct.CallSiteCache;
 import com.zytekaron.sk.struct.Context;
+import com.zytekaron.sk.struct.MemoCache;
 import com.zytekaron.sk.struct.Token;
 import com.zytekaron.sk.struct.VariableTable;
-import com.zytekaron.sk.struct.result.RuntimeResult;
+import com.zytekaron.sk.struct.signal.ControlFlowSignal;
+import com.zytekaron.sk.struct.signal.ErrorSignal;
+import com.zytekaron.sk.struct.signal.ReturnSignal;
+import com.zytekaron.sk.struct.signal.TailCallSignal;
 import com.zytekaron.sk.types.SkNull;
 import com.zytekaron.sk.types.SkValue;
 import com.zytekaron.sk.types.error.SkError;
 import com.zytekaron.sk.types.error.SkRuntimeError;
+import com.zytekaron.sk.types.object.NativeFunction;
 import com.zytekaron.sk.types.object.SkFunction;
-import com.zytekaron.sk.types.object.SkParameter;
 
-import java.util.ArrayList;
 import java.util.List;
 
 // todo todo todo result.successReturn();
@@ -42,97 +47,143 @@ public class FunctionCallHandler implements Handler {
     } // todo todo make sure arg names ae unique for context building && call with context & variables
     
     @Override
-    public RuntimeResult handle(Node node, Context context) {
+    public SkValue handle(Node node, Context context) {
         return handle((FunctionCallNode) node, context);
     }
     
-    private RuntimeResult handle(FunctionCallNode node, Context context) {
-        RuntimeResult result = new RuntimeResult();
-        
+    private SkValue handle(FunctionCallNode node, Context context) {
         VariableTable table = context.getVariableTable();
         
-        // Make sure the function exists
-        Token token = node.getName();
-        String name = token.getValue();
-        if (!table.contains(name)) {
-            SkError error = new SkRuntimeError(token, context, "'" + name + "' is not defined");
-            return result.failure(error);
-        }
-    
-        // Get a SkFunction from the VariableTable
-        SkValue functionValue = table.get(name);
-        if (!(functionValue instanceof SkFunction)) {
-            SkError error = new SkRuntimeError(token, context, "'" + name + "' is not a function");
-            return result.failure(error);
+        // Only look the function up if the call site's cache is out of date
+        CallSiteCache cache = node.getCache();
+        SkFunction function = cache.get(table);
+        if (function == null) {
+            function = lookup(node, table, context);
+            cache.set(table, function);
         }
-        SkFunction function = (SkFunction) functionValue;
         
         // Visit all the parameters to obtain SkValues
-        List<SkValue> params = new ArrayList<>();
-        for (Node param : node.getParams()) {
-            RuntimeResult res = interpreter.visit(param, context);
-            if (res.shouldReturn()) {
-                return res;
+        ArgumentStack arguments = interpreter.getArguments();
+        int base = arguments.size();
+        try {
+            for (Node param : node.getParams()) {
+                arguments.push(interpreter.evaluate(param, context));
             }
-            params.add(res.getResult());
+        } catch (ControlFlowSignal signal) {
+            arguments.truncate(base);
+            throw signal;
         }
+        int count = arguments.size() - base;
         
         // Make sure the parameters are valid (correct amount, type) fixme
-        SkError validateError = validateParameters(function, params, context);
+        SkError validateError = validateParameters(function, node, count, context);
         if (validateError != null) {
-            return result.failure(validateError);
+            arguments.truncate(base);
+            throw new ErrorSignal(validateError);
         }
         
-        // Call the function
-        return execute(function, context);
-    }
-    
-    private RuntimeResult execute(SkFunction function, Context context) {
-        RuntimeResult result = new RuntimeResult();
-        
-        List<Node> nodes = function.getStatements();
-        for (Node node : nodes) {
-            // todo 1 what are the side effects? does this modify the interpreter? probably, @ RuntimeResult consistent
-            RuntimeResult res = interpreter.visit(node, context);
-            if (res.shouldReturn()) {
-                return res;
+        // Natives take the arguments where they are, and need no frame
+        if (function instanceof NativeFunction) {
+            SkValue value = ((NativeFunction) function).call(arguments.getValues(), base, count);
+            arguments.truncate(base);
+            if (value == null) {
+                throw new ErrorSignal(nativeError((NativeFunction) function, node, context));
             }
+            return value;
         }
         
-        // todo -1 consider if this is successReturn or just success --
-        //  probably success, since it's not a ReturnNode, it's just a SkValue returner
-        //  encapsulated within a RuntimeResult
-        return result.success(new SkNull());
-    }
-    
-    private SkError validateParameters(SkFunction function, List<SkValue> args, Context context) {
-        List<SkParameter> params = function.getParameters();
-        
-        int min = 0;
-        for (SkParameter param : params) {
-            if (param.getDefaultValue() != null) {
-                break;
+        // Reuse the result of an earlier call with the same arguments
+        MemoCache memo = function.getMemo();
+        List<SkValue> params = null;
+        if (memo != null) {
+            params = arguments.copy(base);
+            SkValue value = memo.get(params);
+            if (value != null) {
+                arguments.truncate(base);
+                return value;
             }
-            min++;
         }
         
-        int max = params.size();
-        if (max > 0 && params.get(params.size() - 1).getDefaultValue() != null) {
-            max = Integer.MAX_VALUE;
+        VariableTable frame = function.activate(table, arguments.getValues(), base, count);
+        arguments.truncate(base);
+        
+        // Let the function being returned from call it instead. The result of
+        // a tail call is not memoized, as this call has ended once it is known
+        if (node.isTailCall()) {
+            throw interpreter.getTailCallSignal().with(function, frame);
         }
         
-        if (args.size() < min || args.size() > max) {
-            // fixme nulls
-            return new SkRuntimeError((Node) null, context, "Expected " + min + " to " + max + " args, instead got " + args.size());
+        if (memo != null) {
+            SkValue value = execute(function, frame, context);
+            memo.put(params, value);
+            return value;
         }
         
-        for (int i = 0; i < 10; i++) {
-            SkParameter param = params.get(i);
-            SkValue input = args.get(i);
-            
-            // todo validate type
+        // Call the function
+        return execute(function, frame, context);
+    }
+    
+    /**
+     * Get the function a call site's name resolves to
+     *
+     * @param node    The call
+     * @param table   The table the call is made in
+     * @param context The context the call is made in
+     * @return The function
+     * @throws ErrorSignal If the name is not defined, or is not a function
+     */
+    public static SkFunction lookup(FunctionCallNode node, VariableTable table, Context context) {
+        // Make sure the function exists
+        Token token = node.getName();
+        String name = token.getValue();
+        SkValue functionValue = table.get(node.getDepth(), node.getSlot(), name);
+        if (functionValue == null) {
+            SkError error = new SkRuntimeError(token, context, "'" + name + "' is not defined");
+            throw new ErrorSignal(error);
         }
         
+        // Make sure it is a SkFunction
+        if (!(functionValue instanceof SkFunction)) {
+            SkError error = new SkRuntimeError(token, context, "'" + name + "' is not a function");
+            throw new ErrorSignal(error);
+        }
+        return (SkFunction) functionValue;
+    }
+    
+    private SkValue execute(SkFunction function, VariableTable frame, Context context) {
+        VariableTable caller = context.getVariableTable();
+        context.setVariableTable(frame);
+        try {
+            while (true) {
+                try {
+                    for (Node node : function.getStatements()) {
+                        interpreter.evaluate(node, context);
+                    }
+                    return SkNull.NULL;
+                } catch (ReturnSignal signal) {
+                    return signal.getValue();
+                } catch (TailCallSignal signal) {
+                    function.release(frame);
+                    function = signal.getFunction();
+                    frame = signal.getFrame();
+                    context.setVariableTable(frame);
+                }
+            }
+        } finally {
+            context.setVariableTable(caller);
+            function.release(frame);
+        }
+    }
+    
+    public static SkError nativeError(NativeFunction function, FunctionCallNode node, Context context) {
+        return new SkRuntimeError(node, context, "Invalid arguments for '" + function.getName() + "'");
+    }
+    
+    public static SkError validateParameters(SkFunction function, FunctionCallNode node, int count, Context context) {
+        if (!function.accepts(count)) {
+            return new SkRuntimeError(node, context, "Expected " + function.getMinArity() + " to " + function.getMaxArity() + " args, instead got " + count);
+        }
+        // todo validate types
         return null;
     }
-}
\ No newline at end of file
+}
@@ -22,9 +22,10 @@ import com.zytekaron.sk.parse.nodes.FunctionParameterNode;
 import com.zytekaron.sk.parse.nodes.Node;
 import com.zytekaron.sk.parse.nodes.ScopeNode;
 import com.zytekaron.sk.struct.Context;
+import com.zytekaron.sk.struct.MemoCache;
 import com.zytekaron.sk.struct.Token;
 import com.zytekaron.sk.struct.VariableTable;
-import com.zytekaron.sk.struct.result.RuntimeResult;
+import com.zytekaron.sk.struct.signal.ErrorSignal;
 import com.zytekaron.sk.types.SkValue;
 import com.zytekaron.sk.types.error.SkError;
 import com.zytekaron.sk.types.error.SkRuntimeError;
@@ -42,13 +43,11 @@ public class FunctionDefineHandler implements Handler {
     }
     
     @Override
-    public RuntimeResult handle(Node node, Context context) {
+    public SkValue handle(Node node, Context context) {
         return handle((FunctionDefineNode) node, context);
     }
     
-    private RuntimeResult handle(FunctionDefineNode node, Context context) {
-        RuntimeResult result = new RuntimeResult();
-        
+    private SkValue handle(FunctionDefineNode node, Context context) {
         VariableTable table = context.getVariableTable();
         
         Token token = node.getName();
@@ -62,32 +61,30 @@ public class FunctionDefineHandler implements Handler {
             
             SkValue defaultValue = null;
             if (input.getDefaultValue() != null) {
-                RuntimeResult defaultResult = interpreter.visit(input.getDefaultValue(), context);
-                defaultValue = result.register(defaultResult);
-                if (result.shouldReturn()) {
-                    return result;
-                }
+                defaultValue = interpreter.evaluate(input.getDefaultValue(), context);
             }
             
             SkParameter param = new SkParameter(input.getName().getValue(), input.isSpread(), defaultValue);
             params.add(param);
         }
     
-        // todo idk consider using RuntimeResult here
         SkError validationError = validateParameters(nodes, params, context);
         if (validationError != null) {
-            return result.failure(validationError);
+            throw new ErrorSignal(validationError);
         }
         
         ScopeNode scope = (ScopeNode) node.getScope();
         List<Node> statements = scope.getExpressions();
         
         SkFunction function = new SkFunction(params, statements);
+        function.setMemo(MemoCache.create(node));
+        function.setLayout(node.getLayout());
+        function.setClosure(table);
         table.put(name, function);
-        return result.success(function);
+        return function;
     }
     
-    private SkError validateParameters(List<Node> nodes, List<SkParameter> params, Context context) {
+    public static SkError validateParameters(List<Node> nodes, List<SkParameter> params, Context context) {
         boolean spreadBefore = false;
         boolean defaultBefore = false;
         for (int i = 0; i < nodes.size(); i++) {
@@ -18,9 +18,17 @@ package com.zytekaron.sk.interpret.handlers;
 
 import com.zytekaron.sk.parse.nodes.Node;
 import com.zytekaron.sk.struct.Context;
-import com.zytekaron.sk.struct.result.RuntimeResult;
+import com.zytekaron.sk.types.SkValue;
 
 public interface Handler {
     
-    RuntimeResult handle(Node node, Context context);
+    /**
+     * Evaluate a node to its value
+     *
+     * @param node    The node
+     * @param context The context
+     * @return The value of the node
+     * @throws com.zytekaron.sk.struct.signal.ControlFlowSignal if the node errors, returns, breaks or continues
+     */
+    SkValue handle(Node node, Context context);
 }
\ No newline at end of file
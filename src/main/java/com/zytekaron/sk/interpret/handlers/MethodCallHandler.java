@@ -0,0 +1,100 @@
+/*
+   Copyright 2020 Michael Thornes
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.zytekaron.sk.interpret.handlers;
+
+import com.zytekaron.sk.interpret.Interpreter;
+import com.zytekaron.sk.parse.nodes.MethodCallNode;
+import com.zytekaron.sk.parse.nodes.Node;
+import com.zytekaron.sk.struct.Context;
+import com.zytekaron.sk.struct.signal.ErrorSignal;
+import com.zytekaron.sk.types.SkValue;
+import com.zytekaron.sk.types.error.SkError;
+import com.zytekaron.sk.types.error.SkRuntimeError;
+import com.zytekaron.sk.types.object.CollectionMethods;
+import com.zytekaron.sk.types.object.SkMap;
+import com.zytekaron.sk.types.object.SkSet;
+import com.zytekaron.sk.types.object.SkString;
+import com.zytekaron.sk.types.object.StringMethods;
+
+import java.util.List;
+
+public class MethodCallHandler implements Handler {
+    private final Interpreter interpreter;
+    
+    public MethodCallHandler(Interpreter interpreter) {
+        this.interpreter = interpreter;
+    }
+    
+    @Override
+    public SkValue handle(Node node, Context context) {
+        return handle((MethodCallNode) node, context);
+    }
+    
+    private SkValue handle(MethodCallNode node, Context context) {
+        SkValue receiver = interpreter.evaluate(node.getReceiver(), context);
+        
+        List<Node> params = node.getParams();
+        SkValue[] args = new SkValue[params.size()];
+        for (int i = 0; i < args.length; i++) {
+            args[i] = interpreter.evaluate(params.get(i), context);
+        }
+        
+        SkValue result = invoke(receiver, node, args);
+        if (result == null) {
+            throw new ErrorSignal(methodError(receiver, node, context));
+        }
+        return result;
+    }
+    
+    /**
+     * Call a native method of a value, which only strings, maps and sets have
+     * (see StringMethods and CollectionMethods)
+     *
+     * @param receiver The value the method is called on
+     * @param node     The node, for the name of the method
+     * @param args     The arguments
+     * @return The result, or null if the value has no such method or it does not support the arguments
+     */
+    public static SkValue invoke(SkValue receiver, MethodCallNode node, SkValue[] args) {
+        String name = node.getName().getValue();
+        if (receiver instanceof SkString) {
+            return ((SkString) receiver).invoke(name, args);
+        }
+        if (receiver instanceof SkMap) {
+            return ((SkMap) receiver).invoke(name, args);
+        }
+        if (receiver instanceof SkSet) {
+            return ((SkSet) receiver).invoke(name, args);
+        }
+        return null;
+    }
+    
+    public static SkError methodError(SkValue receiver, MethodCallNode node, Context context) {
+        String name = node.getName().getValue();
+        String type = receiver instanceof SkString ? "String" : receiver.getType();
+        if (hasMethod(receiver, name)) {
+            return new SkRuntimeError(node, context, "Invalid arguments for " + type + " method '" + name + "'");
+        }
+        return new SkRuntimeError(node, context, type + " has no method '" + name + "'");
+    }
+    
+    private static boolean hasMethod(SkValue receiver, String name) {
+        return receiver instanceof SkString && StringMethods.get(name) != null
+                || receiver instanceof SkMap && CollectionMethods.ofMap(name) != null
+                || receiver instanceof SkSet && CollectionMethods.ofSet(name) != null;
+    }
+}
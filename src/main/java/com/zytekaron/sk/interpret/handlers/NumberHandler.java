@@ -19,22 +19,16 @@ package com.zytekaron.sk.interpret.handlers;
 import com.zytekaron.sk.parse.nodes.Node;
 import com.zytekaron.sk.parse.nodes.NumberNode;
 import com.zytekaron.sk.struct.Context;
-import com.zytekaron.sk.struct.Token;
-import com.zytekaron.sk.struct.result.RuntimeResult;
-import com.zytekaron.sk.types.SkNumber;
+import com.zytekaron.sk.types.SkValue;
 
 public class NumberHandler implements Handler {
     
     @Override
-    public RuntimeResult handle(Node node, Context context) {
+    public SkValue handle(Node node, Context context) {
         return handle((NumberNode) node);
     }
     
-    private RuntimeResult handle(NumberNode node) {
-        Token token = node.getToken();
-        String string = token.getValue();
-        
-        SkNumber number = SkNumber.fromString(string);
-        return new RuntimeResult().success(number);
+    private SkValue handle(NumberNode node) {
+        return node.getValue();
     }
-}
\ No newline at end of file
+}
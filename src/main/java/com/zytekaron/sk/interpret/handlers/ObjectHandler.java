@@ -20,11 +20,9 @@ import com.zytekaron.sk.interpret.Interpreter;
 import com.zytekaron.sk.parse.nodes.Node;
 import com.zytekaron.sk.parse.nodes.ObjectNode;
 import com.zytekaron.sk.struct.Context;
-import com.zytekaron.sk.struct.result.RuntimeResult;
 import com.zytekaron.sk.types.SkObject;
 import com.zytekaron.sk.types.SkValue;
 
-import java.util.HashMap;
 import java.util.Map;
 
 public class ObjectHandler implements Handler {
@@ -35,26 +33,20 @@ public class ObjectHandler implements Handler {
     }
     
     @Override
-    public RuntimeResult handle(Node node, Context context) {
+    public SkValue handle(Node node, Context context) {
         return handle((ObjectNode) node, context);
     }
     
-    private RuntimeResult handle(ObjectNode node, Context context) {
-        RuntimeResult result = new RuntimeResult();
-        
+    private SkValue handle(ObjectNode node, Context context) {
         Map<String, Node> nodes = node.getNodes();
         
-        Map<String, SkValue> values = new HashMap<>();
-        for (Map.Entry<String, Node> entry : nodes.entrySet()){
-            RuntimeResult res = interpreter.visit(entry.getValue(), context);
-            SkValue value = result.register(res);
-            if (result.shouldReturn()) {
-                return result;
-            }
-            values.put(entry.getKey(), value);
+        // Objects built from the same literal get the same Shape
+        SkObject object = new SkObject();
+        for (Map.Entry<String, Node> entry : nodes.entrySet()) {
+            SkValue value = interpreter.evaluate(entry.getValue(), context);
+            object.put(entry.getKey(), value);
         }
-    
-        SkObject object = new SkObject(values);
-        return result.success(object);
+        
+        return object;
     }
 }
\ No newline at end of file
@@ -20,7 +20,6 @@ import com.zytekaron.sk.interpret.Interpreter;
 import com.zytekaron.sk.parse.nodes.Node;
 import com.zytekaron.sk.parse.nodes.ReturnNode;
 import com.zytekaron.sk.struct.Context;
-import com.zytekaron.sk.struct.result.RuntimeResult;
 import com.zytekaron.sk.types.SkNull;
 import com.zytekaron.sk.types.SkValue;
 
@@ -33,20 +32,17 @@ public class ReturnHandler implements Handler {
     }
     
     @Override
-    public RuntimeResult handle(Node node, Context context) {
+    public SkValue handle(Node node, Context context) {
         return handle((ReturnNode) node, context);
     }
     
-    private RuntimeResult handle(ReturnNode node, Context context) {
-        RuntimeResult result = new RuntimeResult();
-    
+    private SkValue handle(ReturnNode node, Context context) {
         Node returnValue = node.getNode();
         if (returnValue != null) {
-            RuntimeResult returnValueResult = interpreter.visit(returnValue, context);
-            SkValue value = result.register(returnValueResult);
-            return result.successReturn(value);
+            SkValue value = interpreter.evaluate(returnValue, context);
+            throw interpreter.getReturnSignal().with(value);
         } else {
-            return result.successReturn(new SkNull());
+            throw interpreter.getReturnSignal().with(SkNull.NULL);
         }
     }
 }
\ No newline at end of file
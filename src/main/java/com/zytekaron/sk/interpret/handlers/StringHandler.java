@@ -19,21 +19,16 @@ package com.zytekaron.sk.interpret.handlers;
 import com.zytekaron.sk.parse.nodes.Node;
 import com.zytekaron.sk.parse.nodes.StringNode;
 import com.zytekaron.sk.struct.Context;
-import com.zytekaron.sk.struct.Token;
-import com.zytekaron.sk.struct.result.RuntimeResult;
-import com.zytekaron.sk.types.object.SkString;
+import com.zytekaron.sk.types.SkValue;
 
 public class StringHandler implements Handler {
     
     @Override
-    public RuntimeResult handle(Node node, Context context) {
+    public SkValue handle(Node node, Context context) {
         return handle((StringNode) node);
     }
     
-    private RuntimeResult handle(StringNode node) {
-        Token token = node.getToken();
-        String value = token.getValue();
-        SkString string = new SkString(value);
-        return new RuntimeResult().success(string);
+    private SkValue handle(StringNode node) {
+        return node.getValue();
     }
-}
\ No newline at end of file
+}
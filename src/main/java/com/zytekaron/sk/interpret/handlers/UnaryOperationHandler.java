@@ -22,15 +22,14 @@ import com.zytekaron.sk.parse.nodes.UnaryOperationNode;
 import com.zytekaron.sk.struct.Context;
 import com.zytekaron.sk.struct.Token;
 import com.zytekaron.sk.struct.TokenType;
-import com.zytekaron.sk.struct.result.RuntimeResult;
+import com.zytekaron.sk.struct.signal.ErrorSignal;
+import com.zytekaron.sk.types.NumericKernel;
 import com.zytekaron.sk.types.SkNumber;
 import com.zytekaron.sk.types.SkValue;
 import com.zytekaron.sk.types.error.SkError;
 import com.zytekaron.sk.types.error.SkRuntimeError;
 import com.zytekaron.sk.types.object.SkString;
 import com.zytekaron.sk.types.primitive.SkBool;
-import com.zytekaron.sk.types.primitive.SkDouble;
-import com.zytekaron.sk.types.primitive.SkInt;
 
 import static com.zytekaron.sk.struct.TokenType.*;
 
@@ -42,38 +41,50 @@ public class UnaryOperationHandler implements Handler {
     }
     
     @Override
-    public RuntimeResult handle(Node node, Context context) {
+    public SkValue handle(Node node, Context context) {
         return handle((UnaryOperationNode) node, context);
     }
     
-    private RuntimeResult handle(UnaryOperationNode node, Context context) {
-        RuntimeResult result = new RuntimeResult();
+    private SkValue handle(UnaryOperationNode node, Context context) {
+        SkValue value = interpreter.evaluate(node.getOperand(), context);
         
+        SkValue obj = operate(value, node, context);
+        if (obj == null) {
+            throw new ErrorSignal(typeError(value, node, context));
+        }
+        return obj;
+    }
+    
+    /**
+     * Perform the operation of a UnaryOperationNode on an already evaluated operand
+     *
+     * @param value   The operand
+     * @param node    The node, for its operator and error positions
+     * @param context The context
+     * @return The resulting value, or null if the operand type is not supported
+     */
+    public static SkValue operate(SkValue value, UnaryOperationNode node, Context context) {
         Token operator = node.getOperator();
         Node operand = node.getOperand();
-    
-        RuntimeResult valueResult = interpreter.visit(operand, context);
-        SkValue value = result.register(valueResult);
-        if (result.shouldReturn()) {
-            return result;
-        }
         
-        SkValue obj;
         if (value instanceof SkNumber) {
-            obj = handleNumber((SkNumber) value, operator, operand, context);
+            return handleNumber((SkNumber) value, operator, operand, context);
         } else if (value instanceof SkString) {
             SkNumber number = SkNumber.fromString(value.toString());
-            obj = handleNumber(number, operator, operand, context);
+            return handleNumber(number, operator, operand, context);
         } else if (value instanceof SkBool) {
-            obj = handleBoolean((SkBool) value, operator, operand, context);
-        } else {
-            SkError error = new SkRuntimeError(operator.getStart(), operand.getEnd(), context, "Expected number or string type, instead found " + value.getType());
-            return result.failure(error);
+            return handleBoolean((SkBool) value, operator, operand, context);
         }
-        return result.success(obj);
+        return null;
     }
     
-    private SkValue handleNumber(SkNumber number, Token operator, Node operand, Context context) {
+    public static SkError typeError(SkValue value, UnaryOperationNode node, Context context) {
+        Token operator = node.getOperator();
+        Node operand = node.getOperand();
+        return new SkRuntimeError(operator.getStart(), operand.getEnd(), context, "Expected number or string type, instead found " + value.getType());
+    }
+    
+    private static SkValue handleNumber(SkNumber number, Token operator, Node operand, Context context) {
         TokenType operatorType = operator.getType();
         
         if (operatorType == PLUS) {
@@ -87,7 +98,7 @@ public class UnaryOperationHandler implements Handler {
         }
     }
     
-    private SkValue handleBoolean(SkBool bool, Token operator, Node operand, Context context) {
+    private static SkValue handleBoolean(SkBool bool, Token operator, Node operand, Context context) {
         TokenType operatorType = operator.getType();
         
         if (operatorType == PLUS || operatorType == MINUS) {
@@ -101,21 +112,12 @@ public class UnaryOperationHandler implements Handler {
         }
     }
     
-    private SkValue invertNumber(SkNumber number) {
-        // fixme fixme number#multiply
-        if (number instanceof SkInt) {
-            SkInt skInt = (SkInt) number;
-            return skInt.multiply(-1);
-        } else if (number instanceof SkDouble) {
-            SkDouble skDouble = (SkDouble) number;
-            return skDouble.multiply(-1);
-        } else {
-            throw new RuntimeException("Invalid SkNumber type passed...maybe try supporting it? " + number.getClass().getSimpleName());
-        }
+    private static SkValue invertNumber(SkNumber number) {
+        return NumericKernel.negate(number);
     }
     
-    private SkValue invertBoolean(SkBool bool) {
+    private static SkValue invertBoolean(SkBool bool) {
         boolean value = bool.getValue();
-        return new SkBool(!value);
+        return SkBool.of(!value);
     }
 }
\ No newline at end of file
@@ -21,7 +21,7 @@ import com.zytekaron.sk.parse.nodes.VarAccessNode;
 import com.zytekaron.sk.struct.Context;
 import com.zytekaron.sk.struct.Token;
 import com.zytekaron.sk.struct.VariableTable;
-import com.zytekaron.sk.struct.result.RuntimeResult;
+import com.zytekaron.sk.struct.signal.ErrorSignal;
 import com.zytekaron.sk.types.SkValue;
 import com.zytekaron.sk.types.error.SkError;
 import com.zytekaron.sk.types.error.SkRuntimeError;
@@ -29,24 +29,22 @@ import com.zytekaron.sk.types.error.SkRuntimeError;
 public class VarAccessHandler implements Handler {
     
     @Override
-    public RuntimeResult handle(Node node, Context context) {
+    public SkValue handle(Node node, Context context) {
         return handle((VarAccessNode) node, context);
     }
     
-    private RuntimeResult handle(VarAccessNode node, Context context) {
-        RuntimeResult result = new RuntimeResult();
-        
+    private SkValue handle(VarAccessNode node, Context context) {
         VariableTable table = context.getVariableTable();
     
         Token token = node.getName();
         String name = token.getValue();
         
-        if (table.contains(name)) {
-            SkValue value = table.get(name);
-            return result.success(value);
+        SkValue value = table.get(node.getDepth(), node.getSlot(), name);
+        if (value != null) {
+            return value;
         } else {
             SkError error = new SkRuntimeError(token, context, "'" + name + "' is not defined");
-            return result.failure(error);
+            throw new ErrorSignal(error);
         }
     }
 }
\ No newline at end of file
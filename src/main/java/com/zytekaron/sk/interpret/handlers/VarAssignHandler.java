@@ -22,7 +22,8 @@ import com.zytekaron.sk.parse.nodes.VarAssignNode;
 import com.zytekaron.sk.struct.Context;
 import com.zytekaron.sk.struct.Token;
 import com.zytekaron.sk.struct.VariableTable;
-import com.zytekaron.sk.struct.result.RuntimeResult;
+import com.zytekaron.sk.struct.signal.ErrorSignal;
+import com.zytekaron.sk.types.SkNull;
 import com.zytekaron.sk.types.SkValue;
 import com.zytekaron.sk.types.error.SkError;
 import com.zytekaron.sk.types.error.SkRuntimeError;
@@ -35,31 +36,28 @@ public class VarAssignHandler implements Handler {
     }
     
     @Override
-    public RuntimeResult handle(Node node, Context context) {
+    public SkValue handle(Node node, Context context) {
         return handle((VarAssignNode) node, context);
     }
     
-    private RuntimeResult handle(VarAssignNode node, Context context) {
-        RuntimeResult result = new RuntimeResult();
-        
+    private SkValue handle(VarAssignNode node, Context context) {
         VariableTable table = context.getVariableTable();
     
         Token nameToken = node.getName();
         String name = nameToken.getValue();
         
         Node valueNode = node.getValue();
-        RuntimeResult valueResult = interpreter.visit(valueNode, context);
-        SkValue value = result.register(valueResult);
-        if (result.shouldReturn()) {
-            return result;
+        SkValue value = SkNull.NULL;
+        if (valueNode != null) {
+            value = interpreter.evaluate(valueNode, context);
         }
         
-        if (table.containsHere(name)) {
+        if (table.containsHere(node.getSlot(), name)) {
             SkError error = new SkRuntimeError(node, context, "Variable '" + name + "' is already defined in this scope");
-            return result.failure(error);
+            throw new ErrorSignal(error);
         }
         
-        table.put(name, value);
-        return result.success(value);
+        table.put(node.getSlot(), name, value);
+        return value;
     }
 }
\ No newline at end of file
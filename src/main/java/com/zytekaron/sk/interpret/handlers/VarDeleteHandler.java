@@ -17,11 +17,11 @@
 package com.zytekaron.sk.interpret.handlers;
 
 import com.zytekaron.sk.parse.nodes.Node;
-import com.zytekaron.sk.parse.nodes.VarAssignNode;
+import com.zytekaron.sk.parse.nodes.VarDeleteNode;
 import com.zytekaron.sk.struct.Context;
 import com.zytekaron.sk.struct.Token;
 import com.zytekaron.sk.struct.VariableTable;
-import com.zytekaron.sk.struct.result.RuntimeResult;
+import com.zytekaron.sk.struct.signal.ErrorSignal;
 import com.zytekaron.sk.types.SkValue;
 import com.zytekaron.sk.types.error.SkError;
 import com.zytekaron.sk.types.error.SkRuntimeError;
@@ -29,29 +29,27 @@ import com.zytekaron.sk.types.error.SkRuntimeError;
 public class VarDeleteHandler implements Handler {
     
     @Override
-    public RuntimeResult handle(Node node, Context context) {
-        return handle((VarAssignNode) node, context);
+    public SkValue handle(Node node, Context context) {
+        return handle((VarDeleteNode) node, context);
     }
     
-    private RuntimeResult handle(VarAssignNode node, Context context) {
-        RuntimeResult result = new RuntimeResult();
-        
+    private SkValue handle(VarDeleteNode node, Context context) {
         VariableTable table = context.getVariableTable();
         
         Token nameToken = node.getName();
         String name = nameToken.getValue();
-    
-        if (!table.contains(name)) {
+        
+        SkValue value = table.get(node.getDepth(), node.getSlot(), name);
+        if (value == null) {
             SkError error = new SkRuntimeError(node, context, "Variable '" + name + "' not defined");
-            return result.failure(error);
+            throw new ErrorSignal(error);
         }
         if (table.isImmutable()) {
             SkError error = new SkRuntimeError(node, context, "Variable '" + name + "' cannot be deleted");
-            return result.failure(error);
+            throw new ErrorSignal(error);
         }
         
-        SkValue value = table.get(name);
         table.delete(name);
-        return result.success(value);
+        return value;
     }
 }
\ No newline at end of file
@@ -22,7 +22,7 @@ import com.zytekaron.sk.parse.nodes.VarReassignNode;
 import com.zytekaron.sk.struct.Context;
 import com.zytekaron.sk.struct.Token;
 import com.zytekaron.sk.struct.VariableTable;
-import com.zytekaron.sk.struct.result.RuntimeResult;
+import com.zytekaron.sk.struct.signal.ErrorSignal;
 import com.zytekaron.sk.types.SkValue;
 import com.zytekaron.sk.types.error.SkError;
 import com.zytekaron.sk.types.error.SkRuntimeError;
@@ -35,31 +35,24 @@ public class VarReassignHandler implements Handler {
     }
     
     @Override
-    public RuntimeResult handle(Node node, Context context) {
+    public SkValue handle(Node node, Context context) {
         return handle((VarReassignNode) node, context);
     }
     
-    private RuntimeResult handle(VarReassignNode node, Context context) {
-        RuntimeResult result = new RuntimeResult();
-        
+    private SkValue handle(VarReassignNode node, Context context) {
         VariableTable table = context.getVariableTable();
         
         Token nameToken = node.getName();
         String name = nameToken.getValue();
         Node valueNode = node.getValue();
         
-        RuntimeResult valueResult = interpreter.visit(valueNode, context);
-        SkValue value = result.register(valueResult);
-        if (result.shouldReturn()) {
-            return result;
-        }
+        SkValue value = interpreter.evaluate(valueNode, context);
         
-        if (table.containsHere(name)) {
-            SkError error = new SkRuntimeError(node, context, "Variable '" + name + "' is already defined in this scope");
-            return result.failure(error);
+        if (!table.set(node.getDepth(), node.getSlot(), name, value)) {
+            SkError error = new SkRuntimeError(node, context, "Variable '" + name + "' not defined");
+            throw new ErrorSignal(error);
         }
         
-        table.put(name, value);
-        return result.success(value);
+        return value;
     }
 }
\ No newline at end of file
@@ -24,7 +24,9 @@ import com.zytekaron.sk.types.error.SkLexingError;
 import com.zytekaron.sk.struct.result.LexResult;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static com.zytekaron.sk.struct.TokenType.*;
 
@@ -41,6 +43,8 @@ public class Lexer {
     
     private final String text;
     private final Position pos = new Position();
+    // the text of each distinct string literal, so that repeated literals share it
+    private final Map<String, String> literals = new HashMap<>();
     private Character currentChar;
     
     public Lexer(String text) {
@@ -252,7 +256,8 @@ public class Lexer {
             advance();
         }
         
-        String id = identifier.toString();
+        // Interned so that resolved variable slots can be verified by identity
+        String id = identifier.toString().intern();
         Token token;
         if (KEYWORDS.contains(id)) {
             token = new Token(KEYWORD, start, pos, id);
@@ -307,7 +312,8 @@ public class Lexer {
         }
         
         advance(); // right quote
-        Token token = new Token(STRING, start, pos, string.toString());
+        String value = literals.computeIfAbsent(string.toString(), literal -> literal);
+        Token token = new Token(STRING, start, pos, value);
         return result.success(token);
     }
 }
\ No newline at end of file
@@ -0,0 +1,215 @@
+/*
+   Copyright 2020 Michael Thornes
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.zytekaron.sk.optimize;
+
+import com.zytekaron.sk.interpret.Interpreter;
+import com.zytekaron.sk.parse.nodes.*;
+import com.zytekaron.sk.struct.Context;
+import com.zytekaron.sk.struct.Token;
+import com.zytekaron.sk.struct.result.RuntimeResult;
+import com.zytekaron.sk.types.SkValue;
+import com.zytekaron.sk.types.error.SkError;
+import com.zytekaron.sk.types.object.SkString;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static com.zytekaron.sk.struct.TokenType.PLUS;
+
+/**
+ * Rewrites the Node tree produced by the Parser before it is executed.
+ * <p>
+ * Operations whose operands are all constant are folded into a ConstantNode.
+ * They are evaluated by the Interpreter itself, so a fold can never change
+ * the result; an operation which fails or evaluates to an error (such as an
+ * integer division by zero) is left in place to fail at runtime as before.
+ * <p>
+ * Numeric identities such as x * 1 and x + 0 are not simplified, as they
+ * do not hold for every type x may have at runtime ("a" + 0 is "a0").
+ * Only string concatenation is reassociated, since it always holds.
+ */
+public class Optimizer {
+    private final Map<Class<? extends Node>, Function<Node, Node>> optimizers = new HashMap<>();
+    private final Interpreter interpreter = new Interpreter();
+    private final Context context = new Context("<optimizer>");
+    @Getter
+    private int removed = 0;
+    
+    public Optimizer() {
+        // Objects
+        optimizers.put(ArrayNode.class, node -> optimizeArray((ArrayNode) node));
+        optimizers.put(ObjectNode.class, node -> optimizeObject((ObjectNode) node));
+        optimizers.put(ElementAccessNode.class, node -> optimizeElementAccess((ElementAccessNode) node));
+        // Variables
+        optimizers.put(VarAssignNode.class, node -> optimizeVarAssign((VarAssignNode) node));
+        optimizers.put(VarReassignNode.class, node -> optimizeVarReassign((VarReassignNode) node));
+        // Functions
+        optimizers.put(ReturnNode.class, node -> optimizeReturn((ReturnNode) node));
+        optimizers.put(FunctionCallNode.class, node -> optimizeFunctionCall((FunctionCallNode) node));
+        optimizers.put(FunctionDefineNode.class, node -> optimizeFunctionDefine((FunctionDefineNode) node));
+        optimizers.put(FunctionParameterNode.class, node -> optimizeFunctionParameter((FunctionParameterNode) node));
+        optimizers.put(MethodCallNode.class, node -> optimizeMethodCall((MethodCallNode) node));
+        optimizers.put(ScopeNode.class, node -> new ScopeNode(optimizeAll(((ScopeNode) node).getExpressions())));
+        // Operations
+        optimizers.put(UnaryOperationNode.class, node -> optimizeUnaryOperation((UnaryOperationNode) node));
+        optimizers.put(BinaryOperationNode.class, node -> optimizeBinaryOperation((BinaryOperationNode) node));
+    }
+    
+    /**
+     * Optimize a node and its children
+     *
+     * @param node The node to optimize
+     * @return The optimized node, which may be the same node
+     */
+    public Node optimize(Node node) {
+        if (node == null) {
+            return null;
+        }
+        Function<Node, Node> optimizer = optimizers.get(node.getClass());
+        if (optimizer == null) {
+            return node;
+        }
+        return optimizer.apply(node);
+    }
+    
+    private List<Node> optimizeAll(List<Node> nodes) {
+        List<Node> result = new ArrayList<>(nodes.size());
+        for (Node node : nodes) {
+            result.add(optimize(node));
+        }
+        return result;
+    }
+    
+    private Node optimizeArray(ArrayNode node) {
+        return new ArrayNode(node.getStart(), node.getEnd(), optimizeAll(node.getNodes()));
+    }
+    
+    private Node optimizeObject(ObjectNode node) {
+        Map<String, Node> nodes = new LinkedHashMap<>();
+        node.getNodes().forEach((key, value) -> nodes.put(key, optimize(value)));
+        return new ObjectNode(node.getStart(), node.getEnd(), nodes);
+    }
+    
+    private Node optimizeElementAccess(ElementAccessNode node) {
+        return new ElementAccessNode(node.getName(), optimize(node.getValue()));
+    }
+    
+    private Node optimizeVarAssign(VarAssignNode node) {
+        if (node.getValue() == null) {
+            return node;
+        }
+        return new VarAssignNode(node.getName(), optimize(node.getValue()));
+    }
+    
+    private Node optimizeVarReassign(VarReassignNode node) {
+        return new VarReassignNode(node.getName(), optimize(node.getValue()));
+    }
+    
+    private Node optimizeReturn(ReturnNode node) {
+        if (node.getNode() == null) {
+            return node;
+        }
+        return new ReturnNode(node.getKeyword(), optimize(node.getNode()));
+    }
+    
+    private Node optimizeFunctionCall(FunctionCallNode node) {
+        return new FunctionCallNode(node.getName(), optimizeAll(node.getParams()));
+    }
+    
+    private Node optimizeFunctionDefine(FunctionDefineNode node) {
+        return new FunctionDefineNode(node.getName(), optimizeAll(node.getParams()), optimize(node.getScope()));
+    }
+    
+    private Node optimizeFunctionParameter(FunctionParameterNode node) {
+        return new FunctionParameterNode(node.getName(), optimize(node.getDefaultValue()), node.isSpread());
+    }
+    
+    private Node optimizeMethodCall(MethodCallNode node) {
+        return new MethodCallNode(optimize(node.getReceiver()), node.getName(), optimizeAll(node.getParams()));
+    }
+    
+    private Node optimizeUnaryOperation(UnaryOperationNode node) {
+        Node operand = optimize(node.getOperand());
+        UnaryOperationNode result = new UnaryOperationNode(node.getOperator(), operand);
+        if (isConstant(operand)) {
+            return fold(result, 1);
+        }
+        return result;
+    }
+    
+    private Node optimizeBinaryOperation(BinaryOperationNode node) {
+        Node left = optimize(node.getLeftOperand());
+        Node right = optimize(node.getRightOperand());
+        Token operation = node.getOperation();
+        BinaryOperationNode result = new BinaryOperationNode(left, operation, right);
+        if (isConstant(left) && isConstant(right)) {
+            return fold(result, 2);
+        }
+        
+        // (x + "a") + "b" => x + "ab", since adding a string always concatenates
+        if (operation.getType() == PLUS && isString(right) && left instanceof BinaryOperationNode) {
+            BinaryOperationNode inner = (BinaryOperationNode) left;
+            if (inner.getOperation().getType() == PLUS && isString(inner.getRightOperand())) {
+                Node literal = fold(new BinaryOperationNode(inner.getRightOperand(), operation, right), 0);
+                if (literal instanceof ConstantNode) {
+                    removed += 2;
+                    return new BinaryOperationNode(inner.getLeftOperand(), operation, literal);
+                }
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Evaluate an operation on constant operands, replacing it with its value
+     *
+     * @param node     The operation to evaluate
+     * @param operands The number of operand nodes that folding removes
+     * @return A ConstantNode, or the node itself if it did not evaluate to a value
+     */
+    private Node fold(Node node, int operands) {
+        try {
+            RuntimeResult result = interpreter.visit(node, context);
+            SkValue value = result.getResult();
+            if (!result.success() || value == null || value instanceof SkError) {
+                return node;
+            }
+            removed += operands;
+            return new ConstantNode(node, value);
+        } catch (RuntimeException e) {
+            // The operation throws, so it should keep doing so at runtime
+            return node;
+        }
+    }
+    
+    private boolean isConstant(Node node) {
+        return node instanceof ConstantNode
+                || node instanceof NumberNode
+                || node instanceof StringNode
+                || node instanceof BoolNode;
+    }
+    
+    private boolean isString(Node node) {
+        return node instanceof StringNode
+                || node instanceof ConstantNode && ((ConstantNode) node).getValue() instanceof SkString;
+    }
+}
@@ -0,0 +1,252 @@
+/*
+   Copyright 2020 Michael Thornes
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.zytekaron.sk.optimize;
+
+import com.zytekaron.sk.parse.nodes.*;
+import com.zytekaron.sk.struct.VariableTable;
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Finds the functions of a program whose result can only depend on their
+ * arguments, and marks their FunctionDefineNodes as pure so that calls to
+ * them may be memoized.
+ * <p>
+ * A function body is pure if it only contains literals, operations, returns,
+ * reads of variables which the program never reassigns, deletes or defines
+ * twice, and calls to other pure functions. Any definition, reassignment or
+ * deletion makes it impure, as does anything which creates a mutable value
+ * (arrays and objects).
+ * <p>
+ * Variables are tracked by the table which declares them rather than by name,
+ * so a parameter or local which shadows a pure function is not mistaken for it.
+ * The program must be resolved by a Resolver sharing the same global scope first.
+ * <p>
+ * Functions start out assumed pure, and are removed until nothing changes,
+ * so that (mutually) recursive functions can be pure.
+ */
+public class PurityAnalyzer {
+    private final Map<Class<? extends Node>, Consumer<Node>> collectors = new HashMap<>();
+    private final Map<Class<? extends Node>, Predicate<Node>> rules = new HashMap<>();
+    private final List<FunctionDefineNode> functions = new ArrayList<>();
+    private final Set<Binding> defined = new HashSet<>();
+    private final Set<Binding> mutated = new HashSet<>();
+    private final Set<Binding> pure = new HashSet<>();
+    // the table of the function body being collected or checked
+    private VariableTable scope;
+    
+    public PurityAnalyzer(VariableTable scope) {
+        this.scope = scope;
+        
+        // Objects
+        collectors.put(ArrayNode.class, node -> collectAll(((ArrayNode) node).getNodes()));
+        collectors.put(ObjectNode.class, node -> collectAll(((ObjectNode) node).getNodes().values()));
+        collectors.put(ElementAccessNode.class, node -> collect(((ElementAccessNode) node).getValue()));
+        // Variables
+        collectors.put(VarDeleteNode.class, node -> collectVarDelete((VarDeleteNode) node));
+        collectors.put(VarAssignNode.class, node -> collectVarAssign((VarAssignNode) node));
+        collectors.put(VarReassignNode.class, node -> collectVarReassign((VarReassignNode) node));
+        // Functions
+        collectors.put(ReturnNode.class, node -> collect(((ReturnNode) node).getNode()));
+        collectors.put(FunctionCallNode.class, node -> collectAll(((FunctionCallNode) node).getParams()));
+        collectors.put(FunctionDefineNode.class, node -> collectFunctionDefine((FunctionDefineNode) node));
+        collectors.put(FunctionParameterNode.class, node -> collect(((FunctionParameterNode) node).getDefaultValue()));
+        collectors.put(MethodCallNode.class, node -> collectMethodCall((MethodCallNode) node));
+        collectors.put(ScopeNode.class, node -> collectAll(((ScopeNode) node).getExpressions()));
+        // Operations
+        collectors.put(UnaryOperationNode.class, node -> collect(((UnaryOperationNode) node).getOperand()));
+        collectors.put(BinaryOperationNode.class, node -> collectBinaryOperation((BinaryOperationNode) node));
+        
+        // Node types without a rule are impure
+        rules.put(BoolNode.class, node -> true);
+        rules.put(CharNode.class, node -> true);
+        rules.put(StringNode.class, node -> true);
+        rules.put(NumberNode.class, node -> true);
+        rules.put(ConstantNode.class, node -> true);
+        rules.put(VarAccessNode.class, node -> isPureVarAccess((VarAccessNode) node));
+        rules.put(ReturnNode.class, node -> isPure(((ReturnNode) node).getNode()));
+        rules.put(FunctionCallNode.class, node -> isPureCall((FunctionCallNode) node));
+        rules.put(ScopeNode.class, node -> areAllPure(((ScopeNode) node).getExpressions()));
+        rules.put(UnaryOperationNode.class, node -> isPure(((UnaryOperationNode) node).getOperand()));
+        rules.put(BinaryOperationNode.class, node -> isPureBinaryOperation((BinaryOperationNode) node));
+    }
+    
+    /**
+     * Mark every pure function defined in a program
+     *
+     * @param node The head node of the program
+     */
+    public void analyze(Node node) {
+        collect(node);
+        
+        for (FunctionDefineNode function : functions) {
+            pure.add(bindingOf(function));
+        }
+        pure.removeAll(mutated);
+        
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (FunctionDefineNode function : functions) {
+                Binding binding = bindingOf(function);
+                if (pure.contains(binding) && !isPureBody(function)) {
+                    pure.remove(binding);
+                    changed = true;
+                }
+            }
+        }
+        
+        for (FunctionDefineNode function : functions) {
+            // a redefined name cannot be called purely, but each of its definitions may still be pure
+            if (pure.contains(bindingOf(function)) || isPureBody(function)) {
+                function.markPure();
+            }
+        }
+    }
+    
+    private void collect(Node node) {
+        if (node == null) {
+            return;
+        }
+        Consumer<Node> collector = collectors.get(node.getClass());
+        if (collector != null) {
+            collector.accept(node);
+        }
+    }
+    
+    private void collectAll(Iterable<Node> nodes) {
+        for (Node node : nodes) {
+            collect(node);
+        }
+    }
+    
+    private void collectVarDelete(VarDeleteNode node) {
+        mutated.add(bind(node.getName().getValue(), node.getDepth()));
+    }
+    
+    private void collectVarAssign(VarAssignNode node) {
+        collect(node.getValue());
+        define(bind(node.getName().getValue(), 0));
+    }
+    
+    private void collectVarReassign(VarReassignNode node) {
+        collect(node.getValue());
+        mutated.add(bind(node.getName().getValue(), node.getDepth()));
+    }
+    
+    private void collectFunctionDefine(FunctionDefineNode node) {
+        // Default values are evaluated where the function is defined
+        collectAll(node.getParams());
+        define(bind(node.getName().getValue(), 0));
+        functions.add(node);
+        
+        VariableTable enclosing = scope;
+        scope = node.getLayout().getTable();
+        for (Node param : node.getParams()) {
+            define(bind(((FunctionParameterNode) param).getName().getValue(), 0));
+        }
+        collect(node.getScope());
+        scope = enclosing;
+    }
+    
+    private void collectMethodCall(MethodCallNode node) {
+        collect(node.getReceiver());
+        collectAll(node.getParams());
+    }
+    
+    private void collectBinaryOperation(BinaryOperationNode node) {
+        collect(node.getLeftOperand());
+        collect(node.getRightOperand());
+    }
+    
+    private void define(Binding binding) {
+        if (!defined.add(binding)) {
+            mutated.add(binding);
+        }
+    }
+    
+    /**
+     * Find the binding a resolved name refers to from the current scope
+     *
+     * @param name  The name of the variable
+     * @param depth The depth the Resolver located the variable at
+     * @return The table which declares the variable, paired with its name
+     */
+    private Binding bind(String name, int depth) {
+        VariableTable table = scope;
+        for (int i = 0; i < depth; i++) {
+            table = table.getParent();
+        }
+        return new Binding(table, name);
+    }
+    
+    private Binding bindingOf(FunctionDefineNode function) {
+        // A function is declared in the scope its layout's table is a child of
+        return new Binding(function.getLayout().getTable().getParent(), function.getName().getValue());
+    }
+    
+    private boolean isPureBody(FunctionDefineNode function) {
+        VariableTable enclosing = scope;
+        scope = function.getLayout().getTable();
+        boolean result = isPure(function.getScope());
+        scope = enclosing;
+        return result;
+    }
+    
+    private boolean isPure(Node node) {
+        if (node == null) {
+            return true;
+        }
+        Predicate<Node> rule = rules.get(node.getClass());
+        return rule != null && rule.test(node);
+    }
+    
+    private boolean areAllPure(List<Node> nodes) {
+        for (Node node : nodes) {
+            if (!isPure(node)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private boolean isPureVarAccess(VarAccessNode node) {
+        return !mutated.contains(bind(node.getName().getValue(), node.getDepth()));
+    }
+    
+    private boolean isPureCall(FunctionCallNode node) {
+        return pure.contains(bind(node.getName().getValue(), node.getDepth())) && areAllPure(node.getParams());
+    }
+    
+    private boolean isPureBinaryOperation(BinaryOperationNode node) {
+        return isPure(node.getLeftOperand()) && isPure(node.getRightOperand());
+    }
+    
+    @Value
+    private static class Binding {
+        VariableTable table;
+        String name;
+    }
+}
@@ -23,10 +23,13 @@ import com.zytekaron.sk.struct.TokenType;
 import com.zytekaron.sk.struct.result.ParseResult;
 import com.zytekaron.sk.types.error.SkError;
 import com.zytekaron.sk.types.error.SkParsingError;
+import com.zytekaron.sk.types.object.SkString;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Supplier;
 
 import static com.zytekaron.sk.struct.TokenType.*;
@@ -35,6 +38,8 @@ import static com.zytekaron.sk.struct.TokenTypes.UNARY_OPERATORS;
 
 public class Parser {
     private final List<Token> tokens;
+    // every occurrence of a string literal shares one value, which is never modified
+    private final Map<String, SkString> literals = new HashMap<>();
     private Token currentToken;
     private int index = -1;
     
@@ -88,6 +93,12 @@ public class Parser {
             if (!result.success()) {
                 return result;
             }
+        } else if (isCurrentTokenKeyword("return")) {
+            ParseResult res = returnStatement();
+            node = result.register(res);
+            if (!result.success()) {
+                return result;
+            }
         } else if (isCurrentTokenType(LBRACE)) {
             ParseResult res = scope();
             node = result.register(res);
@@ -185,7 +196,42 @@ public class Parser {
     }
     
     private ParseResult power() {
-        return binaryOperationNode(this::atom, this::factor, List.of(POWER));
+        return binaryOperationNode(this::call, this::factor, List.of(POWER));
+    }
+    
+    private ParseResult call() {
+        ParseResult result = new ParseResult();
+        
+        ParseResult atomResult = atom();
+        Node node = result.register(atomResult);
+        if (!result.success()) {
+            return result;
+        }
+        
+        while (isCurrentTokenType(DOT)) {
+            advance(result);
+            
+            if (!isCurrentTokenType(IDENTIFIER)) {
+                SkError error = new SkParsingError(currentToken, "Expected method name but instead found '" + currentToken + "'");
+                return result.failure(error);
+            }
+            Token name = currentToken;
+            advance(result);
+            
+            if (!isCurrentTokenType(LPAREN)) {
+                SkError error = new SkParsingError(currentToken, "Expected '(' but instead found '" + currentToken + "'");
+                return result.failure(error);
+            }
+            List<Node> params = new ArrayList<>();
+            result.register(arguments(params));
+            if (!result.success()) {
+                return result;
+            }
+            
+            node = new MethodCallNode(node, name, params);
+        }
+        
+        return result.success(node);
     }
     
     private ParseResult atom() {
@@ -194,8 +240,13 @@ public class Parser {
         
         if (NUMBERS.contains(currentToken.getType())) {
             advance(result);
-            Node node = new NumberNode(token);
-            return result.success(node);
+            try {
+                Node node = new NumberNode(token);
+                return result.success(node);
+            } catch (NumberFormatException e) {
+                SkError error = new SkParsingError(token, "Invalid number '" + token.getValue() + "'");
+                return result.failure(error);
+            }
         }
         if (isCurrentTokenType(CHAR)) {
             advance(result);
@@ -204,7 +255,8 @@ public class Parser {
         }
         if (isCurrentTokenType(STRING)) {
             advance(result);
-            Node node = new StringNode(token);
+            SkString value = literals.computeIfAbsent(token.getValue(), SkString::new);
+            Node node = new StringNode(token, value);
             return result.success(node);
         }
         if (isCurrentTokenType(IDENTIFIER)) {
@@ -225,6 +277,8 @@ public class Parser {
             }
     
             if (isCurrentTokenType(LBRACKET)) {
+                advance(result);
+                
                 ParseResult elementResult = expression();
                 Node element = result.register(elementResult);
                 if (!result.success()) {
@@ -243,26 +297,10 @@ public class Parser {
     
             if (isCurrentTokenType(LPAREN)) {
                 List<Node> params = new ArrayList<>();
-    
-                while (!isCurrentTokenType(RPAREN)) {
-                    advance(result);
-                    if (isCurrentTokenType(RPAREN)) {
-                        break;
-                    }
-                    
-                    ParseResult paramResult = expression();
-                    Node param = result.register(paramResult);
-                    if (!result.success()) {
-                        return result;
-                    }
-                    params.add(param);
-                }
-    
-                if (!isCurrentTokenType(RPAREN)) {
-                    SkError error = new SkParsingError(currentToken, "Expected ')' but instead found '" + currentToken + "'");
-                    return result.failure(error);
+                result.register(arguments(params));
+                if (!result.success()) {
+                    return result;
                 }
-                advance(result);
     
                 Node node = new FunctionCallNode(identifier, params);
                 return result.success(node);
@@ -301,6 +339,33 @@ public class Parser {
         return result.failure(error);
     }
     
+    // Parses the arguments of a call, from its '(' to its ')'
+    private ParseResult arguments(List<Node> params) {
+        ParseResult result = new ParseResult();
+        
+        while (!isCurrentTokenType(RPAREN)) {
+            advance(result);
+            if (isCurrentTokenType(RPAREN)) {
+                break;
+            }
+            
+            ParseResult paramResult = expression();
+            Node param = result.register(paramResult);
+            if (!result.success()) {
+                return result;
+            }
+            params.add(param);
+        }
+        
+        if (!isCurrentTokenType(RPAREN)) {
+            SkError error = new SkParsingError(currentToken, "Expected ')' but instead found '" + currentToken + "'");
+            return result.failure(error);
+        }
+        advance(result);
+        
+        return result.success(null);
+    }
+    
     private ParseResult arrayLiteral() {
         ParseResult result = new ParseResult();
         
@@ -366,6 +431,27 @@ public class Parser {
         return result.success(node);
     }
     
+    private ParseResult returnStatement() {
+        ParseResult result = new ParseResult();
+        
+        Token keyword = currentToken;
+        advance(result);
+        
+        if (isCurrentTokenType(SEMICOLON)) {
+            Node node = new ReturnNode(keyword, null);
+            return result.success(node);
+        }
+        
+        ParseResult expression = expression();
+        Node expr = result.register(expression);
+        if (!result.success()) {
+            return result;
+        }
+        
+        Node node = new ReturnNode(keyword, expr);
+        return result.success(node);
+    }
+    
     private ParseResult defineFunction() {
         ParseResult result = new ParseResult();
         
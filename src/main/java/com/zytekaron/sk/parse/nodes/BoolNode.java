@@ -17,15 +17,18 @@
 package com.zytekaron.sk.parse.nodes;
 
 import com.zytekaron.sk.struct.Token;
+import com.zytekaron.sk.types.primitive.SkBool;
 import lombok.Getter;
 
 @Getter
 public class BoolNode extends Node {
     private final Token token;
+    private final SkBool value;
     
     public BoolNode(Token token) {
         super(token);
         this.token = token;
+        this.value = SkBool.fromString(token.getValue());
     }
     
     @Override
@@ -17,15 +17,18 @@
 package com.zytekaron.sk.parse.nodes;
 
 import com.zytekaron.sk.struct.Token;
+import com.zytekaron.sk.types.primitive.SkChar;
 import lombok.Getter;
 
 @Getter
 public class CharNode extends Node {
     private final Token token;
+    private final SkChar value;
     
     public CharNode(Token token) {
         super(token);
         this.token = token;
+        this.value = SkChar.of(token.getValue().charAt(0));
     }
     
     @Override
@@ -0,0 +1,38 @@
+/*
+   Copyright 2020 Michael Thornes
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.zytekaron.sk.parse.nodes;
+
+import com.zytekaron.sk.types.SkValue;
+import lombok.Getter;
+
+/**
+ * A node whose value was computed ahead of time, such as a folded expression
+ */
+@Getter
+public class ConstantNode extends Node {
+    private final SkValue value;
+    
+    public ConstantNode(Node node, SkValue value) {
+        super(node);
+        this.value = value;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("%s(%s)", value.getType(), value);
+    }
+}
@@ -1,5 +1,6 @@
 package com.zytekaron.sk.parse.nodes;
 
+import com.zytekaron.sk.struct.PropertyCache;
 import com.zytekaron.sk.struct.Token;
 import lombok.Getter;
 
@@ -7,6 +8,9 @@ import lombok.Getter;
 public class ElementAccessNode extends Node {
     private final Token name;
     private final Node value;
+    private int depth = 0;
+    private int slot = -1;
+    private final PropertyCache cache = new PropertyCache();
     
     public ElementAccessNode(Token name, Node value) {
         super(name, value);
@@ -14,6 +18,17 @@ public class ElementAccessNode extends Node {
         this.value = value;
     }
     
+    /**
+     * Set the location of the indexed variable, as computed by the Resolver
+     *
+     * @param depth The number of scopes between the use and the declaration
+     * @param slot  The slot of the variable in the declaring scope
+     */
+    public void resolve(int depth, int slot) {
+        this.depth = depth;
+        this.slot = slot;
+    }
+    
     @Override
     public String toString() {
         return String.format("ElemAccess(%s %s)", name, value);
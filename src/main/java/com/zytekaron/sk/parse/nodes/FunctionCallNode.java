@@ -16,6 +16,7 @@
 
 package com.zytekaron.sk.parse.nodes;
 
+import com.zytekaron.sk.struct.CallSiteCache;
 import com.zytekaron.sk.struct.Token;
 import lombok.Getter;
 
@@ -25,6 +26,11 @@ import java.util.List;
 public class FunctionCallNode extends Node {
     private final Token name;
     private final List<Node> params;
+    // whether this call is the value of a return, set by the Resolver
+    private boolean tailCall;
+    private int depth = 0;
+    private int slot = -1;
+    private final CallSiteCache cache = new CallSiteCache();
     
     public FunctionCallNode(Token name, List<Node> params) {
         super(name);
@@ -38,6 +44,21 @@ public class FunctionCallNode extends Node {
         }
     }
     
+    public void markTailCall() {
+        this.tailCall = true;
+    }
+    
+    /**
+     * Set the location of the called function's name, as computed by the Resolver
+     *
+     * @param depth The number of scopes between the call and the declaration
+     * @param slot  The slot of the name in the declaring scope
+     */
+    public void resolve(int depth, int slot) {
+        this.depth = depth;
+        this.slot = slot;
+    }
+    
     @Override
     public String toString() {
         return String.format("FuncCall(%s %s)", name, params);
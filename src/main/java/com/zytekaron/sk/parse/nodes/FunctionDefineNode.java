@@ -16,6 +16,7 @@
 
 package com.zytekaron.sk.parse.nodes;
 
+import com.zytekaron.sk.struct.FrameLayout;
 import com.zytekaron.sk.struct.Token;
 import lombok.Getter;
 
@@ -26,6 +27,10 @@ public class FunctionDefineNode extends Node {
     private final Token name;
     private final List<Node> params;
     private final Node scope;
+    // whether the function only depends on its arguments, set by the PurityAnalyzer
+    private boolean pure;
+    // the slots of the parameters and local variables, set by the Resolver
+    private FrameLayout layout;
     
     public FunctionDefineNode(Token name, List<Node> params, Node scope) {
         super(name); // todo find a good way to pass a Position in for the parameters ?put Position within SkParameter
@@ -34,6 +39,14 @@ public class FunctionDefineNode extends Node {
         this.scope = scope;
     }
     
+    public void markPure() {
+        this.pure = true;
+    }
+    
+    public void resolve(FrameLayout layout) {
+        this.layout = layout;
+    }
+    
     @Override
     public String toString() {
         return String.format("FuncDef(%s %s %s)", name, params, scope);
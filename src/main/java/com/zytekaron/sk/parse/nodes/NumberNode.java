@@ -17,15 +17,19 @@
 package com.zytekaron.sk.parse.nodes;
 
 import com.zytekaron.sk.struct.Token;
+import com.zytekaron.sk.types.SkNumber;
 import lombok.Getter;
 
 @Getter
 public class NumberNode extends Node {
     private final Token token;
+    private final SkNumber value;
     
     public NumberNode(Token token) {
         super(token);
         this.token = token;
+        // Parsed once here rather than every time the literal is evaluated
+        this.value = SkNumber.fromToken(token);
     }
     
     @Override
@@ -16,15 +16,22 @@
 
 package com.zytekaron.sk.parse.nodes;
 
+import com.zytekaron.sk.struct.Token;
 import lombok.Getter;
 
 @Getter
 public class ReturnNode extends Node {
+    private final Token keyword;
     private final Node node;
     
-    public ReturnNode(Node node) {
-        super(node);
+    public ReturnNode(Token keyword, Node node) {
+        super(keyword);
+        this.keyword = keyword;
         this.node = node;
+        
+        if (node != null) {
+            setEnd(node.getEnd());
+        }
     }
     
     @Override
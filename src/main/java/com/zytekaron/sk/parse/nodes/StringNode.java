@@ -17,15 +17,22 @@
 package com.zytekaron.sk.parse.nodes;
 
 import com.zytekaron.sk.struct.Token;
+import com.zytekaron.sk.types.object.SkString;
 import lombok.Getter;
 
 @Getter
 public class StringNode extends Node {
     private final Token token;
+    private final SkString value;
     
     public StringNode(Token token) {
+        this(token, new SkString(token.getValue()));
+    }
+    
+    public StringNode(Token token, SkString value) {
         super(token);
         this.token = token;
+        this.value = value;
     }
     
     @Override
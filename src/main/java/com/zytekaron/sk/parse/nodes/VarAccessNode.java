@@ -22,12 +22,25 @@ import lombok.Getter;
 @Getter
 public class VarAccessNode extends Node {
     private final Token name;
+    private int depth = 0;
+    private int slot = -1;
     
     public VarAccessNode(Token name) {
         super(name);
         this.name = name;
     }
     
+    /**
+     * Set the location of this variable, as computed by the Resolver
+     *
+     * @param depth The number of scopes between the use and the declaration
+     * @param slot  The slot of the variable in the declaring scope
+     */
+    public void resolve(int depth, int slot) {
+        this.depth = depth;
+        this.slot = slot;
+    }
+    
     @Override
     public String toString() {
         return String.format("VarAcc(%s)", name);
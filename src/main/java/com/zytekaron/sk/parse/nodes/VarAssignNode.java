@@ -23,6 +23,8 @@ import lombok.Getter;
 public class VarAssignNode extends Node {
     private final Token name;
     private final Node value;
+    private int depth = 0;
+    private int slot = -1;
     
     public VarAssignNode(Token name, Node value) {
         super(name, value);
@@ -30,6 +32,17 @@ public class VarAssignNode extends Node {
         this.value = value;
     }
     
+    /**
+     * Set the location of this variable, as computed by the Resolver
+     *
+     * @param depth The number of scopes between the use and the declaration
+     * @param slot  The slot of the variable in the declaring scope
+     */
+    public void resolve(int depth, int slot) {
+        this.depth = depth;
+        this.slot = slot;
+    }
+    
     @Override
     public String toString() {
         return String.format("VarAsn(%s = %s)", name, value);
@@ -0,0 +1,192 @@
+/*
+   Copyright 2020 Michael Thornes
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.zytekaron.sk.resolve;
+
+import com.zytekaron.sk.parse.nodes.*;
+import com.zytekaron.sk.struct.FrameLayout;
+import com.zytekaron.sk.struct.VariableTable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Computes the (depth, slot) location of every variable reference ahead of
+ * execution, so that it can be read from its VariableTable by index.
+ * <p>
+ * Slots are declared directly in the tables that the program will run in,
+ * so that host-defined globals (null, PI, E) and variables from earlier
+ * runs in the same table keep their slots. The parameters and variables of
+ * a function body are declared in its FrameLayout instead, which the frame
+ * of every call to it shares.
+ */
+public class Resolver {
+    private final Map<Class<? extends Node>, Consumer<Node>> resolvers = new HashMap<>();
+    private VariableTable scope;
+    // the layout of the function body being resolved, if any
+    private FrameLayout layout;
+    
+    public Resolver(VariableTable scope) {
+        this.scope = scope;
+        
+        // Primitive types
+        resolvers.put(BoolNode.class, node -> {});
+        resolvers.put(CharNode.class, node -> {});
+        resolvers.put(StringNode.class, node -> {});
+        resolvers.put(NumberNode.class, node -> {});
+        resolvers.put(ConstantNode.class, node -> {});
+        // Objects
+        resolvers.put(ArrayNode.class, node -> resolveAll(((ArrayNode) node).getNodes()));
+        resolvers.put(ObjectNode.class, node -> resolveAll(((ObjectNode) node).getNodes().values()));
+        resolvers.put(ElementAccessNode.class, node -> resolveElementAccess((ElementAccessNode) node));
+        // Variables
+        resolvers.put(VarAccessNode.class, node -> resolveVarAccess((VarAccessNode) node));
+        resolvers.put(VarDeleteNode.class, node -> resolveVarDelete((VarDeleteNode) node));
+        resolvers.put(VarAssignNode.class, node -> resolveVarAssign((VarAssignNode) node));
+        resolvers.put(VarReassignNode.class, node -> resolveVarReassign((VarReassignNode) node));
+        // Functions
+        resolvers.put(ReturnNode.class, node -> resolveReturn((ReturnNode) node));
+        resolvers.put(FunctionCallNode.class, node -> resolveFunctionCall((FunctionCallNode) node));
+        resolvers.put(FunctionDefineNode.class, node -> resolveFunctionDefine((FunctionDefineNode) node));
+        resolvers.put(FunctionParameterNode.class, node -> resolve(((FunctionParameterNode) node).getDefaultValue()));
+        resolvers.put(MethodCallNode.class, node -> resolveMethodCall((MethodCallNode) node));
+        resolvers.put(ScopeNode.class, node -> resolveAll(((ScopeNode) node).getExpressions()));
+        // Operations
+        resolvers.put(UnaryOperationNode.class, node -> resolve(((UnaryOperationNode) node).getOperand()));
+        resolvers.put(BinaryOperationNode.class, node -> resolveBinaryOperation((BinaryOperationNode) node));
+    }
+    
+    /**
+     * Resolve every variable reference in a node and its children
+     *
+     * @param node The node to resolve
+     */
+    public void resolve(Node node) {
+        if (node == null) {
+            return;
+        }
+        Consumer<Node> resolver = resolvers.get(node.getClass());
+        if (resolver != null) {
+            resolver.accept(node);
+        }
+    }
+    
+    private void resolveAll(Iterable<Node> nodes) {
+        for (Node node : nodes) {
+            resolve(node);
+        }
+    }
+    
+    private void resolveVarAccess(VarAccessNode node) {
+        int[] location = locate(node.getName().getValue());
+        node.resolve(location[0], location[1]);
+    }
+    
+    private void resolveElementAccess(ElementAccessNode node) {
+        resolve(node.getValue());
+        int[] location = locate(node.getName().getValue());
+        node.resolve(location[0], location[1]);
+    }
+    
+    private void resolveVarDelete(VarDeleteNode node) {
+        int[] location = locate(node.getName().getValue());
+        node.resolve(location[0], location[1]);
+    }
+    
+    private void resolveVarAssign(VarAssignNode node) {
+        resolve(node.getValue());
+        // Definitions always go into the current scope
+        node.resolve(0, scope.declare(node.getName().getValue()));
+    }
+    
+    private void resolveVarReassign(VarReassignNode node) {
+        resolve(node.getValue());
+        int[] location = locate(node.getName().getValue());
+        node.resolve(location[0], location[1]);
+    }
+    
+    private void resolveReturn(ReturnNode node) {
+        resolve(node.getNode());
+        // A call whose value is returned directly can replace the calling
+        // function rather than running on top of it
+        if (layout != null && node.getNode() instanceof FunctionCallNode) {
+            ((FunctionCallNode) node.getNode()).markTailCall();
+        }
+    }
+    
+    private void resolveFunctionCall(FunctionCallNode node) {
+        resolveAll(node.getParams());
+        int[] location = locate(node.getName().getValue());
+        node.resolve(location[0], location[1]);
+    }
+    
+    private void resolveFunctionDefine(FunctionDefineNode node) {
+        // Default values are evaluated where the function is defined
+        resolveAll(node.getParams());
+        scope.declare(node.getName().getValue());
+        // The function keeps the frame it is defined in as its closure
+        if (layout != null) {
+            layout.markCaptured();
+        }
+        
+        FrameLayout enclosing = layout;
+        layout = new FrameLayout(scope);
+        scope = layout.getTable();
+        // Parameters take the first slots, in order, so they can be bound by index
+        for (Node param : node.getParams()) {
+            scope.declare(((FunctionParameterNode) param).getName().getValue());
+        }
+        resolve(node.getScope());
+        node.resolve(layout);
+        
+        scope = scope.getParent();
+        layout = enclosing;
+    }
+    
+    private void resolveMethodCall(MethodCallNode node) {
+        resolve(node.getReceiver());
+        resolveAll(node.getParams());
+    }
+    
+    private void resolveBinaryOperation(BinaryOperationNode node) {
+        resolve(node.getLeftOperand());
+        resolve(node.getRightOperand());
+    }
+    
+    /**
+     * Find the closest scope which declares a name, declaring it in the
+     * outermost scope if none do, since it can only be defined there later
+     *
+     * @param name The name of the variable
+     * @return The depth and slot of the variable
+     */
+    private int[] locate(String name) {
+        VariableTable table = scope;
+        int depth = 0;
+        while (true) {
+            int slot = table.slotOf(name);
+            if (slot != -1) {
+                return new int[]{depth, slot};
+            }
+            if (table.getParent() == null) {
+                return new int[]{depth, table.declare(name)};
+            }
+            table = table.getParent();
+            depth++;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+   Copyright 2020 Michael Thornes
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.zytekaron.sk.struct;
+
+import com.zytekaron.sk.types.SkValue;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A growable stack of call arguments owned by an engine, so that evaluating
+ * the arguments of a call reuses one array instead of allocating a list.
+ * <p>
+ * A call pushes its arguments above the current size, reads them, and then
+ * truncates the stack back to where it started, so nested calls made while
+ * evaluating arguments simply stack on top.
+ */
+public class ArgumentStack {
+    private SkValue[] values = new SkValue[16];
+    private int size = 0;
+    
+    /**
+     * Get the array backing the stack, which holds the arguments below the size
+     *
+     * @return The array
+     */
+    public SkValue[] getValues() {
+        return values;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public void push(SkValue value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = value;
+    }
+    
+    /**
+     * Copy the arguments from an index to the top of the stack, for keeping after truncating
+     *
+     * @param from The index of the first argument
+     * @return The arguments
+     */
+    public List<SkValue> copy(int from) {
+        return Arrays.asList(Arrays.copyOfRange(values, from, size));
+    }
+    
+    /**
+     * Drop every argument above a size
+     *
+     * @param size The size to return to
+     */
+    public void truncate(int size) {
+        Arrays.fill(values, size, this.size, null);
+        this.size = size;
+    }
+}
@@ -0,0 +1,51 @@
+/*
+   Copyright 2020 Michael Thornes
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.zytekaron.sk.struct;
+
+import com.zytekaron.sk.types.object.SkFunction;
+
+/**
+ * The function which a FunctionCallNode last called, so that the call site can
+ * skip looking its name up for as long as no binding has changed since.
+ * <p>
+ * The cache is monomorphic: a call site's name can only resolve to another
+ * function once something is rebound, which invalidates every cache anyway.
+ */
+public class CallSiteCache {
+    private VariableTable table;
+    private int version;
+    private SkFunction function;
+    
+    /**
+     * Get the cached function, if it is still what the call site's name resolves to
+     *
+     * @param table The table the call is being made in
+     * @return The function, or null if it must be looked up
+     */
+    public SkFunction get(VariableTable table) {
+        if (table == this.table && version == VariableTable.getVersion()) {
+            return function;
+        }
+        return null;
+    }
+    
+    public void set(VariableTable table, SkFunction function) {
+        this.table = table;
+        this.version = VariableTable.getVersion();
+        this.function = function;
+    }
+}
@@ -0,0 +1,89 @@
+/*
+   Copyright 2020 Michael Thornes
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.zytekaron.sk.struct;
+
+import lombok.Getter;
+
+/**
+ * The variables of a function body, declared by the Resolver in a table of
+ * their own, which every frame of the function shares so that a call only
+ * allocates an array with a slot for each parameter and local variable.
+ * <p>
+ * Frames of a function which defines no functions itself cannot be captured
+ * as a closure, so they are kept in a small pool once their call returns,
+ * and reused by later calls. The pool size is set with -Dsk.frame.pool.
+ */
+public class FrameLayout {
+    private static final int POOL_SIZE = Integer.getInteger("sk.frame.pool", 8);
+    
+    @Getter
+    private final VariableTable table;
+    @Getter
+    private boolean captured = false;
+    private final VariableTable[] pool;
+    // the number of frames waiting in the pool
+    @Getter
+    private int pooled = 0;
+    
+    /**
+     * @param parent The table of the scope the function is defined in
+     */
+    public FrameLayout(VariableTable parent) {
+        this(parent, POOL_SIZE);
+    }
+    
+    FrameLayout(VariableTable parent, int poolSize) {
+        this.table = new VariableTable(parent);
+        this.pool = new VariableTable[poolSize];
+    }
+    
+    /**
+     * Mark frames of this function as reachable from a function defined in them
+     */
+    public void markCaptured() {
+        this.captured = true;
+    }
+    
+    /**
+     * Get an empty frame for a call of the function
+     *
+     * @param parent The table the function was defined in
+     * @return The frame
+     */
+    public VariableTable acquire(VariableTable parent) {
+        if (pooled == 0) {
+            return new VariableTable(parent, table);
+        }
+        VariableTable frame = pool[--pooled];
+        pool[pooled] = null;
+        frame.reopen(parent);
+        return frame;
+    }
+    
+    /**
+     * Return the frame of a call which has ended, so a later call may reuse it
+     *
+     * @param frame The frame
+     */
+    public void release(VariableTable frame) {
+        if (captured || pooled == pool.length) {
+            return;
+        }
+        frame.clear();
+        pool[pooled++] = frame;
+    }
+}
@@ -0,0 +1,153 @@
+/*
+   Copyright 2020 Michael Thornes
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.zytekaron.sk.struct;
+
+import com.zytekaron.sk.parse.nodes.FunctionDefineNode;
+import com.zytekaron.sk.types.SkNumber;
+import com.zytekaron.sk.types.SkValue;
+import com.zytekaron.sk.types.object.SkString;
+import com.zytekaron.sk.types.primitive.SkChar;
+import com.zytekaron.sk.types.primitive.SkDouble;
+import lombok.Getter;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A bounded cache of the results of a pure function, keyed by its arguments,
+ * which evicts the least recently used result once it is full.
+ * <p>
+ * Memoization is opt-in, by setting -Dsk.memo.size to the number of results
+ * to keep for each function.
+ */
+public class MemoCache {
+    public static final int CAPACITY = Integer.getInteger("sk.memo.size", 0);
+    
+    private final Map<Key, SkValue> results;
+    @Getter
+    private long hits = 0;
+    @Getter
+    private long misses = 0;
+    
+    public MemoCache(int capacity) {
+        this.results = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, SkValue> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+    
+    /**
+     * Create the cache for a function being defined
+     *
+     * @param node The definition of the function
+     * @return The MemoCache, or null if the function is not pure or memoization is disabled
+     */
+    public static MemoCache create(FunctionDefineNode node) {
+        if (CAPACITY <= 0 || !node.isPure()) {
+            return null;
+        }
+        return new MemoCache(CAPACITY);
+    }
+    
+    /**
+     * Get the result of an earlier call with the same arguments
+     *
+     * @param args The arguments
+     * @return The result, or null if it is not cached
+     */
+    public SkValue get(List<SkValue> args) {
+        SkValue value = results.get(new Key(args));
+        if (value == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return value;
+    }
+    
+    public void put(List<SkValue> args, SkValue value) {
+        results.put(new Key(args), value);
+    }
+    
+    public int size() {
+        return results.size();
+    }
+    
+    // Arguments are compared by value where their type has one, and by identity otherwise
+    private static final class Key {
+        private final List<SkValue> args;
+        private final int hash;
+        
+        private Key(List<SkValue> args) {
+            this.args = args;
+            int hash = 1;
+            for (SkValue arg : args) {
+                hash = 31 * hash + hashOf(arg);
+            }
+            this.hash = hash;
+        }
+        
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            if (hash != other.hash || args.size() != other.args.size()) {
+                return false;
+            }
+            for (int i = 0; i < args.size(); i++) {
+                if (!sameValue(args.get(i), other.args.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+        
+        // SkBool and SkNull are canonical, and arrays and objects are compared by identity
+        private static int hashOf(SkValue value) {
+            return hasValue(value) ? value.hash() : System.identityHashCode(value);
+        }
+        
+        // Stricter than SkValue#equals, which treats 1, 1L and 1.0 (and 0.0 and -0.0) as
+        // equal, as a function may return a different result for each of them
+        private static boolean sameValue(SkValue a, SkValue b) {
+            if (a == b) {
+                return true;
+            }
+            if (a.getClass() != b.getClass() || !hasValue(a)) {
+                return false;
+            }
+            if (a instanceof SkDouble) {
+                return Double.compare(((SkDouble) a).getValue(), ((SkDouble) b).getValue()) == 0;
+            }
+            return a.compareTo(b) == 0;
+        }
+        
+        private static boolean hasValue(SkValue value) {
+            return value instanceof SkNumber || value instanceof SkChar || value instanceof SkString;
+        }
+    }
+}
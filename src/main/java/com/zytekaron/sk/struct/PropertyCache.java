@@ -0,0 +1,115 @@
+/*
+   Copyright 2020 Michael Thornes
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.zytekaron.sk.struct;
+
+import com.zytekaron.sk.types.SkClass;
+import com.zytekaron.sk.types.object.SkFunction;
+
+import java.util.Arrays;
+
+/**
+ * The slots a property access site found its key in, for each Shape of
+ * object it has been used on, so that reading a property of an object whose
+ * shape was seen before is a comparison and an array load.
+ * <p>
+ * The cache is polymorphic up to -Dsk.property.cache.size shapes. A site which
+ * sees more shapes than that, or more than one key, is megamorphic, and looks
+ * every key up in the shape of the object instead.
+ * <p>
+ * Objects without the property fall back to a method of their class, and the
+ * method last found is kept for as long as that class has no new methods.
+ */
+public class PropertyCache {
+    private static final int MAX_SHAPES = Integer.getInteger("sk.property.cache.size", 4);
+    
+    private final Shape[] shapes = new Shape[MAX_SHAPES];
+    private final int[] slots = new int[MAX_SHAPES];
+    private int size = 0;
+    private boolean megamorphic = false;
+    private String key;
+    private SkClass methodClass;
+    private int methodVersion;
+    private SkFunction method;
+    
+    /**
+     * Get the slot of a property in objects of a shape
+     *
+     * @param shape The shape of the object
+     * @param key   The name of the property
+     * @return The slot, or -1 if objects of the shape do not have the property
+     */
+    public int slotOf(Shape shape, String key) {
+        if (!isKey(key)) {
+            return shape.slotOf(key);
+        }
+        for (int i = 0; i < size; i++) {
+            if (shapes[i] == shape) {
+                return slots[i];
+            }
+        }
+        int slot = shape.slotOf(key);
+        if (size == shapes.length) {
+            megamorphic();
+        } else if (!megamorphic) {
+            shapes[size] = shape;
+            slots[size] = slot;
+            size++;
+        }
+        return slot;
+    }
+    
+    /**
+     * Get a method of a class
+     *
+     * @param instanceOf The class
+     * @param name       The name of the method
+     * @return The method, or null if the class does not have it
+     */
+    public SkFunction methodOf(SkClass instanceOf, String name) {
+        if (!isKey(name)) {
+            return instanceOf.getMethod(name);
+        }
+        if (instanceOf != methodClass || instanceOf.getVersion() != methodVersion) {
+            methodClass = instanceOf;
+            methodVersion = instanceOf.getVersion();
+            method = instanceOf.getMethod(name);
+        }
+        return method;
+    }
+    
+    // Entries only apply to the key they were found for
+    private boolean isKey(String key) {
+        if (megamorphic) {
+            return false;
+        }
+        if (this.key == null) {
+            this.key = key;
+        } else if (!this.key.equals(key)) {
+            megamorphic();
+            return false;
+        }
+        return true;
+    }
+    
+    private void megamorphic() {
+        megamorphic = true;
+        Arrays.fill(shapes, null);
+        size = 0;
+        methodClass = null;
+        method = null;
+    }
+}
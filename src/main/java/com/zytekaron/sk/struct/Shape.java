@@ -0,0 +1,124 @@
+/*
+   Copyright 2020 Michael Thornes
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.zytekaron.sk.struct;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The property names of an SkObject, and the slot of its values which
+ * holds each of them.
+ * <p>
+ * Shapes form a transition tree rooted at EMPTY: adding a property moves an
+ * object to the child shape for that name, which is only created the first
+ * time, so objects whose properties are added in the same order share their
+ * shape and each only stores an array of values.
+ * <p>
+ * Shapes are shared by every object, so transitions may be added from any
+ * thread. A shape has at most -Dsk.shape.max.transitions children, so that
+ * objects used as dictionaries with many different keys cannot grow the tree
+ * without bound; past that, objects keep their properties in a map instead.
+ */
+public class Shape {
+    public static final Shape EMPTY = new Shape(new String[0]);
+    // objects with more properties than this keep them in a map instead
+    public static final int MAX_PROPERTIES = Integer.getInteger("sk.shape.max.properties", 64);
+    // shapes with this many children create no more, which may be exceeded slightly by racing threads
+    private static final int MAX_TRANSITIONS = Integer.getInteger("sk.shape.max.transitions", 64);
+    // shapes with more properties than this find slots by hash rather than by scanning
+    private static final int MAX_SCANNED = 8;
+    
+    private final String[] keys;
+    private final Map<String, Integer> slots;
+    private final Map<String, Shape> transitions = new ConcurrentHashMap<>(2);
+    
+    private Shape(String[] keys) {
+        this.keys = keys;
+        if (keys.length > MAX_SCANNED) {
+            slots = new HashMap<>();
+            for (int i = 0; i < keys.length; i++) {
+                slots.put(keys[i], i);
+            }
+        } else {
+            slots = null;
+        }
+    }
+    
+    /**
+     * Get the number of properties of objects with this shape
+     *
+     * @return The number of properties
+     */
+    public int size() {
+        return keys.length;
+    }
+    
+    /**
+     * Get the name of the property in a slot
+     *
+     * @param slot The slot
+     * @return The name
+     */
+    public String keyOf(int slot) {
+        return keys[slot];
+    }
+    
+    /**
+     * Get the slot of a property
+     *
+     * @param key The name of the property
+     * @return The slot, or -1 if objects with this shape do not have the property
+     */
+    public int slotOf(String key) {
+        if (slots != null) {
+            Integer slot = slots.get(key);
+            return slot == null ? -1 : slot;
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i].equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * Get the shape of an object with this shape once a property is added,
+     * which takes the next slot
+     *
+     * @param key The name of the new property
+     * @return The shape, or null if this shape has too many children to create another
+     */
+    public Shape with(String key) {
+        Shape shape = transitions.get(key);
+        if (shape != null) {
+            return shape;
+        }
+        if (transitions.size() >= MAX_TRANSITIONS) {
+            return null;
+        }
+        return transitions.computeIfAbsent(key, this::child);
+    }
+    
+    private Shape child(String key) {
+        String[] next = Arrays.copyOf(keys, keys.length + 1);
+        next[keys.length] = key;
+        return new Shape(next);
+    }
+}
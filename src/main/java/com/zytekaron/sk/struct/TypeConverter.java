@@ -46,7 +46,7 @@ public class TypeConverter {
      */
     public static SkNumber stringToInt(String string) {
         int i = Integer.parseInt(string);
-        return new SkInt(i);
+        return SkInt.of(i);
     }
     
     /**
@@ -68,15 +68,15 @@ public class TypeConverter {
      */
     public static SkBool valueToBool(SkValue value) {
         if (value instanceof SkInt && ((SkInt) value).getValue() == 0) {
-            return new SkBool(false);
+            return SkBool.of(false);
         }
         if (value instanceof SkDouble && ((SkDouble) value).getValue() == 0) {
-            return new SkBool(false);
+            return SkBool.of(false);
         }
         if (value instanceof SkString && ((SkString) value).getValue().isEmpty()) {
-            return new SkBool(false);
+            return SkBool.of(false);
         }
         // todo LATER implement for array type
-        return new SkBool(true);
+        return SkBool.of(true);
     }
 }
\ No newline at end of file
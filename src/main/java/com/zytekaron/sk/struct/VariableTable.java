@@ -17,16 +17,39 @@
 package com.zytekaron.sk.struct;
 
 import com.zytekaron.sk.types.SkValue;
-import lombok.Getter;
+import com.zytekaron.sk.types.object.SkFunction;
 
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
-@Getter
+/**
+ * A scope of variables, stored in slots so that names resolved ahead of time
+ * by the Resolver can be read by index rather than by hashing the name.
+ * <p>
+ * A slot is never removed once declared; an empty (null) slot means that
+ * the variable is currently undefined in this table.
+ * <p>
+ * The frame of a function call shares its slots with the FrameLayout of the
+ * function, so that only its values belong to it, until it declares a name
+ * which the Resolver did not.
+ */
 public class VariableTable {
-    private final Map<String, SkValue> variables = new HashMap<>();
-    private final VariableTable parent;
+    // Changed whenever a name may start resolving to a different function, in
+    // any table, so that call sites can cache the function they last called
+    private static int version = 0;
+    
+    private static final SkValue[] NO_VALUES = new SkValue[0];
+    
+    private Map<String, Integer> slots;
+    private String[] names;
+    private SkValue[] values;
+    private int size = 0;
+    private VariableTable parent;
     private boolean immutable = false;
+    // whether the slots and names belong to the layout this frame was created from
+    private boolean shared = false;
     
     public VariableTable() {
         this(null);
@@ -34,10 +57,72 @@ public class VariableTable {
     
     public VariableTable(VariableTable parent) {
         this.parent = parent;
+        this.slots = new HashMap<>();
+        this.names = new String[8];
+        this.values = new SkValue[8];
+    }
+    
+    // A frame for a call of the function whose variables are declared in layout
+    VariableTable(VariableTable parent, VariableTable layout) {
+        this.parent = parent;
+        this.slots = layout.slots;
+        this.names = layout.names;
+        this.values = layout.size == 0 ? NO_VALUES : new SkValue[layout.size];
+        this.size = layout.size;
+        this.shared = true;
+    }
+    
+    /**
+     * Get the slot for a name in this table, declaring it if it does not exist yet
+     *
+     * @param name The name of the variable
+     * @return The slot index
+     */
+    public int declare(String name) {
+        Integer slot = slots.get(name);
+        if (slot != null) {
+            return slot;
+        }
+        if (shared) {
+            slots = new HashMap<>(slots);
+            names = Arrays.copyOf(names, values.length);
+            shared = false;
+        }
+        if (size == values.length) {
+            int capacity = Math.max(8, size * 2);
+            names = Arrays.copyOf(names, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+        names[size] = name.intern();
+        slots.put(name, size);
+        return size++;
+    }
+    
+    /**
+     * Get the slot for a name in this table
+     *
+     * @param name The name of the variable
+     * @return The slot index, or -1 if the name was never declared here
+     */
+    public int slotOf(String name) {
+        Integer slot = slots.get(name);
+        return slot == null ? -1 : slot;
     }
     
     public SkValue put(String name, SkValue value) {
-        return variables.put(name, value);
+        int slot = declare(name);
+        SkValue previous = values[slot];
+        write(slot, value);
+        return previous;
+    }
+    
+    public boolean set(String name, SkValue value) {
+        VariableTable table = findTable(name);
+        if (table == null) {
+            return false;
+        }
+        table.write(table.slotOf(name), value);
+        return true;
     }
     
     public boolean delete(String name) {
@@ -46,14 +131,14 @@ public class VariableTable {
             return false;
         }
         if (table == this) {
-            variables.remove(name);
+            write(slotOf(name), null);
             return true;
         }
         return table.delete(name);
     }
     
     public boolean contains(String name) {
-        boolean contains = variables.containsKey(name);
+        boolean contains = containsHere(name);
         if (!contains && parent != null) {
             return parent.contains(name);
         }
@@ -61,17 +146,154 @@ public class VariableTable {
     }
     
     public boolean containsHere(String name) {
-        return variables.containsKey(name);
+        int slot = slotOf(name);
+        return slot != -1 && values[slot] != null;
     }
     
     public SkValue get(String name) {
-        SkValue value = variables.get(name);
+        int slot = slotOf(name);
+        SkValue value = slot == -1 ? null : values[slot];
         if (value == null && parent != null) {
             return parent.get(name);
         }
         return value;
     }
     
+    /**
+     * Get a variable using coordinates computed by the Resolver,
+     * falling back to a lookup by name if they do not apply to this table
+     *
+     * @param depth The number of parents to walk up
+     * @param slot  The slot in that table, or -1 if unresolved
+     * @param name  The name of the variable
+     * @return The value, or null if it is not defined
+     */
+    public SkValue get(int depth, int slot, String name) {
+        VariableTable table = resolve(depth, slot, name);
+        if (table != null) {
+            SkValue value = table.values[slot];
+            if (value != null) {
+                return value;
+            }
+        }
+        return get(name);
+    }
+    
+    /**
+     * Set an existing variable using coordinates computed by the Resolver,
+     * falling back to a lookup by name if they do not apply to this table
+     *
+     * @param depth The number of parents to walk up
+     * @param slot  The slot in that table, or -1 if unresolved
+     * @param name  The name of the variable
+     * @param value The new value
+     * @return Whether the variable was defined
+     */
+    public boolean set(int depth, int slot, String name, SkValue value) {
+        VariableTable table = resolve(depth, slot, name);
+        if (table != null && table.values[slot] != null) {
+            table.write(slot, value);
+            return true;
+        }
+        return set(name, value);
+    }
+    
+    /**
+     * Check whether a variable is defined in this table using a slot computed by the Resolver
+     *
+     * @param slot The slot in this table, or -1 if unresolved
+     * @param name The name of the variable
+     * @return Whether the variable is defined in this table
+     */
+    public boolean containsHere(int slot, String name) {
+        if (resolve(0, slot, name) != null) {
+            return values[slot] != null;
+        }
+        return containsHere(name);
+    }
+    
+    /**
+     * Define a variable in this table using a slot computed by the Resolver
+     *
+     * @param slot  The slot in this table, or -1 if unresolved
+     * @param name  The name of the variable
+     * @param value The value
+     */
+    public void put(int slot, String name, SkValue value) {
+        if (resolve(0, slot, name) != null) {
+            write(slot, value);
+        } else {
+            put(name, value);
+        }
+    }
+    
+    /**
+     * Define a variable in a frame which has not been run in yet, such as a
+     * parameter. Its slot was empty, but nothing can have looked the name up
+     * in this frame yet, so call sites only need to know if it is a function.
+     *
+     * @param slot  The slot in this table, or -1 if unresolved
+     * @param name  The name of the variable
+     * @param value The value
+     */
+    public void bind(int slot, String name, SkValue value) {
+        if (resolve(0, slot, name) == null) {
+            put(name, value);
+            return;
+        }
+        if (value instanceof SkFunction) {
+            version++;
+        }
+        values[slot] = value;
+    }
+    
+    // A pooled frame is reused by another call. Its slots are the same, and
+    // were emptied without a version change unless one held a function, so
+    // only a different parent can change what its call sites resolve to.
+    void reopen(VariableTable parent) {
+        if (parent != this.parent) {
+            this.parent = parent;
+            version++;
+        }
+    }
+    
+    void clear() {
+        for (int i = 0; i < size; i++) {
+            if (values[i] instanceof SkFunction) {
+                version++;
+            }
+            values[i] = null;
+        }
+    }
+    
+    // Defining or deleting any variable may shadow or expose a function
+    // of the same name in another table, so only reassigning one non-function
+    // value with another leaves the version alone
+    private void write(int slot, SkValue value) {
+        SkValue previous = values[slot];
+        if (previous == null || value == null || previous instanceof SkFunction || value instanceof SkFunction) {
+            version++;
+        }
+        values[slot] = value;
+    }
+    
+    // Names are interned here and by the Lexer, so a slot belongs to the name
+    // only if it holds that exact instance. Coordinates resolved against a
+    // different table will therefore never read the wrong variable.
+    private VariableTable resolve(int depth, int slot, String name) {
+        if (slot < 0) {
+            return null;
+        }
+        VariableTable table = this;
+        for (int i = 0; i < depth && table != null; i++) {
+            table = table.parent;
+        }
+        if (table == null || slot >= table.size || table.names[slot] != name) {
+            return null;
+        }
+        return table;
+    }
+    
     private VariableTable findTable(String name) {
         if (containsHere(name)) {
             return this;
@@ -82,7 +304,30 @@ public class VariableTable {
         }
     }
     
+    /**
+     * Get the variables which are currently defined in this table
+     *
+     * @return A map of names to values, in declaration order
+     */
+    public Map<String, SkValue> getVariables() {
+        Map<String, SkValue> variables = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            if (values[i] != null) {
+                variables.put(names[i], values[i]);
+            }
+        }
+        return variables;
+    }
+    
+    public static int getVersion() {
+        return version;
+    }
+    
+    public VariableTable getParent() {
+        return parent;
+    }
+    
     public boolean isImmutable() {
         return immutable;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,42 @@
+/*
+   Copyright 2020 Michael Thornes
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.zytekaron.sk.struct.signal;
+
+import com.zytekaron.sk.struct.result.RuntimeResult;
+
+/**
+ * Unwinds evaluation for anything other than producing a value: an error
+ * or a return.
+ * <p>
+ * Signals carry no stack trace and are reused where they carry no state,
+ * so that propagating them is cheap and normal values can be returned
+ * directly instead of being wrapped in a RuntimeResult by every node.
+ */
+public abstract class ControlFlowSignal extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+    
+    protected ControlFlowSignal() {
+        super(null, null, false, false);
+    }
+    
+    /**
+     * Convert this signal to the RuntimeResult which it replaces
+     *
+     * @return The RuntimeResult
+     */
+    public abstract RuntimeResult toResult();
+}
@@ -0,0 +1,43 @@
+/*
+   Copyright 2020 Michael Thornes
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.zytekaron.sk.struct.signal;
+
+import com.zytekaron.sk.struct.result.RuntimeResult;
+import com.zytekaron.sk.types.SkValue;
+import lombok.Getter;
+
+/**
+ * Each engine owns a single ReturnSignal which it fills in before throwing,
+ * since it is always caught by the nearest function call before another
+ * return can happen.
+ */
+@Getter
+public class ReturnSignal extends ControlFlowSignal {
+    private static final long serialVersionUID = 1L;
+    
+    private SkValue value;
+    
+    public ReturnSignal with(SkValue value) {
+        this.value = value;
+        return this;
+    }
+    
+    @Override
+    public RuntimeResult toResult() {
+        return new RuntimeResult().successReturn(value);
+    }
+}
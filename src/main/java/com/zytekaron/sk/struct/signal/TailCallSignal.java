@@ -0,0 +1,49 @@
+/*
+   Copyright 2020 Michael Thornes
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.zytekaron.sk.struct.signal;
+
+import com.zytekaron.sk.struct.VariableTable;
+import com.zytekaron.sk.struct.result.RuntimeResult;
+import com.zytekaron.sk.types.object.SkFunction;
+import lombok.Getter;
+
+/**
+ * Thrown by a call in tail position once its arguments are bound, so that
+ * the function call it returns from can run the callee in its place instead of
+ * nesting another call, and self-recursion runs in constant stack.
+ * <p>
+ * Like the ReturnSignal, each engine owns a single TailCallSignal.
+ */
+@Getter
+public class TailCallSignal extends ControlFlowSignal {
+    private static final long serialVersionUID = 1L;
+    
+    private SkFunction function;
+    private VariableTable frame;
+    
+    public TailCallSignal with(SkFunction function, VariableTable frame) {
+        this.function = function;
+        this.frame = frame;
+        return this;
+    }
+    
+    @Override
+    public RuntimeResult toResult() {
+        // the Resolver only marks calls inside a function body
+        throw new RuntimeException("Tail call to " + function + " escaped its function");
+    }
+}
@@ -0,0 +1,31 @@
+/*
+   Copyright 2020 Michael Thornes
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.zytekaron.sk.types;
+
+/**
+ * A value compared by identity (of kind KIND_IDENTITY), which is only equal to itself.
+ * Every value of that kind implements this, so that any two of them can be ordered.
+ */
+public interface IdentityValue {
+    
+    /**
+     * Get the sequence number of this value, which no other value shares
+     *
+     * @return The sequence number, taken from {@link SkValue#nextSequence()} when the value was created
+     */
+    long sequence();
+}
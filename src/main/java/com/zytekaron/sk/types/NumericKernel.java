@@ -0,0 +1,529 @@
+/*
+   Copyright 2020 Michael Thornes
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.zytekaron.sk.types;
+
+import com.zytekaron.sk.types.primitive.SkBigInt;
+import com.zytekaron.sk.types.primitive.SkBool;
+import com.zytekaron.sk.types.primitive.SkChar;
+import com.zytekaron.sk.types.primitive.SkDouble;
+import com.zytekaron.sk.types.primitive.SkInt;
+import com.zytekaron.sk.types.primitive.SkLong;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Arithmetic over the numeric tower Int < Long < BigInt < Double, performed on raw primitives
+ * <p>
+ * The operand types are looked up in a table of type pairs to find the type both are
+ * promoted to, and the operation is then computed once for that type, without boxing
+ * <p>
+ * Int and Long operations never wrap: a result which overflows an Int is a Long, and a
+ * result which overflows a Long is a BigInt. BigInt results which fit in a Long are
+ * narrowed back to one, so a BigInt is always beyond the range of a Long.
+ */
+public final class NumericKernel {
+    public static final int INT = 0;
+    public static final int LONG = 1;
+    public static final int BIG_INT = 2;
+    public static final int DOUBLE = 3;
+    public static final int NONE = -1;
+    
+    // Powers whose result would certainly have more than this many bits are not computed,
+    // the limit can be changed with -Dsk.power.max.bits
+    private static final int POWER_MAX_BITS = Integer.getInteger("sk.power.max.bits", 1 << 20);
+    
+    // PROMOTION[rank(left)][rank(right)]
+    private static final int[][] PROMOTION = {
+            {INT, LONG, BIG_INT, DOUBLE},
+            {LONG, LONG, BIG_INT, DOUBLE},
+            {BIG_INT, BIG_INT, BIG_INT, DOUBLE},
+            {DOUBLE, DOUBLE, DOUBLE, DOUBLE}
+    };
+    
+    private NumericKernel() {
+    }
+    
+    /**
+     * Get the position of a value in the numeric tower
+     *
+     * @param value The value
+     * @return INT, LONG, BIG_INT or DOUBLE, or NONE if the value is not a number
+     */
+    public static int rank(SkValue value) {
+        if (value instanceof SkInt) {
+            return INT;
+        }
+        if (value instanceof SkLong) {
+            return LONG;
+        }
+        if (value instanceof SkDouble) {
+            return DOUBLE;
+        }
+        if (value instanceof SkBigInt) {
+            return BIG_INT;
+        }
+        return NONE;
+    }
+    
+    /**
+     * Get the type which two operands are promoted to
+     *
+     * @param left  The left operand
+     * @param right The right operand
+     * @return INT, LONG, BIG_INT or DOUBLE, or NONE if either operand is not a number
+     */
+    private static int promote(SkValue left, SkValue right) {
+        int leftRank = rank(left);
+        int rightRank = rank(right);
+        if (leftRank == rightRank) {
+            return leftRank;
+        }
+        if (leftRank == NONE || rightRank == NONE) {
+            return NONE;
+        }
+        return PROMOTION[leftRank][rightRank];
+    }
+    
+    // Only called with an Int once both operands have been promoted to Int
+    private static int intOf(SkValue value) {
+        return ((SkInt) value).getValue();
+    }
+    
+    private static long longOf(SkValue value) {
+        if (value instanceof SkInt) {
+            return ((SkInt) value).getValue();
+        }
+        return ((SkLong) value).getValue();
+    }
+    
+    private static BigInteger bigOf(SkValue value) {
+        if (value instanceof SkBigInt) {
+            return ((SkBigInt) value).getValue();
+        }
+        return BigInteger.valueOf(longOf(value));
+    }
+    
+    private static double doubleOf(SkValue value) {
+        if (value instanceof SkInt) {
+            return ((SkInt) value).getValue();
+        }
+        if (value instanceof SkLong) {
+            return ((SkLong) value).getValue();
+        }
+        if (value instanceof SkBigInt) {
+            return ((SkBigInt) value).getValue().doubleValue();
+        }
+        return ((SkDouble) value).getValue();
+    }
+    
+    // An Int if the result of an Int operation fits in one, otherwise a Long
+    private static SkNumber intResult(long value) {
+        int narrowed = (int) value;
+        return narrowed == value ? SkInt.of(narrowed) : new SkLong(value);
+    }
+    
+    public static SkValue add(SkValue left, SkValue right) {
+        switch (promote(left, right)) {
+            case INT:
+                return add(intOf(left), intOf(right));
+            case LONG:
+                return add(longOf(left), longOf(right));
+            case BIG_INT:
+                return SkBigInt.of(bigOf(left).add(bigOf(right)));
+            case DOUBLE:
+                return new SkDouble(doubleOf(left) + doubleOf(right));
+            default:
+                return null;
+        }
+    }
+    
+    public static SkValue subtract(SkValue left, SkValue right) {
+        switch (promote(left, right)) {
+            case INT:
+                return subtract(intOf(left), intOf(right));
+            case LONG:
+                return subtract(longOf(left), longOf(right));
+            case BIG_INT:
+                return SkBigInt.of(bigOf(left).subtract(bigOf(right)));
+            case DOUBLE:
+                return new SkDouble(doubleOf(left) - doubleOf(right));
+            default:
+                return null;
+        }
+    }
+    
+    public static SkValue multiply(SkValue left, SkValue right) {
+        switch (promote(left, right)) {
+            case INT:
+                return multiply(intOf(left), intOf(right));
+            case LONG:
+                return multiply(longOf(left), longOf(right));
+            case BIG_INT:
+                return SkBigInt.of(bigOf(left).multiply(bigOf(right)));
+            case DOUBLE:
+                return new SkDouble(doubleOf(left) * doubleOf(right));
+            default:
+                return null;
+        }
+    }
+    
+    /**
+     * @throws ArithmeticException if an Int, Long or BigInt is divided by zero
+     */
+    public static SkValue divide(SkValue left, SkValue right) {
+        switch (promote(left, right)) {
+            case INT:
+                return divide(intOf(left), intOf(right));
+            case LONG:
+                return divide(longOf(left), longOf(right));
+            case BIG_INT:
+                return SkBigInt.of(bigOf(left).divide(bigOf(right)));
+            case DOUBLE:
+                return new SkDouble(doubleOf(left) / doubleOf(right));
+            default:
+                return null;
+        }
+    }
+    
+    /**
+     * @throws ArithmeticException if an Int, Long or BigInt is divided by zero
+     */
+    public static SkValue modulo(SkValue left, SkValue right) {
+        switch (promote(left, right)) {
+            case INT:
+                return SkInt.of(intOf(left) % intOf(right));
+            case LONG:
+                return new SkLong(longOf(left) % longOf(right));
+            case BIG_INT:
+                return SkBigInt.of(bigOf(left).remainder(bigOf(right)));
+            case DOUBLE:
+                return new SkDouble(doubleOf(left) % doubleOf(right));
+            default:
+                return null;
+        }
+    }
+    
+    /**
+     * @throws ArithmeticException if an Int, Long or BigInt zero is raised to a negative power,
+     *                             or the result would have more than -Dsk.power.max.bits bits
+     */
+    public static SkValue power(SkValue left, SkValue right) {
+        switch (promote(left, right)) {
+            case INT:
+                return power(intOf(left), intOf(right));
+            case LONG:
+                return power(longOf(left), longOf(right));
+            case BIG_INT:
+                return power(bigOf(left), bigOf(right));
+            case DOUBLE:
+                return new SkDouble(Math.pow(doubleOf(left), doubleOf(right)));
+            default:
+                return null;
+        }
+    }
+    
+    // Int operations are computed as longs, which they cannot overflow. Math.*Exact is as
+    // fast when nothing overflows, but its exception makes an overflow hundreds of times slower
+    
+    public static SkNumber add(int left, int right) {
+        return intResult((long) left + right);
+    }
+    
+    public static SkNumber subtract(int left, int right) {
+        return intResult((long) left - right);
+    }
+    
+    public static SkNumber multiply(int left, int right) {
+        return intResult((long) left * right);
+    }
+    
+    /**
+     * @throws ArithmeticException if the divisor is zero
+     */
+    public static SkNumber divide(int left, int right) {
+        // dividing by -1 is the only way to overflow, and a long division is much slower
+        if (right == -1) {
+            return intResult(-(long) left);
+        }
+        return SkInt.of(left / right);
+    }
+    
+    // Long operations check for overflow as Math.*Exact does, but move on to a BigInt
+    // instead of throwing, as an ArithmeticException is a script error
+    
+    public static SkNumber add(long left, long right) {
+        long result = left + right;
+        // overflowed if the result's sign differs from both operands'
+        if (((left ^ result) & (right ^ result)) < 0) {
+            return SkBigInt.of(BigInteger.valueOf(left).add(BigInteger.valueOf(right)));
+        }
+        return new SkLong(result);
+    }
+    
+    public static SkNumber subtract(long left, long right) {
+        long result = left - right;
+        // overflowed if the operands' signs differ and the result's differs from the left's
+        if (((left ^ right) & (left ^ result)) < 0) {
+            return SkBigInt.of(BigInteger.valueOf(left).subtract(BigInteger.valueOf(right)));
+        }
+        return new SkLong(result);
+    }
+    
+    public static SkNumber multiply(long left, long right) {
+        long result = left * right;
+        // overflowed if the high half of the full product is not just the result's sign
+        if (Math.multiplyHigh(left, right) != result >> 63) {
+            return SkBigInt.of(BigInteger.valueOf(left).multiply(BigInteger.valueOf(right)));
+        }
+        return new SkLong(result);
+    }
+    
+    /**
+     * @throws ArithmeticException if the divisor is zero
+     */
+    public static SkNumber divide(long left, long right) {
+        if (left == Long.MIN_VALUE && right == -1) {
+            return SkBigInt.of(BigInteger.valueOf(left).negate());
+        }
+        return new SkLong(left / right);
+    }
+    
+    /**
+     * Compare two numeric values (numbers, Bools as 0 or 1, and Chars as their code)
+     * <p>
+     * Longs and BigInts are compared to Doubles exactly, rather than after rounding to a Double.
+     * -0.0 is equal to 0, and NaN is equal to itself and greater than every other number.
+     *
+     * @param left  The left value
+     * @param right The right value
+     * @return A negative number, zero or a positive number as left is less than, equal to or greater than right
+     */
+    public static int compare(SkValue left, SkValue right) {
+        if (left instanceof SkBigInt || right instanceof SkBigInt) {
+            return compareBig(left, right);
+        }
+        boolean leftDouble = left instanceof SkDouble;
+        boolean rightDouble = right instanceof SkDouble;
+        if (!leftDouble && !rightDouble) {
+            return Long.compare(integralOf(left), integralOf(right));
+        }
+        if (leftDouble && rightDouble) {
+            double a = ((SkDouble) left).getValue();
+            double b = ((SkDouble) right).getValue();
+            return a == b ? 0 : Double.compare(a, b);
+        }
+        if (leftDouble) {
+            return compare(((SkDouble) left).getValue(), integralOf(right));
+        }
+        return -compare(((SkDouble) right).getValue(), integralOf(left));
+    }
+    
+    private static int compare(double a, long b) {
+        if (Double.isNaN(a) || a >= 0x1p63) {
+            return 1;
+        }
+        if (a < -0x1p63) {
+            return -1;
+        }
+        // a is now within the range of a long, so truncating it is exact apart from the fraction
+        long whole = (long) a;
+        int order = Long.compare(whole, b);
+        if (order != 0) {
+            return order;
+        }
+        return a > whole ? 1 : a < whole ? -1 : 0;
+    }
+    
+    private static int compareBig(SkValue left, SkValue right) {
+        BigDecimal a = decimalOf(left);
+        BigDecimal b = decimalOf(right);
+        // an infinite or NaN Double is beyond every BigInt
+        if (a == null) {
+            return ((SkDouble) left).getValue() < 0 ? -1 : 1;
+        }
+        if (b == null) {
+            return ((SkDouble) right).getValue() < 0 ? 1 : -1;
+        }
+        return a.compareTo(b);
+    }
+    
+    // The exact value of a number, or null for an infinite or NaN Double
+    private static BigDecimal decimalOf(SkValue value) {
+        if (value instanceof SkBigInt) {
+            return new BigDecimal(((SkBigInt) value).getValue());
+        }
+        if (value instanceof SkDouble) {
+            double d = ((SkDouble) value).getValue();
+            return Double.isFinite(d) ? new BigDecimal(d) : null;
+        }
+        return BigDecimal.valueOf(integralOf(value));
+    }
+    
+    /**
+     * Hash a numeric value, so that values which compare equal have the same hash
+     *
+     * @param value The value
+     * @return The hash
+     */
+    public static int hash(SkValue value) {
+        if (value instanceof SkDouble) {
+            double d = ((SkDouble) value).getValue();
+            long whole = (long) d;
+            // whole numbers hash like the Long they are equal to
+            if (whole == d && d != 0x1p63) {
+                return Long.hashCode(whole);
+            }
+            return Double.hashCode(d);
+        }
+        if (value instanceof SkBigInt) {
+            BigInteger big = ((SkBigInt) value).getValue();
+            // BigInts which a Double is equal to hash like that Double
+            double d = big.doubleValue();
+            if (Double.isFinite(d) && new BigDecimal(d).toBigIntegerExact().equals(big)) {
+                return Double.hashCode(d);
+            }
+            return big.hashCode();
+        }
+        return Long.hashCode(integralOf(value));
+    }
+    
+    private static long integralOf(SkValue value) {
+        if (value instanceof SkInt) {
+            return ((SkInt) value).getValue();
+        }
+        if (value instanceof SkLong) {
+            return ((SkLong) value).getValue();
+        }
+        if (value instanceof SkChar) {
+            return ((SkChar) value).getValue();
+        }
+        return value == SkBool.TRUE ? 1 : 0;
+    }
+    
+    public static SkNumber negate(SkNumber number) {
+        switch (rank(number)) {
+            case INT:
+                return intResult(-(long) intOf(number));
+            case LONG:
+                return subtract(0, longOf(number));
+            case BIG_INT:
+                return SkBigInt.of(bigOf(number).negate());
+            default:
+                return new SkDouble(-doubleOf(number));
+        }
+    }
+    
+    /**
+     * Raise an int to an int power by repeated squaring, promoting the result to a Long
+     * or a BigInt if it overflows
+     * <p>
+     * A negative exponent truncates towards zero, as integer division does
+     *
+     * @param base     The base
+     * @param exponent The exponent
+     * @return The power
+     * @throws ArithmeticException if the base is zero and the exponent is negative,
+     *                             or the result would have more than -Dsk.power.max.bits bits
+     */
+    public static SkNumber power(int base, int exponent) {
+        if (exponent < 0) {
+            return SkInt.of((int) negativePower(base, (exponent & 1) != 0));
+        }
+        long result = positivePower(base, exponent);
+        if (result == Long.MIN_VALUE) {
+            return power(BigInteger.valueOf(base), BigInteger.valueOf(exponent));
+        }
+        return intResult(result);
+    }
+    
+    /**
+     * Raise a long to a long power by repeated squaring, see {@link #power(int, int)}
+     *
+     * @param base     The base
+     * @param exponent The exponent
+     * @return The power
+     * @throws ArithmeticException if the base is zero and the exponent is negative,
+     *                             or the result would have more than -Dsk.power.max.bits bits
+     */
+    public static SkNumber power(long base, long exponent) {
+        if (exponent < 0) {
+            return new SkLong(negativePower(base, (exponent & 1) != 0));
+        }
+        long result = positivePower(base, exponent);
+        if (result == Long.MIN_VALUE) {
+            return power(BigInteger.valueOf(base), BigInteger.valueOf(exponent));
+        }
+        return new SkLong(result);
+    }
+    
+    // Returns Long.MIN_VALUE if the power overflows a long. The callers then recompute it
+    // as a BigInteger, which also gives the right result when the power is Long.MIN_VALUE.
+    private static long positivePower(long base, long exponent) {
+        long result = 1;
+        while (true) {
+            if ((exponent & 1) != 0) {
+                long high = Math.multiplyHigh(result, base);
+                result *= base;
+                if (high != result >> 63) {
+                    return Long.MIN_VALUE;
+                }
+            }
+            exponent >>>= 1;
+            if (exponent == 0) {
+                return result;
+            }
+            long high = Math.multiplyHigh(base, base);
+            base *= base;
+            if (high != base >> 63) {
+                return Long.MIN_VALUE;
+            }
+        }
+    }
+    
+    private static SkNumber power(BigInteger base, BigInteger exponent) {
+        if (exponent.signum() < 0) {
+            // every base beyond a long is at least 2 in magnitude, so its negative powers truncate to 0
+            long result = base.bitLength() < Long.SIZE ? negativePower(base.longValue(), exponent.testBit(0)) : 0;
+            return new SkLong(result);
+        }
+        int baseBits = base.abs().bitLength();
+        if (baseBits <= 1) {
+            // the powers of 0, 1 and -1 repeat, whatever the size of the exponent
+            return SkBigInt.of(base.pow(exponent.signum() == 0 ? 0 : exponent.testBit(0) ? 1 : 2));
+        }
+        // the result has at least (bits - 1) * exponent + 1 bits
+        BigInteger bits = exponent.multiply(BigInteger.valueOf(baseBits - 1));
+        if (bits.compareTo(BigInteger.valueOf(POWER_MAX_BITS)) >= 0) {
+            throw new ArithmeticException("Power too large");
+        }
+        return SkBigInt.of(base.pow(exponent.intValue()));
+    }
+    
+    private static long negativePower(long base, boolean odd) {
+        if (base == 0) {
+            throw new ArithmeticException("Zero raised to a negative power");
+        }
+        if (base == 1) {
+            return 1;
+        }
+        if (base == -1) {
+            return odd ? -1 : 1;
+        }
+        return 0;
+    }
+}
@@ -17,21 +17,47 @@
 package com.zytekaron.sk.types;
 
 import com.zytekaron.sk.types.object.SkFunction;
+import lombok.AccessLevel;
 import lombok.Getter;
 
 import java.util.HashMap;
 import java.util.Map;
 
 @Getter
-public class SkClass extends SkObject {
+public class SkClass extends SkObject implements IdentityValue {
     private final Map<String, SkFunction> methods = new HashMap<>();
     private final SkClass parent;
     private final String name;
+    // changed whenever a method is added, so that cached methods can be checked
+    private int version = 0;
+    // orders this value among values compared by identity
+    @Getter(AccessLevel.NONE)
+    private final long sequence = nextSequence();
     
     public SkClass() {
         this(null, "UnnamedClass");
     }
     
+    @Override
+    protected int kind() {
+        return KIND_IDENTITY;
+    }
+    
+    @Override
+    protected int compare(SkValue other) {
+        return compareIdentity(this, other);
+    }
+    
+    @Override
+    public long sequence() {
+        return sequence;
+    }
+    
+    @Override
+    public int hash() {
+        return System.identityHashCode(this);
+    }
+    
     public boolean hasMethod(String name) {
         return methods.containsKey(name);
     }
@@ -42,6 +68,7 @@ public class SkClass extends SkObject {
     
     public void addMethod(String name, SkFunction function) {
         methods.put(name, function);
+        version++;
     }
     
     public SkClass(SkClass parent, String name) {
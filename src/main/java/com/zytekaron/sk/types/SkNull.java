@@ -17,9 +17,14 @@
 package com.zytekaron.sk.types;
 
 public class SkNull extends SkValue {
+    public static final SkNull NULL = new SkNull();
     
-    public SkNull() {
-        super("null");
+    private SkNull() {
+    }
+    
+    @Override
+    public String getType() {
+        return "null";
     }
     
     @Override
@@ -27,9 +32,19 @@ public class SkNull extends SkValue {
         throw new RuntimeException("Unsupported operation 'cast' for type 'null'");
     }
     
+    @Override
+    protected int kind() {
+        return KIND_NULL;
+    }
+    
     @Override
     protected int compare(SkValue other) {
-        return other instanceof SkNull ? 0 : 1;
+        return 0;
+    }
+    
+    @Override
+    public int hash() {
+        return 0;
     }
     
     @Override
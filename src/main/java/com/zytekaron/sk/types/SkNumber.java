@@ -16,27 +16,73 @@
 
 package com.zytekaron.sk.types;
 
+import com.zytekaron.sk.struct.Token;
+import com.zytekaron.sk.types.object.SkString;
 import com.zytekaron.sk.types.primitive.SkDouble;
 import com.zytekaron.sk.types.primitive.SkInt;
 import com.zytekaron.sk.types.primitive.SkLong;
 
 public abstract class SkNumber extends SkValue {
     
-    public SkNumber(String type) {
-        super(type);
+    @Override
+    protected int kind() {
+        return KIND_NUMBER;
     }
     
-    public abstract SkValue add(SkValue other);
+    @Override
+    protected int compare(SkValue other) {
+        return NumericKernel.compare(this, other);
+    }
+    
+    @Override
+    public int hash() {
+        return NumericKernel.hash(this);
+    }
+    
+    public SkValue add(SkValue other) {
+        if (other instanceof SkString) {
+            return toSkString().add(other);
+        }
+        return NumericKernel.add(this, other);
+    }
+    
+    public SkValue subtract(SkValue other) {
+        return NumericKernel.subtract(this, other);
+    }
     
-    public abstract SkValue subtract(SkValue other);
+    public SkValue multiply(SkValue other) {
+        return NumericKernel.multiply(this, other);
+    }
     
-    public abstract SkValue multiply(SkValue other);
+    public SkValue divide(SkValue other) {
+        return NumericKernel.divide(this, other);
+    }
     
-    public abstract SkValue divide(SkValue other);
+    public SkValue modulo(SkValue other) {
+        return NumericKernel.modulo(this, other);
+    }
     
-    public abstract SkValue modulo(SkValue other);
+    public SkValue power(SkValue other) {
+        return NumericKernel.power(this, other);
+    }
     
-    public abstract SkValue power(SkValue other);
+    /**
+     * Create the number represented by a number literal
+     *
+     * @param token An INT, LONG or DOUBLE token
+     * @return The SkNumber
+     * @throws NumberFormatException if the literal does not fit its type
+     */
+    public static SkNumber fromToken(Token token) {
+        switch (token.getType()) {
+            case LONG:
+                return new SkLong(Long.parseLong(token.getValue()));
+            case DOUBLE:
+                return new SkDouble(Double.parseDouble(token.getValue()));
+            default:
+                return SkInt.of(Integer.parseInt(token.getValue()));
+        }
+    }
     
     public static SkNumber fromString(String string) {
         if (string.contains(".")) {
@@ -47,7 +93,7 @@ public abstract class SkNumber extends SkValue {
             return new SkLong(l);
         } else {
             int i = Integer.parseInt(string);
-            return new SkInt(i);
+            return SkInt.of(i);
         }
     }
 }
\ No newline at end of file
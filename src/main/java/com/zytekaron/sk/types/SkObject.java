@@ -1,21 +1,41 @@
 package com.zytekaron.sk.types;
 
+import com.zytekaron.sk.struct.PropertyCache;
+import com.zytekaron.sk.struct.Shape;
 import lombok.Getter;
 
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.TreeMap;
 
-@Getter
+/**
+ * An object with named properties.
+ * <p>
+ * Property values are stored in an array laid out by the object's Shape,
+ * which is shared with every object whose properties were added in the same
+ * order. An object with more than -Dsk.shape.max.properties properties, or
+ * whose next shape would have too many siblings, is used as a dictionary, and
+ * keeps them in a map instead.
+ */
 public class SkObject extends SkValue {
-    private final Map<String, SkValue> values;
+    private static final SkValue[] NO_SLOTS = new SkValue[0];
+    
+    @Getter
     private final SkClass instanceOf;
+    // null once the properties are kept in a map
+    @Getter
+    private Shape shape = Shape.EMPTY;
+    private SkValue[] slots = NO_SLOTS;
+    private Map<String, SkValue> properties;
     
     public SkObject() {
-        this(null, new HashMap<>());
+        this((SkClass) null);
     }
     
     public SkObject(SkClass instanceOf) {
-        this(instanceOf, new HashMap<>());
+        this.instanceOf = instanceOf;
     }
     
     public SkObject(Map<String, SkValue> values) {
@@ -23,30 +43,164 @@ public class SkObject extends SkValue {
     }
     
     public SkObject(SkClass instanceOf, Map<String, SkValue> values) {
-        super(instanceOf == null ? "Object" : instanceOf.getName());
         this.instanceOf = instanceOf;
-        this.values = values;
+        if (values.size() > 0 && values.size() <= Shape.MAX_PROPERTIES) {
+            slots = new SkValue[values.size()];
+        }
+        for (Map.Entry<String, SkValue> entry : values.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+    
+    @Override
+    public String getType() {
+        return instanceOf == null ? "Object" : instanceOf.getName();
     }
     
     public SkValue get(String key) {
-        return values.computeIfAbsent(key, __ -> new SkNull());
+        SkValue value = lookup(key);
+        return value == null ? SkNull.NULL : value;
     }
     
     public SkValue put(String key, SkValue value) {
-        return values.put(key, value);
+        if (properties != null) {
+            return properties.put(key, value);
+        }
+        int slot = shape.slotOf(key);
+        if (slot != -1) {
+            SkValue previous = slots[slot];
+            slots[slot] = value;
+            return previous;
+        }
+        
+        int size = shape.size();
+        Shape next = size == Shape.MAX_PROPERTIES ? null : shape.with(key);
+        if (next == null) {
+            // Keeps the properties in the order they were added, as getValues promises
+            properties = new LinkedHashMap<>(getValues());
+            properties.put(key, value);
+            shape = null;
+            slots = null;
+            return null;
+        }
+        if (size == slots.length) {
+            slots = Arrays.copyOf(slots, Math.max(4, size * 2));
+        }
+        slots[size] = value;
+        shape = next;
+        return null;
     }
     
     public SkValue find(String name) {
-        return values.computeIfAbsent(name, __ -> instanceOf == null ? new SkNull() : instanceOf.getMethod(name));
+        SkValue value = lookup(name);
+        if (value != null) {
+            return value;
+        }
+        return instanceOf == null ? SkNull.NULL : instanceOf.getMethod(name);
+    }
+    
+    /**
+     * Get a property or method, using what the access site found for
+     * objects of the same shape and class before
+     *
+     * @param name  The name of the property
+     * @param cache The cache of the access site
+     * @return The value, SkNull if there is none, or null if the class has no such method
+     */
+    public SkValue find(String name, PropertyCache cache) {
+        SkValue value;
+        if (properties != null) {
+            value = properties.get(name);
+        } else {
+            int slot = cache.slotOf(shape, name);
+            value = slot == -1 ? null : slots[slot];
+        }
+        if (value != null) {
+            return value;
+        }
+        return instanceOf == null ? SkNull.NULL : cache.methodOf(instanceOf, name);
+    }
+    
+    /**
+     * Get the properties of this object
+     *
+     * @return A map of names to values, in the order they were added
+     */
+    public Map<String, SkValue> getValues() {
+        if (properties != null) {
+            return new LinkedHashMap<>(properties);
+        }
+        Map<String, SkValue> values = new LinkedHashMap<>();
+        for (int i = 0; i < shape.size(); i++) {
+            values.put(shape.keyOf(i), slots[i]);
+        }
+        return values;
+    }
+    
+    // Reading a missing property does not add it to the object
+    private SkValue lookup(String key) {
+        if (properties != null) {
+            return properties.get(key);
+        }
+        int slot = shape.slotOf(key);
+        return slot == -1 ? null : slots[slot];
     }
     
+    @Override
+    protected int kind() {
+        return KIND_OBJECT;
+    }
+    
+    /**
+     * Objects are ordered by class (plain objects first), then by number of
+     * properties, then by their properties in order of name
+     */
     @Override
     protected int compare(SkValue other) {
-        if (other instanceof SkObject) {
-            SkObject obj = (SkObject) other;
-            return values.equals(obj.values) ? 0 : 1;
+        SkObject obj = (SkObject) other;
+        if (instanceOf != obj.instanceOf) {
+            if (instanceOf == null || obj.instanceOf == null) {
+                return instanceOf == null ? -1 : 1;
+            }
+            return compareIdentity(instanceOf, obj.instanceOf);
+        }
+        if (shape != null && shape == obj.shape
+                && Arrays.equals(slots, 0, shape.size(), obj.slots, 0, shape.size())) {
+            return 0;
+        }
+        Map<String, SkValue> values = new TreeMap<>(getValues());
+        Map<String, SkValue> otherValues = new TreeMap<>(obj.getValues());
+        if (values.size() != otherValues.size()) {
+            return Integer.compare(values.size(), otherValues.size());
+        }
+        Iterator<Map.Entry<String, SkValue>> iterator = otherValues.entrySet().iterator();
+        for (Map.Entry<String, SkValue> entry : values.entrySet()) {
+            Map.Entry<String, SkValue> otherEntry = iterator.next();
+            int order = entry.getKey().compareTo(otherEntry.getKey());
+            if (order == 0) {
+                order = entry.getValue().compareTo(otherEntry.getValue());
+            }
+            if (order != 0) {
+                return order;
+            }
+        }
+        return 0;
+    }
+    
+    // The sum of each property's hash, so that the order they were added in does not matter
+    @Override
+    public int hash() {
+        int hash = instanceOf == null ? 0 : System.identityHashCode(instanceOf);
+        if (properties != null) {
+            for (Map.Entry<String, SkValue> entry : properties.entrySet()) {
+                hash += entry.getKey().hashCode() ^ entry.getValue().hash();
+            }
+        } else {
+            for (int i = 0; i < shape.size(); i++) {
+                hash += shape.keyOf(i).hashCode() ^ slots[i].hash();
+            }
         }
-        return 1;
+        return hash;
     }
     
     @Override
@@ -58,4 +212,4 @@ public class SkObject extends SkValue {
     public String toString() {
         return ""; // todo implement Object#toString base
     }
-}
\ No newline at end of file
+}
@@ -18,29 +18,103 @@ package com.zytekaron.sk.types;
 
 import com.zytekaron.sk.types.object.SkString;
 import com.zytekaron.sk.types.primitive.SkBool;
-import lombok.Getter;
 
-@Getter
-public abstract class SkValue {
-    private final String type;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A value of any sk type.
+ * <p>
+ * Values are totally ordered. Values of different kinds are ordered by kind,
+ * in the order of the KIND constants. Values of the same kind are ordered by
+ * {@link #compare(SkValue)}. Numbers, Bools and Chars are one kind, compared
+ * by numeric value, so 1, 1L, 1.0, true and the Char with code 1 are all equal.
+ * Values which compare equal have the same {@link #hash()}. equals and
+ * hashCode follow compareTo and hash, so values can be used as keys.
+ */
+public abstract class SkValue implements Comparable<SkValue> {
+    protected static final int KIND_NULL = 0;
+    protected static final int KIND_NUMBER = 1;
+    protected static final int KIND_STRING = 2;
+    protected static final int KIND_ARRAY = 3;
+    protected static final int KIND_OBJECT = 4;
+    protected static final int KIND_MAP = 5;
+    protected static final int KIND_SET = 6;
+    // functions, classes and errors, which are only equal to themselves (see IdentityValue)
+    protected static final int KIND_IDENTITY = 7;
+    // the next sequence number of a value compared by identity
+    private static final AtomicLong SEQUENCE = new AtomicLong();
     
-    public SkValue(String type) {
-        this.type = type;
-    }
+    /**
+     * Get the name of this value's type, as shown to the user
+     *
+     * @return The type name
+     */
+    public abstract String getType();
     
+    /**
+     * Get the kind of this value, which orders it against values of other kinds
+     *
+     * @return One of the KIND constants
+     */
+    protected abstract int kind();
+    
+    /**
+     * Compare this value to another of the same kind
+     *
+     * @param other The other value, whose kind() is the same as this value's
+     * @return A negative number, zero or a positive number as this value is less than, equal to or greater than it
+     */
     protected abstract int compare(SkValue other);
+    
+    /**
+     * Get a hash of this value, which is the same for all values that compare equal
+     *
+     * @return The hash
+     */
+    public abstract int hash();
+    
     public abstract <T> T into(Class<T> clazz);
     
+    @Override
+    public final int compareTo(SkValue other) {
+        if (this == other) {
+            return 0;
+        }
+        int kind = kind();
+        int otherKind = other.kind();
+        return kind == otherKind ? compare(other) : Integer.compare(kind, otherKind);
+    }
+    
+    @Override
+    public final boolean equals(Object obj) {
+        return obj instanceof SkValue && compareTo((SkValue) obj) == 0;
+    }
+    
+    @Override
+    public final int hashCode() {
+        return hash();
+    }
+    
     public SkBool equalTo(SkValue other) {
-        return new SkBool(compare(other) == 0);
+        return SkBool.of(compareTo(other) == 0);
     }
     
     public SkBool lessThan(SkValue other) {
-        return new SkBool(compare(other) < 0);
+        return SkBool.of(compareTo(other) < 0);
     }
     
     public SkBool greaterThan(SkValue other) {
-        return new SkBool(compare(other) > 0);
+        return SkBool.of(compareTo(other) > 0);
+    }
+    
+    protected static long nextSequence() {
+        return SEQUENCE.getAndIncrement();
+    }
+    
+    // Distinct values are ordered by their sequence numbers, which unlike
+    // identity hash codes are never shared
+    protected static int compareIdentity(IdentityValue value, SkValue other) {
+        return Long.compare(value.sequence(), ((IdentityValue) other).sequence());
     }
     
     public SkString toSkString() {
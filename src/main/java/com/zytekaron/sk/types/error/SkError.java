@@ -19,18 +19,22 @@ package com.zytekaron.sk.types.error;
 import com.zytekaron.sk.parse.nodes.Node;
 import com.zytekaron.sk.struct.Position;
 import com.zytekaron.sk.struct.Token;
+import com.zytekaron.sk.types.IdentityValue;
 import com.zytekaron.sk.types.SkValue;
+import lombok.AccessLevel;
 import lombok.Getter;
 
 @Getter
-public abstract class SkError extends SkValue {
+public abstract class SkError extends SkValue implements IdentityValue {
     private final Position start;
     private final Position end;
     private final String name;
     private final String details;
+    // orders this value among values compared by identity
+    @Getter(AccessLevel.NONE)
+    private final long sequence = nextSequence();
     
     public SkError(String name, Position start, Position end, String details) {
-        super("Error");
         this.start = start;
         this.end = end;
         this.name = name;
@@ -38,7 +42,6 @@ public abstract class SkError extends SkValue {
     }
     
     public SkError(String name, Token token, String details) {
-        super("Error");
         this.start = token.getStart();
         this.end = token.getEnd();
         this.name = name;
@@ -46,13 +49,17 @@ public abstract class SkError extends SkValue {
     }
     
     public SkError(String name, Node node, String details) {
-        super("Error");
         this.start = node.getStart();
         this.end = node.getEnd();
         this.name = name;
         this.details = details;
     }
     
+    @Override
+    public String getType() {
+        return "Error";
+    }
+    
     public void raise() {
         String text = toString()
                 .replace("\r", "\\r")
@@ -64,9 +71,24 @@ public abstract class SkError extends SkValue {
         System.out.println("Column " + start.getColumn() + " to " + end.getColumn());
     }
     
+    @Override
+    protected int kind() {
+        return KIND_IDENTITY;
+    }
+    
     @Override
     protected int compare(SkValue other) {
-        return 0;
+        return compareIdentity(this, other);
+    }
+    
+    @Override
+    public long sequence() {
+        return sequence;
+    }
+    
+    @Override
+    public int hash() {
+        return System.identityHashCode(this);
     }
     
     @Override
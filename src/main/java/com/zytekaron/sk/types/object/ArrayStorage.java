@@ -0,0 +1,306 @@
+/*
+   Copyright 2020 Michael Thornes
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.zytekaron.sk.types.object;
+
+import com.zytekaron.sk.types.SkValue;
+import com.zytekaron.sk.types.primitive.SkDouble;
+import com.zytekaron.sk.types.primitive.SkInt;
+import com.zytekaron.sk.types.primitive.SkLong;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The elements of an SkArray.
+ * <p>
+ * While every element is an Int, a Long or a Double, they are kept unboxed
+ * in a primitive array, and only boxed again when they are read as values.
+ * Storing anything else moves the elements into a generic array of values,
+ * which they stay in. Ints are not widened into a Long or Double array, as
+ * reading them back would change their type.
+ */
+abstract class ArrayStorage {
+    protected int size;
+    
+    ArrayStorage(int size) {
+        this.size = size;
+    }
+    
+    /**
+     * Create the storage which fits every element
+     *
+     * @param elements The elements
+     * @return The storage
+     */
+    static ArrayStorage of(List<SkValue> elements) {
+        int size = elements.size();
+        if (size == 0) {
+            return new ValueStorage(new SkValue[0], 0);
+        }
+        ArrayStorage storage = empty(elements.get(0), size);
+        for (int i = 0; i < size; i++) {
+            SkValue element = elements.get(i);
+            if (!storage.add(element)) {
+                storage = storage.generalize(size);
+                storage.add(element);
+            }
+        }
+        return storage;
+    }
+    
+    /**
+     * Create empty storage for values like the given one
+     *
+     * @param value    The first value to be stored
+     * @param capacity The number of values to make room for
+     * @return The storage
+     */
+    static ArrayStorage empty(SkValue value, int capacity) {
+        if (value instanceof SkInt) {
+            return new IntStorage(new int[capacity], 0);
+        } else if (value instanceof SkLong) {
+            return new LongStorage(new long[capacity], 0);
+        } else if (value instanceof SkDouble) {
+            return new DoubleStorage(new double[capacity], 0);
+        }
+        return new ValueStorage(new SkValue[capacity], 0);
+    }
+    
+    int size() {
+        return size;
+    }
+    
+    /**
+     * The name of the kind of storage, such as "int[]"
+     */
+    abstract String getType();
+    
+    /**
+     * Get an element, which must be in range
+     */
+    abstract SkValue get(int index);
+    
+    /**
+     * Replace an element, which must be in range
+     *
+     * @return false if the value cannot be stored here, in which case nothing was changed
+     */
+    abstract boolean set(int index, SkValue value);
+    
+    /**
+     * Append an element
+     *
+     * @return false if the value cannot be stored here, in which case nothing was changed
+     */
+    abstract boolean add(SkValue value);
+    
+    /**
+     * Copy the elements into storage which can hold any value
+     *
+     * @param capacity The minimum number of elements to make room for
+     */
+    ValueStorage generalize(int capacity) {
+        SkValue[] values = new SkValue[Math.max(capacity, size)];
+        for (int i = 0; i < size; i++) {
+            values[i] = get(i);
+        }
+        return new ValueStorage(values, size);
+    }
+    
+    // Room for at least one more element, growing by half
+    protected int grow(int length) {
+        return Math.max(length + (length >> 1), length + 1);
+    }
+    
+    static final class IntStorage extends ArrayStorage {
+        private int[] values;
+        
+        IntStorage(int[] values, int size) {
+            super(size);
+            this.values = values;
+        }
+        
+        int getInt(int index) {
+            return values[index];
+        }
+        
+        void setInt(int index, int value) {
+            values[index] = value;
+        }
+        
+        @Override
+        String getType() {
+            return "int[]";
+        }
+        
+        @Override
+        SkValue get(int index) {
+            return SkInt.of(values[index]);
+        }
+        
+        @Override
+        boolean set(int index, SkValue value) {
+            if (!(value instanceof SkInt)) {
+                return false;
+            }
+            values[index] = ((SkInt) value).getValue();
+            return true;
+        }
+        
+        @Override
+        boolean add(SkValue value) {
+            if (!(value instanceof SkInt)) {
+                return false;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, grow(size));
+            }
+            values[size++] = ((SkInt) value).getValue();
+            return true;
+        }
+    }
+    
+    static final class LongStorage extends ArrayStorage {
+        private long[] values;
+        
+        LongStorage(long[] values, int size) {
+            super(size);
+            this.values = values;
+        }
+        
+        long getLong(int index) {
+            return values[index];
+        }
+        
+        void setLong(int index, long value) {
+            values[index] = value;
+        }
+        
+        @Override
+        String getType() {
+            return "long[]";
+        }
+        
+        @Override
+        SkValue get(int index) {
+            return new SkLong(values[index]);
+        }
+        
+        @Override
+        boolean set(int index, SkValue value) {
+            if (!(value instanceof SkLong)) {
+                return false;
+            }
+            values[index] = ((SkLong) value).getValue();
+            return true;
+        }
+        
+        @Override
+        boolean add(SkValue value) {
+            if (!(value instanceof SkLong)) {
+                return false;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, grow(size));
+            }
+            values[size++] = ((SkLong) value).getValue();
+            return true;
+        }
+    }
+    
+    static final class DoubleStorage extends ArrayStorage {
+        private double[] values;
+        
+        DoubleStorage(double[] values, int size) {
+            super(size);
+            this.values = values;
+        }
+        
+        double getDouble(int index) {
+            return values[index];
+        }
+        
+        void setDouble(int index, double value) {
+            values[index] = value;
+        }
+        
+        @Override
+        String getType() {
+            return "double[]";
+        }
+        
+        @Override
+        SkValue get(int index) {
+            return new SkDouble(values[index]);
+        }
+        
+        @Override
+        boolean set(int index, SkValue value) {
+            if (!(value instanceof SkDouble)) {
+                return false;
+            }
+            values[index] = ((SkDouble) value).getValue();
+            return true;
+        }
+        
+        @Override
+        boolean add(SkValue value) {
+            if (!(value instanceof SkDouble)) {
+                return false;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, grow(size));
+            }
+            values[size++] = ((SkDouble) value).getValue();
+            return true;
+        }
+    }
+    
+    static final class ValueStorage extends ArrayStorage {
+        private SkValue[] values;
+        
+        ValueStorage(SkValue[] values, int size) {
+            super(size);
+            this.values = values;
+        }
+        
+        @Override
+        String getType() {
+            return "value[]";
+        }
+        
+        @Override
+        SkValue get(int index) {
+            return values[index];
+        }
+        
+        @Override
+        boolean set(int index, SkValue value) {
+            values[index] = value;
+            return true;
+        }
+        
+        @Override
+        boolean add(SkValue value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, grow(size));
+            }
+            values[size++] = value;
+            return true;
+        }
+    }
+}
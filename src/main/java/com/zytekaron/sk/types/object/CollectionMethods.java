@@ -0,0 +1,91 @@
+/*
+   Copyright 2020 Michael Thornes
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.zytekaron.sk.types.object;
+
+import com.zytekaron.sk.types.SkNull;
+import com.zytekaron.sk.types.SkValue;
+import com.zytekaron.sk.types.primitive.SkBool;
+import com.zytekaron.sk.types.primitive.SkInt;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The methods of maps and sets, implemented natively.
+ * <p>
+ * Methods which look a key up return null for a missing key, like reading a
+ * missing property of an object, so a map cannot tell a missing key from one
+ * whose value is null without calling has.
+ */
+public final class CollectionMethods {
+    private static final Map<String, Method<SkMap>> MAP_METHODS = new HashMap<>();
+    private static final Map<String, Method<SkSet>> SET_METHODS = new HashMap<>();
+    
+    static {
+        MAP_METHODS.put("get", (map, args) -> args.length == 1 ? orNull(map.get(args[0])) : null);
+        MAP_METHODS.put("put", (map, args) -> args.length == 2 ? orNull(map.put(args[0], args[1])) : null);
+        MAP_METHODS.put("has", (map, args) -> args.length == 1 ? SkBool.of(map.containsKey(args[0])) : null);
+        MAP_METHODS.put("remove", (map, args) -> args.length == 1 ? orNull(map.remove(args[0])) : null);
+        MAP_METHODS.put("size", (map, args) -> args.length == 0 ? SkInt.of(map.size()) : null);
+        MAP_METHODS.put("keys", (map, args) -> args.length == 0 ? new SkArray(map.keys()) : null);
+        MAP_METHODS.put("values", (map, args) -> args.length == 0 ? new SkArray(map.values()) : null);
+        
+        SET_METHODS.put("add", (set, args) -> args.length == 1 ? SkBool.of(set.add(args[0])) : null);
+        SET_METHODS.put("has", (set, args) -> args.length == 1 ? SkBool.of(set.contains(args[0])) : null);
+        SET_METHODS.put("remove", (set, args) -> args.length == 1 ? SkBool.of(set.remove(args[0])) : null);
+        SET_METHODS.put("size", (set, args) -> args.length == 0 ? SkInt.of(set.size()) : null);
+        SET_METHODS.put("values", (set, args) -> args.length == 0 ? new SkArray(set.values()) : null);
+    }
+    
+    @FunctionalInterface
+    public interface Method<T extends SkValue> {
+        /**
+         * Call the method
+         *
+         * @param receiver The map or set the method was called on
+         * @param args     The arguments
+         * @return The result, or null if the arguments are not supported
+         */
+        SkValue call(T receiver, SkValue[] args);
+    }
+    
+    private CollectionMethods() {
+    }
+    
+    /**
+     * Get a method of maps by name
+     *
+     * @param name The name of the method
+     * @return The method, or null if maps do not have it
+     */
+    public static Method<SkMap> ofMap(String name) {
+        return MAP_METHODS.get(name);
+    }
+    
+    /**
+     * Get a method of sets by name
+     *
+     * @param name The name of the method
+     * @return The method, or null if sets do not have it
+     */
+    public static Method<SkSet> ofSet(String name) {
+        return SET_METHODS.get(name);
+    }
+    
+    private static SkValue orNull(SkValue value) {
+        return value == null ? SkNull.NULL : value;
+    }
+}
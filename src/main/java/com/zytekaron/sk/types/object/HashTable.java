@@ -0,0 +1,241 @@
+/*
+   Copyright 2020 Michael Thornes
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.zytekaron.sk.types.object;
+
+import com.zytekaron.sk.types.SkValue;
+import com.zytekaron.sk.types.primitive.SkInt;
+
+import java.util.Arrays;
+
+/**
+ * The table behind SkMap and SkSet, keyed by any value by SkValue#equals.
+ * <p>
+ * Entries are kept in flat parallel arrays in the order they were added, so
+ * iterating them is a walk over the arrays. A separate power-of-two index
+ * holds each entry's number beside its key's hash, is searched by linear
+ * probing from a Fibonacci hash of the key, and is at most half full, so a
+ * probe only reads the entry arrays once the hash matches. Removing an entry
+ * leaves a gap, and gaps are dropped when the table next grows.
+ * <p>
+ * Int keys have a fast path which compares them without going through
+ * compareTo, and find(int) looks them up without boxing them.
+ */
+final class HashTable {
+    private static final long EMPTY = -1;
+    private static final int MIN_CAPACITY = 8;
+    
+    // the hash of each slot's key in the high half and its entry number in the low half, or EMPTY
+    private long[] index;
+    private int shift;
+    // entries, in the order they were added; a removed entry's key is null
+    private SkValue[] keys;
+    private SkValue[] values;
+    private final boolean hasValues;
+    private int entries = 0;
+    private int size = 0;
+    
+    HashTable(boolean hasValues) {
+        this.hasValues = hasValues;
+        allocate(MIN_CAPACITY);
+    }
+    
+    int size() {
+        return size;
+    }
+    
+    // The number of entries, including removed ones, for iterating with keyAt/valueAt
+    int entries() {
+        return entries;
+    }
+    
+    SkValue keyAt(int entry) {
+        return keys[entry];
+    }
+    
+    SkValue valueAt(int entry) {
+        return values[entry];
+    }
+    
+    /**
+     * Find the entry of a key
+     *
+     * @return The entry number, or -1 if the key is not in the table
+     */
+    int find(SkValue key) {
+        int hash = hashOf(key);
+        int mask = index.length - 1;
+        for (int slot = slotOf(hash); ; slot = (slot + 1) & mask) {
+            long item = index[slot];
+            if (item == EMPTY) {
+                return -1;
+            }
+            int entry = (int) item;
+            if ((int) (item >>> 32) == hash && matches(keys[entry], key)) {
+                return entry;
+            }
+        }
+    }
+    
+    int find(int key) {
+        int hash = Long.hashCode(key);
+        int mask = index.length - 1;
+        for (int slot = slotOf(hash); ; slot = (slot + 1) & mask) {
+            long item = index[slot];
+            if (item == EMPTY) {
+                return -1;
+            }
+            if ((int) (item >>> 32) == hash) {
+                int entry = (int) item;
+                SkValue stored = keys[entry];
+                if (stored instanceof SkInt
+                        ? ((SkInt) stored).getValue() == key
+                        : stored != null && stored.compareTo(SkInt.of(key)) == 0) {
+                    return entry;
+                }
+            }
+        }
+    }
+    
+    /**
+     * Add a key, or replace the value of a key already in the table
+     *
+     * @return The previous value, or null if the key was not in the table
+     */
+    SkValue put(SkValue key, SkValue value) {
+        int hash = hashOf(key);
+        int mask = index.length - 1;
+        int slot = slotOf(hash);
+        for (; ; slot = (slot + 1) & mask) {
+            long item = index[slot];
+            if (item == EMPTY) {
+                break;
+            }
+            int entry = (int) item;
+            if ((int) (item >>> 32) == hash && matches(keys[entry], key)) {
+                if (!hasValues) {
+                    return key;
+                }
+                SkValue previous = values[entry];
+                values[entry] = value;
+                return previous;
+            }
+        }
+        if (entries == keys.length) {
+            grow();
+            return put(key, value);
+        }
+        int entry = entries++;
+        index[slot] = itemOf(hash, entry);
+        keys[entry] = key;
+        if (hasValues) {
+            values[entry] = value;
+        }
+        size++;
+        return null;
+    }
+    
+    /**
+     * Remove a key
+     *
+     * @return The entry number the key had, or -1 if it was not in the table
+     */
+    int remove(SkValue key) {
+        int entry = find(key);
+        if (entry != -1) {
+            // the slot keeps pointing at the entry so that probing continues past it
+            keys[entry] = null;
+            if (hasValues) {
+                values[entry] = null;
+            }
+            size--;
+        }
+        return entry;
+    }
+    
+    private static int hashOf(SkValue key) {
+        if (key instanceof SkInt) {
+            return Long.hashCode(((SkInt) key).getValue());
+        }
+        return key.hash();
+    }
+    
+    private static boolean matches(SkValue stored, SkValue key) {
+        if (stored == key) {
+            return true;
+        }
+        if (stored == null) {
+            return false;
+        }
+        if (stored instanceof SkInt && key instanceof SkInt) {
+            return ((SkInt) stored).getValue() == ((SkInt) key).getValue();
+        }
+        return stored.compareTo(key) == 0;
+    }
+    
+    private static long itemOf(int hash, int entry) {
+        return (long) hash << 32 | entry;
+    }
+    
+    private int slotOf(int hash) {
+        return (hash * 0x9E3779B9) >>> shift;
+    }
+    
+    // Grow when at least half of the entries are in use, otherwise just drop the removed ones
+    private void grow() {
+        int capacity = size >= keys.length / 2 ? keys.length * 2 : keys.length;
+        long[] oldIndex = index;
+        SkValue[] oldKeys = keys;
+        SkValue[] oldValues = values;
+        int oldEntries = entries;
+        allocate(capacity);
+        
+        // the hashes are only kept in the index, so collect them by entry first
+        int[] hashes = new int[oldEntries];
+        for (long item : oldIndex) {
+            if (item != EMPTY) {
+                hashes[(int) item] = (int) (item >>> 32);
+            }
+        }
+        int mask = index.length - 1;
+        for (int i = 0; i < oldEntries; i++) {
+            if (oldKeys[i] == null) {
+                continue;
+            }
+            int hash = hashes[i];
+            int slot = slotOf(hash);
+            while (index[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            int entry = entries++;
+            index[slot] = itemOf(hash, entry);
+            keys[entry] = oldKeys[i];
+            if (hasValues) {
+                values[entry] = oldValues[i];
+            }
+        }
+    }
+    
+    private void allocate(int capacity) {
+        int slots = capacity * 2;
+        index = new long[slots];
+        Arrays.fill(index, EMPTY);
+        shift = Integer.numberOfLeadingZeros(slots - 1);
+        keys = new SkValue[capacity];
+        values = hasValues ? new SkValue[capacity] : null;
+        entries = 0;
+    }
+}
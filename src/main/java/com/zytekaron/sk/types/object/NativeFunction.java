@@ -0,0 +1,67 @@
+/*
+   Copyright 2020 Michael Thornes
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.zytekaron.sk.types.object;
+
+import com.zytekaron.sk.types.SkValue;
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A function implemented in Java, such as the constructors the host puts in
+ * the global variables (see Main#createGlobalVariables). It has no statements:
+ * every engine passes it the arguments of a call where they already are, and
+ * uses what it returns without creating a frame.
+ */
+@Getter
+public class NativeFunction extends SkFunction {
+    private final String name;
+    private final Body body;
+    
+    @FunctionalInterface
+    public interface Body {
+        /**
+         * Call the function
+         *
+         * @param args  An array holding the arguments
+         * @param from  The index of the first argument
+         * @param count The number of arguments, which the function accepts
+         * @return The result, or null if the arguments are not supported
+         */
+        SkValue call(SkValue[] args, int from, int count);
+    }
+    
+    /**
+     * @param name       The name of the function, for errors
+     * @param parameters The parameters, which only determine how many arguments a call may pass
+     * @param body       The implementation
+     */
+    public NativeFunction(String name, List<SkParameter> parameters, Body body) {
+        super(parameters, Collections.emptyList());
+        this.name = name;
+        this.body = body;
+    }
+    
+    public SkValue call(SkValue[] args, int from, int count) {
+        return body.call(args, from, count);
+    }
+    
+    @Override
+    public String toString() {
+        return "Native Function -> " + name;
+    }
+}
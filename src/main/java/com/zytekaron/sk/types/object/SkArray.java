@@ -2,22 +2,234 @@ package com.zytekaron.sk.types.object;
 
 import com.zytekaron.sk.types.SkObject;
 import com.zytekaron.sk.types.SkValue;
-import lombok.Getter;
+import com.zytekaron.sk.types.object.ArrayStorage.DoubleStorage;
+import com.zytekaron.sk.types.object.ArrayStorage.IntStorage;
+import com.zytekaron.sk.types.object.ArrayStorage.LongStorage;
+import com.zytekaron.sk.types.primitive.SkBigInt;
+import com.zytekaron.sk.types.primitive.SkDouble;
+import com.zytekaron.sk.types.primitive.SkInt;
+import com.zytekaron.sk.types.primitive.SkLong;
 
-import java.util.Arrays;
+import java.util.AbstractList;
 import java.util.List;
+import java.util.Objects;
 
-@Getter
 public class SkArray extends SkObject {
-    private final List<SkValue> elements;
+    private ArrayStorage storage;
     
     public SkArray(List<SkValue> elements) {
         super();
-        this.elements = elements;
+        this.storage = ArrayStorage.of(elements);
+    }
+    
+    public SkArray(int[] elements) {
+        super();
+        this.storage = new IntStorage(elements, elements.length);
+    }
+    
+    public SkArray(long[] elements) {
+        super();
+        this.storage = new LongStorage(elements, elements.length);
+    }
+    
+    public SkArray(double[] elements) {
+        super();
+        this.storage = new DoubleStorage(elements, elements.length);
+    }
+    
+    public int size() {
+        return storage.size();
+    }
+    
+    public SkValue get(int index) {
+        Objects.checkIndex(index, storage.size());
+        return storage.get(index);
+    }
+    
+    public void set(int index, SkValue value) {
+        Objects.checkIndex(index, storage.size());
+        if (!storage.set(index, value)) {
+            storage = storage.generalize(storage.size());
+            storage.set(index, value);
+        }
+    }
+    
+    public void add(SkValue value) {
+        if (storage.size() == 0) {
+            storage = ArrayStorage.empty(value, 10);
+        }
+        if (!storage.add(value)) {
+            storage = storage.generalize(storage.size() + 1);
+            storage.add(value);
+        }
+    }
+    
+    // Typed access, which only boxes when the elements are not already stored as that type.
+    // Elements of a narrower number type are widened, and any other element is a type error
+    
+    public boolean storesInts() {
+        return storage instanceof IntStorage;
+    }
+    
+    public boolean storesLongs() {
+        return storage instanceof LongStorage;
+    }
+    
+    public boolean storesDoubles() {
+        return storage instanceof DoubleStorage;
+    }
+    
+    public int getInt(int index) {
+        Objects.checkIndex(index, storage.size());
+        if (storage instanceof IntStorage) {
+            return ((IntStorage) storage).getInt(index);
+        }
+        SkValue element = storage.get(index);
+        if (element instanceof SkInt) {
+            return ((SkInt) element).getValue();
+        }
+        throw typeError(index, element, "Int");
+    }
+    
+    public long getLong(int index) {
+        Objects.checkIndex(index, storage.size());
+        if (storage instanceof LongStorage) {
+            return ((LongStorage) storage).getLong(index);
+        }
+        SkValue element = storage.get(index);
+        if (element instanceof SkLong) {
+            return ((SkLong) element).getValue();
+        } else if (element instanceof SkInt) {
+            return ((SkInt) element).getValue();
+        }
+        throw typeError(index, element, "Long");
+    }
+    
+    public double getDouble(int index) {
+        Objects.checkIndex(index, storage.size());
+        if (storage instanceof DoubleStorage) {
+            return ((DoubleStorage) storage).getDouble(index);
+        }
+        SkValue element = storage.get(index);
+        if (element instanceof SkDouble) {
+            return ((SkDouble) element).getValue();
+        } else if (element instanceof SkInt) {
+            return ((SkInt) element).getValue();
+        } else if (element instanceof SkLong) {
+            return ((SkLong) element).getValue();
+        } else if (element instanceof SkBigInt) {
+            return ((SkBigInt) element).getValue().doubleValue();
+        }
+        throw typeError(index, element, "Double");
+    }
+    
+    public void setInt(int index, int value) {
+        if (storage instanceof IntStorage) {
+            Objects.checkIndex(index, storage.size());
+            ((IntStorage) storage).setInt(index, value);
+        } else {
+            set(index, SkInt.of(value));
+        }
+    }
+    
+    public void setLong(int index, long value) {
+        if (storage instanceof LongStorage) {
+            Objects.checkIndex(index, storage.size());
+            ((LongStorage) storage).setLong(index, value);
+        } else {
+            set(index, new SkLong(value));
+        }
+    }
+    
+    public void setDouble(int index, double value) {
+        if (storage instanceof DoubleStorage) {
+            Objects.checkIndex(index, storage.size());
+            ((DoubleStorage) storage).setDouble(index, value);
+        } else {
+            set(index, new SkDouble(value));
+        }
+    }
+    
+    private static IllegalArgumentException typeError(int index, SkValue element, String type) {
+        return new IllegalArgumentException("Element " + index + " is " + element.getType() + ", not " + type);
+    }
+    
+    /**
+     * Get the kind of storage the elements are in
+     *
+     * @return "int[]", "long[]", "double[]" or "value[]"
+     */
+    public String getStorageType() {
+        return storage.getType();
+    }
+    
+    /**
+     * Get the elements as a list, which reads and writes through to this array
+     * and boxes primitive elements as they are read
+     *
+     * @return The elements
+     */
+    public List<SkValue> getElements() {
+        return new AbstractList<>() {
+            @Override
+            public SkValue get(int index) {
+                return SkArray.this.get(index);
+            }
+    
+            @Override
+            public SkValue set(int index, SkValue element) {
+                SkValue previous = SkArray.this.get(index);
+                SkArray.this.set(index, element);
+                return previous;
+            }
+    
+            @Override
+            public void add(int index, SkValue element) {
+                if (index != size()) {
+                    throw new UnsupportedOperationException("Elements can only be added to the end of an array");
+                }
+                SkArray.this.add(element);
+            }
+    
+            @Override
+            public int size() {
+                return SkArray.this.size();
+            }
+        };
+    }
+    
+    @Override
+    protected int kind() {
+        return KIND_ARRAY;
+    }
+    
+    /**
+     * Arrays are ordered by their elements, then by length
+     */
+    @Override
+    protected int compare(SkValue other) {
+        SkArray array = (SkArray) other;
+        int size = Math.min(size(), array.size());
+        for (int i = 0; i < size; i++) {
+            int order = storage.get(i).compareTo(array.storage.get(i));
+            if (order != 0) {
+                return order;
+            }
+        }
+        return Integer.compare(size(), array.size());
+    }
+    
+    @Override
+    public int hash() {
+        int hash = 1;
+        for (int i = 0; i < size(); i++) {
+            hash = 31 * hash + storage.get(i).hash();
+        }
+        return hash;
     }
     
     @Override
     public String toString() {
-        return Arrays.toString(elements.toArray());
+        return getElements().toString();
     }
-}
\ No newline at end of file
+}
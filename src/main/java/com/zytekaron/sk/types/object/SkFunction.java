@@ -17,24 +17,127 @@
 package com.zytekaron.sk.types.object;
 
 import com.zytekaron.sk.parse.nodes.Node;
+import com.zytekaron.sk.struct.FrameLayout;
+import com.zytekaron.sk.struct.MemoCache;
+import com.zytekaron.sk.struct.VariableTable;
+import com.zytekaron.sk.types.IdentityValue;
 import com.zytekaron.sk.types.SkObject;
+import com.zytekaron.sk.types.SkValue;
+import lombok.AccessLevel;
 import lombok.Getter;
+import lombok.Setter;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
 @Getter
-public class SkFunction extends SkObject {
+public class SkFunction extends SkObject implements IdentityValue {
     private final List<SkParameter> parameters;
     private final List<Node> statements;
     private final boolean lambda;
+    // Parameters are laid out as required, then defaulted, then at most one
+    // spread (see FunctionDefineHandler#validateParameters), so the number of
+    // arguments a call may pass is known once the function is defined
+    private final int minArity;
+    private final int maxArity;
+    // results of earlier calls, if the function is pure and memoization is enabled
+    @Setter
+    private MemoCache memo;
+    // the slots of the body's variables, and the table the function was defined in
+    @Setter
+    private FrameLayout layout;
+    @Setter
+    private VariableTable closure;
+    // orders this value among values compared by identity
+    @Getter(AccessLevel.NONE)
+    private final long sequence = nextSequence();
     
     public SkFunction(List<SkParameter> parameters, List<Node> statements, boolean lambda) {
         super();
         this.parameters = parameters;
         this.statements = statements;
         this.lambda = lambda;
+        
+        int min = 0;
+        boolean spread = false;
+        for (SkParameter param : parameters) {
+            if (param.getDefaultValue() == null && !param.isSpread()) {
+                min++;
+            }
+            spread |= param.isSpread();
+        }
+        this.minArity = min;
+        this.maxArity = spread ? Integer.MAX_VALUE : parameters.size();
+    }
+    
+    @Override
+    protected int kind() {
+        return KIND_IDENTITY;
+    }
+    
+    @Override
+    protected int compare(SkValue other) {
+        return compareIdentity(this, other);
+    }
+    
+    @Override
+    public long sequence() {
+        return sequence;
+    }
+    
+    @Override
+    public int hash() {
+        return System.identityHashCode(this);
+    }
+    
+    /**
+     * Check whether a call may pass a number of arguments
+     *
+     * @param count The number of arguments
+     * @return Whether the count is within this function's arity
+     */
+    public boolean accepts(int count) {
+        return count >= minArity && count <= maxArity;
+    }
+    
+    /**
+     * Create the frame for a call to this function, with its parameters bound
+     *
+     * @param caller    The table of the caller, which is the parent of the frame if there is no closure
+     * @param arguments An array holding the arguments
+     * @param from      The index of the first argument
+     * @param count     The number of arguments, which this function must accept
+     * @return The frame
+     */
+    public VariableTable activate(VariableTable caller, SkValue[] arguments, int from, int count) {
+        VariableTable parent = closure == null ? caller : closure;
+        VariableTable frame = layout == null ? new VariableTable(parent) : layout.acquire(parent);
+        for (int i = 0; i < parameters.size(); i++) {
+            SkParameter param = parameters.get(i);
+            SkValue value;
+            if (param.isSpread()) {
+                value = new SkArray(new ArrayList<>(Arrays.asList(arguments).subList(from + i, from + count)));
+            } else if (i < count) {
+                value = arguments[from + i];
+            } else {
+                value = param.getDefaultValue();
+            }
+            frame.bind(i, param.getName(), value);
+        }
+        return frame;
+    }
+    
+    /**
+     * Give back the frame of a call to this function once the call has ended
+     *
+     * @param frame The frame
+     */
+    public void release(VariableTable frame) {
+        if (layout != null) {
+            layout.release(frame);
+        }
     }
     
     public SkFunction(List<SkParameter> parameters, List<Node> statements) {
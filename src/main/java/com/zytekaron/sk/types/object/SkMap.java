@@ -0,0 +1,203 @@
+/*
+   Copyright 2020 Michael Thornes
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.zytekaron.sk.types.object;
+
+import com.zytekaron.sk.types.SkValue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.function.BiConsumer;
+
+/**
+ * A map from any values to values, which keeps its keys in the order they were
+ * added (see HashTable). Keys are matched by SkValue#equals, so 1 and 1.0 are
+ * the same key, and an array or object used as a key must not be changed.
+ * <p>
+ * Scripts create maps with the Map() constructor in the global variables, and
+ * use them through their methods (see CollectionMethods) or by indexing them.
+ */
+public class SkMap extends SkValue {
+    // Map(), which creates an empty map
+    public static final NativeFunction CONSTRUCTOR = new NativeFunction("Map", Collections.emptyList(), (args, from, count) -> new SkMap());
+    
+    private final HashTable table = new HashTable(true);
+    
+    public int size() {
+        return table.size();
+    }
+    
+    /**
+     * Get the value of a key
+     *
+     * @param key The key
+     * @return The value, or null if the key is not in this map
+     */
+    public SkValue get(SkValue key) {
+        int entry = table.find(key);
+        return entry == -1 ? null : table.valueAt(entry);
+    }
+    
+    /**
+     * Get the value of an Int key, without boxing it
+     */
+    public SkValue get(int key) {
+        int entry = table.find(key);
+        return entry == -1 ? null : table.valueAt(entry);
+    }
+    
+    public boolean containsKey(SkValue key) {
+        return table.find(key) != -1;
+    }
+    
+    /**
+     * Set the value of a key
+     *
+     * @return The previous value, or null if the key was not in this map
+     */
+    public SkValue put(SkValue key, SkValue value) {
+        return table.put(key, value);
+    }
+    
+    /**
+     * Remove a key
+     *
+     * @return The value it had, or null if the key was not in this map
+     */
+    public SkValue remove(SkValue key) {
+        int entry = table.find(key);
+        if (entry == -1) {
+            return null;
+        }
+        SkValue value = table.valueAt(entry);
+        table.remove(key);
+        return value;
+    }
+    
+    /**
+     * Call an action for each key and value, in the order the keys were added
+     */
+    public void forEach(BiConsumer<SkValue, SkValue> action) {
+        for (int i = 0; i < table.entries(); i++) {
+            SkValue key = table.keyAt(i);
+            if (key != null) {
+                action.accept(key, table.valueAt(i));
+            }
+        }
+    }
+    
+    public List<SkValue> keys() {
+        List<SkValue> keys = new ArrayList<>(size());
+        forEach((key, value) -> keys.add(key));
+        return keys;
+    }
+    
+    public List<SkValue> values() {
+        List<SkValue> values = new ArrayList<>(size());
+        forEach((key, value) -> values.add(value));
+        return values;
+    }
+    
+    /**
+     * Call a method of this map (see CollectionMethods)
+     *
+     * @param name The name of the method
+     * @param args The arguments
+     * @return The result, or null if maps have no such method or it does not support the arguments
+     */
+    public SkValue invoke(String name, SkValue... args) {
+        CollectionMethods.Method<SkMap> method = CollectionMethods.ofMap(name);
+        return method == null ? null : method.call(this, args);
+    }
+    
+    @Override
+    public String getType() {
+        return "Map";
+    }
+    
+    @Override
+    protected int kind() {
+        return KIND_MAP;
+    }
+    
+    /**
+     * Maps are ordered by size, then by their entries in order of key
+     */
+    @Override
+    protected int compare(SkValue other) {
+        SkMap map = (SkMap) other;
+        if (size() != map.size()) {
+            return Integer.compare(size(), map.size());
+        }
+        if (sameEntries(map)) {
+            return 0;
+        }
+        List<SkValue> keys = keys();
+        List<SkValue> otherKeys = map.keys();
+        keys.sort(null);
+        otherKeys.sort(null);
+        for (int i = 0; i < keys.size(); i++) {
+            int order = keys.get(i).compareTo(otherKeys.get(i));
+            if (order == 0) {
+                order = get(keys.get(i)).compareTo(map.get(otherKeys.get(i)));
+            }
+            if (order != 0) {
+                return order;
+            }
+        }
+        return 0;
+    }
+    
+    private boolean sameEntries(SkMap map) {
+        for (int i = 0; i < table.entries(); i++) {
+            SkValue key = table.keyAt(i);
+            if (key != null) {
+                SkValue value = map.get(key);
+                if (value == null || value.compareTo(table.valueAt(i)) != 0) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+    
+    // The sum of each entry's hash, so that the order keys were added in does not matter
+    @Override
+    public int hash() {
+        int hash = 0;
+        for (int i = 0; i < table.entries(); i++) {
+            SkValue key = table.keyAt(i);
+            if (key != null) {
+                hash += key.hash() ^ table.valueAt(i).hash();
+            }
+        }
+        return hash;
+    }
+    
+    @Override
+    public <T> T into(Class<T> clazz) {
+        return null;
+    }
+    
+    @Override
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(", ", "{", "}");
+        forEach((key, value) -> joiner.add(key + ": " + value));
+        return joiner.toString();
+    }
+}
@@ -0,0 +1,189 @@
+/*
+   Copyright 2020 Michael Thornes
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.zytekaron.sk.types.object;
+
+import com.zytekaron.sk.types.SkNull;
+import com.zytekaron.sk.types.SkValue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.function.Consumer;
+
+/**
+ * A set of any values, which keeps them in the order they were added (see
+ * HashTable). Values are matched by SkValue#equals, so 1 and 1.0 are the same
+ * element, and an array or object in a set must not be changed.
+ * <p>
+ * Scripts create sets with the Set() constructor in the global variables, and
+ * use them through their methods (see CollectionMethods).
+ */
+public class SkSet extends SkValue {
+    // Set(), or Set(array) which adds the elements of the array
+    public static final NativeFunction CONSTRUCTOR = new NativeFunction("Set",
+            Collections.singletonList(new SkParameter("values", false, SkNull.NULL)), SkSet::construct);
+    
+    private final HashTable table = new HashTable(false);
+    
+    public int size() {
+        return table.size();
+    }
+    
+    public boolean contains(SkValue value) {
+        return table.find(value) != -1;
+    }
+    
+    /**
+     * Check for an Int, without boxing it
+     */
+    public boolean contains(int value) {
+        return table.find(value) != -1;
+    }
+    
+    /**
+     * Add a value
+     *
+     * @return Whether the value was added, rather than already in this set
+     */
+    public boolean add(SkValue value) {
+        return table.put(value, null) == null;
+    }
+    
+    /**
+     * Remove a value
+     *
+     * @return Whether the value was in this set
+     */
+    public boolean remove(SkValue value) {
+        return table.remove(value) != -1;
+    }
+    
+    /**
+     * Call an action for each value, in the order they were added
+     */
+    public void forEach(Consumer<SkValue> action) {
+        for (int i = 0; i < table.entries(); i++) {
+            SkValue value = table.keyAt(i);
+            if (value != null) {
+                action.accept(value);
+            }
+        }
+    }
+    
+    public List<SkValue> values() {
+        List<SkValue> values = new ArrayList<>(size());
+        forEach(values::add);
+        return values;
+    }
+    
+    /**
+     * Call a method of this set (see CollectionMethods)
+     *
+     * @param name The name of the method
+     * @param args The arguments
+     * @return The result, or null if sets have no such method or it does not support the arguments
+     */
+    public SkValue invoke(String name, SkValue... args) {
+        CollectionMethods.Method<SkSet> method = CollectionMethods.ofSet(name);
+        return method == null ? null : method.call(this, args);
+    }
+    
+    private static SkValue construct(SkValue[] args, int from, int count) {
+        SkSet set = new SkSet();
+        if (count == 0) {
+            return set;
+        }
+        if (!(args[from] instanceof SkArray)) {
+            return null;
+        }
+        SkArray array = (SkArray) args[from];
+        for (int i = 0; i < array.size(); i++) {
+            set.add(array.get(i));
+        }
+        return set;
+    }
+    
+    @Override
+    public String getType() {
+        return "Set";
+    }
+    
+    @Override
+    protected int kind() {
+        return KIND_SET;
+    }
+    
+    /**
+     * Sets are ordered by size, then by their values in order
+     */
+    @Override
+    protected int compare(SkValue other) {
+        SkSet set = (SkSet) other;
+        if (size() != set.size()) {
+            return Integer.compare(size(), set.size());
+        }
+        if (containsAll(set)) {
+            return 0;
+        }
+        List<SkValue> values = values();
+        List<SkValue> otherValues = set.values();
+        values.sort(null);
+        otherValues.sort(null);
+        for (int i = 0; i < values.size(); i++) {
+            int order = values.get(i).compareTo(otherValues.get(i));
+            if (order != 0) {
+                return order;
+            }
+        }
+        return 0;
+    }
+    
+    private boolean containsAll(SkSet set) {
+        for (int i = 0; i < set.table.entries(); i++) {
+            SkValue value = set.table.keyAt(i);
+            if (value != null && !contains(value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    @Override
+    public int hash() {
+        int hash = 0;
+        for (int i = 0; i < table.entries(); i++) {
+            SkValue value = table.keyAt(i);
+            if (value != null) {
+                hash += value.hash();
+            }
+        }
+        return hash;
+    }
+    
+    @Override
+    public <T> T into(Class<T> clazz) {
+        return null;
+    }
+    
+    @Override
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(", ", "{", "}");
+        forEach(value -> joiner.add(value.toString()));
+        return joiner.toString();
+    }
+}
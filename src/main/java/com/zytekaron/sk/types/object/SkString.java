@@ -22,15 +22,191 @@ import com.zytekaron.sk.types.SkValue;
 import com.zytekaron.sk.types.primitive.SkBool;
 import com.zytekaron.sk.types.primitive.SkDouble;
 import com.zytekaron.sk.types.primitive.SkInt;
-import lombok.Getter;
 
-@Getter
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A string value.
+ * <p>
+ * Concatenating strings longer than -Dsk.string.flat.length characters
+ * makes a rope, which refers to both sides instead of copying them, so that
+ * building a string piece by piece copies each piece a bounded number of
+ * times. The rope is flattened into a single String when its characters
+ * are first needed, and its sides are released.
+ * <p>
+ * Appending to a rope adds the new piece beside the largest balanced subtree
+ * on its right edge, so a rope built by appending stays logarithmically
+ * deep. Ropes built any other way are rebalanced if they grow deeper
+ * than MAX_DEPTH.
+ * <p>
+ * A string may also be a view of part of another string's characters, as
+ * made by slicing, trimming and splitting (see StringMethods), which shares
+ * them rather than copying them until its own String is asked for.
+ */
 public class SkString extends SkObject {
-    private final String value;
+    private static final int FLAT_LENGTH = Integer.getInteger("sk.string.flat.length", 64);
+    private static final int MAX_DEPTH = 64;
+    
+    // null while this is a rope that has not been flattened; a view's
+    // characters are value[offset, offset + length)
+    private String value;
+    private int offset;
+    private SkString left;
+    private SkString right;
+    private final int length;
+    private final int depth;
+    // the same as String#hashCode of the value, or 0 if it has not been computed
+    private int hash;
     
     public SkString(String value) {
+        this(value, 0, value.length());
+    }
+    
+    private SkString(String value, int offset, int length) {
         super();
         this.value = value;
+        this.offset = offset;
+        this.length = length;
+        this.depth = 0;
+    }
+    
+    private SkString(SkString left, SkString right) {
+        super();
+        this.left = left;
+        this.right = right;
+        this.length = left.length + right.length;
+        this.depth = Math.max(left.depth, right.depth) + 1;
+    }
+    
+    /**
+     * Concatenate two strings
+     *
+     * @param left  The start of the result
+     * @param right The end of the result
+     * @return The result
+     */
+    public static SkString concat(SkString left, SkString right) {
+        if (left.length == 0) {
+            return right;
+        } else if (right.length == 0) {
+            return left;
+        } else if (left.length + right.length <= FLAT_LENGTH) {
+            return new SkString(left.getValue() + right.getValue());
+        }
+        // Extend a short piece at the end of the rope instead of adding a new one
+        if (left.value == null && left.right.value != null && left.right.length + right.length <= FLAT_LENGTH) {
+            return new SkString(left.left, new SkString(left.right.getValue() + right.getValue()));
+        }
+        SkString result = append(left, right);
+        return result.depth > MAX_DEPTH ? result.rebalance() : result;
+    }
+    
+    // Descend the right edge while it is shallower than the balanced subtree
+    // beside it, like a carry in a binary counter
+    private static SkString append(SkString rope, SkString piece) {
+        if (rope.value == null && rope.left.depth > rope.right.depth && rope.right.depth >= piece.depth) {
+            return new SkString(rope.left, append(rope.right, piece));
+        }
+        return new SkString(rope, piece);
+    }
+    
+    private SkString rebalance() {
+        List<SkString> leaves = new ArrayList<>();
+        collect(leaves);
+        return build(leaves, 0, leaves.size());
+    }
+    
+    private void collect(List<SkString> leaves) {
+        if (value != null) {
+            leaves.add(this);
+        } else {
+            left.collect(leaves);
+            right.collect(leaves);
+        }
+    }
+    
+    private static SkString build(List<SkString> leaves, int from, int to) {
+        if (to - from == 1) {
+            return leaves.get(from);
+        }
+        int middle = (from + to) >>> 1;
+        return new SkString(build(leaves, from, middle), build(leaves, middle, to));
+    }
+    
+    /**
+     * Get the characters of this string, flattening it if it is a rope,
+     * and copying them out of the string it is a view of if it is a view
+     *
+     * @return The value
+     */
+    public String getValue() {
+        String value = flatten();
+        if (offset != 0 || length != value.length()) {
+            value = value.substring(offset, offset + length);
+            this.value = value;
+            offset = 0;
+        }
+        return value;
+    }
+    
+    /**
+     * Make a view of some of the characters of this string
+     *
+     * @param from The index of the first character
+     * @param to   The index after the last character
+     * @return The view, which shares this string's characters
+     */
+    public SkString view(int from, int to) {
+        if (from == 0 && to == length) {
+            return this;
+        }
+        return new SkString(flatten(), offset + from, to - from);
+    }
+    
+    /**
+     * Get a character of this string, flattening it if it is a rope
+     *
+     * @param index The index of the character
+     * @return The character
+     */
+    public char charAt(int index) {
+        return flatten().charAt(offset + index);
+    }
+    
+    // Flatten a rope, leaving a view as it is
+    String flatten() {
+        if (value == null) {
+            StringBuilder builder = new StringBuilder(length);
+            appendTo(builder);
+            value = builder.toString();
+            left = null;
+            right = null;
+        }
+        return value;
+    }
+    
+    // The offset of this string's characters in flatten()
+    int offset() {
+        return offset;
+    }
+    
+    private void appendTo(StringBuilder builder) {
+        if (value != null) {
+            builder.append(value, offset, offset + length);
+        } else {
+            left.appendTo(builder);
+            right.appendTo(builder);
+        }
+    }
+    
+    /**
+     * Get the number of characters in this string, without flattening it
+     *
+     * @return The length
+     */
+    public int length() {
+        return length;
     }
     
     @Override
@@ -39,48 +215,96 @@ public class SkString extends SkObject {
         if (SkString.class.equals(clazz)) {
             return (T) this;
         } else if (SkInt.class.equals(clazz)) {
-            return (T) TypeConverter.stringToInt(value); // todo implement
+            return (T) TypeConverter.stringToInt(getValue()); // todo implement
         } else if (SkDouble.class.equals(clazz)) {
-            return (T) TypeConverter.stringToFloat(value); // todo implement
+            return (T) TypeConverter.stringToFloat(getValue()); // todo implement
         } else if (SkBool.class.equals(clazz)) {
-            return (T) SkBool.fromString(value);
+            return (T) SkBool.fromString(getValue());
         }
         throw new RuntimeException("Class conversion not defined for type " + clazz.getSimpleName());
     }
     
+    @Override
+    protected int kind() {
+        return KIND_STRING;
+    }
+    
+    /**
+     * Strings are ordered by their characters, like String#compareTo
+     */
     @Override
     protected int compare(SkValue other) {
-        return 0;
+        SkString string = (SkString) other;
+        String value = flatten();
+        String otherValue = string.flatten();
+        int size = Math.min(length, string.length);
+        for (int i = 0; i < size; i++) {
+            char c = value.charAt(offset + i);
+            char d = otherValue.charAt(string.offset + i);
+            if (c != d) {
+                return c - d;
+            }
+        }
+        return length - string.length;
+    }
+    
+    // Computed without copying a view, and kept, as a string's characters never change
+    @Override
+    public int hash() {
+        int hash = this.hash;
+        if (hash == 0 && length != 0) {
+            String value = flatten();
+            for (int i = 0; i < length; i++) {
+                hash = 31 * hash + value.charAt(offset + i);
+            }
+            this.hash = hash;
+        }
+        return hash;
+    }
+    
+    /**
+     * Call a method of this string (see StringMethods)
+     *
+     * @param name The name of the method
+     * @param args The arguments
+     * @return The result, or null if strings have no such method or it does not support the arguments
+     */
+    public SkValue invoke(String name, SkValue... args) {
+        StringMethods.StringMethod method = StringMethods.get(name);
+        return method == null ? null : method.call(this, args);
     }
     
     public SkString add(SkValue other) {
-        return new SkString(value + other.toString());
+        if (other instanceof SkString) {
+            return concat(this, (SkString) other);
+        }
+        return concat(this, new SkString(other.toString()));
     }
     
     public SkString multiply(SkValue input) {
         if (input instanceof SkInt) {
             int amount = ((SkInt) input).getValue();
-            String result = value.repeat(amount);
+            String result = getValue().repeat(amount);
             return new SkString(result);
         }
         if (input instanceof SkDouble) {
             double amount = ((SkDouble) input).getValue();
-            String result = value.repeat((int) amount);
+            String result = getValue().repeat((int) amount);
             return new SkString(result);
         }
         return null;
     }
     
     public SkString add(String other) {
-        return new SkString(value + other);
+        return concat(this, new SkString(other));
     }
     
     public SkString multiply(int amount) {
-        return new SkString(value.repeat(amount));
+        return new SkString(getValue().repeat(amount));
     }
     
     @Override
     public String toString() {
-        return value;
+        return getValue();
     }
 }
\ No newline at end of file
@@ -0,0 +1,238 @@
+/*
+   Copyright 2020 Michael Thornes
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.zytekaron.sk.types.object;
+
+import com.zytekaron.sk.types.SkNull;
+import com.zytekaron.sk.types.SkValue;
+import com.zytekaron.sk.types.primitive.SkBool;
+import com.zytekaron.sk.types.primitive.SkChar;
+import com.zytekaron.sk.types.primitive.SkInt;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * The methods of strings, implemented natively.
+ * <p>
+ * Methods which return part of a string return a view of it rather than a
+ * copy (see SkString#view), and the parts of a split can be produced one at
+ * a time with {@link #split(SkString, SkString)}.
+ */
+public final class StringMethods {
+    private static final Map<String, StringMethod> METHODS = new HashMap<>();
+    
+    static {
+        METHODS.put("length", (string, args) -> SkInt.of(string.length()));
+        METHODS.put("charAt", StringMethods::charAt);
+        METHODS.put("indexOf", StringMethods::indexOf);
+        METHODS.put("includes", (string, args) -> {
+            SkValue index = indexOf(string, args);
+            return index == null ? null : SkBool.of(((SkInt) index).getValue() != -1);
+        });
+        METHODS.put("startsWith", StringMethods::startsWith);
+        METHODS.put("endsWith", StringMethods::endsWith);
+        METHODS.put("slice", StringMethods::slice);
+        METHODS.put("trim", StringMethods::trim);
+        METHODS.put("split", StringMethods::split);
+        METHODS.put("lower", (string, args) -> convertCase(string, false));
+        METHODS.put("upper", (string, args) -> convertCase(string, true));
+    }
+    
+    @FunctionalInterface
+    public interface StringMethod {
+        /**
+         * Call the method
+         *
+         * @param string The string the method was called on
+         * @param args   The arguments
+         * @return The result, or null if the arguments are not supported
+         */
+        SkValue call(SkString string, SkValue[] args);
+    }
+    
+    private StringMethods() {
+    }
+    
+    /**
+     * Get a method by name
+     *
+     * @param name The name of the method
+     * @return The method, or null if strings do not have it
+     */
+    public static StringMethod get(String name) {
+        return METHODS.get(name);
+    }
+    
+    /**
+     * Split a string around each occurrence of a separator, or into its
+     * characters if the separator is empty, making each part as it is needed
+     *
+     * @param string    The string to split
+     * @param separator The separator
+     * @return The parts, as views of the string
+     */
+    public static Iterator<SkString> split(SkString string, SkString separator) {
+        String base = string.flatten();
+        int start = string.offset();
+        int end = start + string.length();
+        String target = separator.getValue();
+        return new Iterator<>() {
+            private int from = start;
+            private boolean done = target.isEmpty() && start == end;
+            
+            @Override
+            public boolean hasNext() {
+                return !done;
+            }
+            
+            @Override
+            public SkString next() {
+                if (done) {
+                    throw new NoSuchElementException();
+                }
+                int to;
+                if (target.isEmpty()) {
+                    to = from + 1;
+                    done = to == end;
+                } else {
+                    to = base.indexOf(target, from);
+                    if (to == -1 || to + target.length() > end) {
+                        to = end;
+                        done = true;
+                    }
+                }
+                SkString part = string.view(from - start, to - start);
+                from = to + target.length();
+                return part;
+            }
+        };
+    }
+    
+    private static SkValue charAt(SkString string, SkValue[] args) {
+        if (!isInt(args, 0)) {
+            return null;
+        }
+        int index = ((SkInt) args[0]).getValue();
+        return index >= 0 && index < string.length() ? SkChar.of(string.charAt(index)) : SkNull.NULL;
+    }
+    
+    private static SkValue indexOf(SkString string, SkValue[] args) {
+        if (!isString(args, 0) || args.length > 1 && !isInt(args, 1)) {
+            return null;
+        }
+        String base = string.flatten();
+        int start = string.offset();
+        int end = start + string.length();
+        String target = ((SkString) args[0]).getValue();
+        int from = args.length > 1 ? clamp(((SkInt) args[1]).getValue(), string.length()) : 0;
+        
+        int index = base.indexOf(target, start + from);
+        return SkInt.of(index == -1 || index + target.length() > end ? -1 : index - start);
+    }
+    
+    private static SkValue startsWith(SkString string, SkValue[] args) {
+        if (!isString(args, 0) || args.length > 1 && !isInt(args, 1)) {
+            return null;
+        }
+        int position = args.length > 1 ? clamp(((SkInt) args[1]).getValue(), string.length()) : 0;
+        return SkBool.of(regionMatches(string, position, (SkString) args[0]));
+    }
+    
+    private static SkValue endsWith(SkString string, SkValue[] args) {
+        if (!isString(args, 0)) {
+            return null;
+        }
+        SkString suffix = (SkString) args[0];
+        return SkBool.of(regionMatches(string, string.length() - suffix.length(), suffix));
+    }
+    
+    private static SkValue slice(SkString string, SkValue[] args) {
+        if (args.length > 0 && !isInt(args, 0) || args.length > 1 && !isInt(args, 1)) {
+            return null;
+        }
+        int length = string.length();
+        int from = args.length > 0 ? index(((SkInt) args[0]).getValue(), length) : 0;
+        int to = args.length > 1 ? index(((SkInt) args[1]).getValue(), length) : length;
+        return string.view(from, Math.max(from, to));
+    }
+    
+    private static SkValue trim(SkString string, SkValue[] args) {
+        int from = 0;
+        int to = string.length();
+        while (from < to && string.charAt(from) <= ' ') {
+            from++;
+        }
+        while (to > from && string.charAt(to - 1) <= ' ') {
+            to--;
+        }
+        return string.view(from, to);
+    }
+    
+    private static SkValue split(SkString string, SkValue[] args) {
+        if (!isString(args, 0) || args.length > 1 && !isInt(args, 1)) {
+            return null;
+        }
+        int limit = args.length > 1 ? ((SkInt) args[1]).getValue() : Integer.MAX_VALUE;
+        List<SkValue> parts = new ArrayList<>();
+        Iterator<SkString> iterator = split(string, (SkString) args[0]);
+        while (parts.size() < limit && iterator.hasNext()) {
+            parts.add(iterator.next());
+        }
+        return new SkArray(parts);
+    }
+    
+    // The same string if no character changes, so that already lowercase input is not copied
+    private static SkValue convertCase(SkString string, boolean upper) {
+        for (int i = 0; i < string.length(); i++) {
+            char c = string.charAt(i);
+            if (c != (upper ? Character.toUpperCase(c) : Character.toLowerCase(c))) {
+                String value = string.getValue();
+                return new SkString(upper ? value.toUpperCase(Locale.ROOT) : value.toLowerCase(Locale.ROOT));
+            }
+        }
+        return string;
+    }
+    
+    private static boolean regionMatches(SkString string, int position, SkString other) {
+        if (position < 0 || position + other.length() > string.length()) {
+            return false;
+        }
+        return string.flatten().regionMatches(string.offset() + position, other.flatten(), other.offset(), other.length());
+    }
+    
+    // Negative indices count back from the end
+    private static int index(int index, int length) {
+        return clamp(index < 0 ? index + length : index, length);
+    }
+    
+    private static int clamp(int index, int length) {
+        return Math.max(0, Math.min(index, length));
+    }
+    
+    private static boolean isString(SkValue[] args, int index) {
+        return index < args.length && args[index] instanceof SkString;
+    }
+    
+    private static boolean isInt(SkValue[] args, int index) {
+        return index < args.length && args[index] instanceof SkInt;
+    }
+}
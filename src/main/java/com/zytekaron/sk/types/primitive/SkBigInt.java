@@ -0,0 +1,78 @@
+/*
+   Copyright 2020 Michael Thornes
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.zytekaron.sk.types.primitive;
+
+import com.zytekaron.sk.types.SkNumber;
+import com.zytekaron.sk.types.SkValue;
+import lombok.Getter;
+
+import java.math.BigInteger;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * An integer too large for a Long, made when Int or Long arithmetic overflows
+ * <p>
+ * BigInts are only made through {@link #of(BigInteger)}, which gives a Long instead
+ * when the value fits in one, so arithmetic on BigInts narrows its result back
+ */
+@Getter
+public final class SkBigInt extends SkNumber {
+    private static final Map<Class<? extends SkValue>, Function<SkBigInt, SkValue>> CONVERTERS = Map.of(
+            SkInt.class, value -> SkInt.of(value.value.intValue()),
+            SkLong.class, value -> new SkLong(value.value.longValue()),
+            SkBigInt.class, value -> value,
+            SkDouble.class, value -> new SkDouble(value.value.doubleValue()),
+            SkBool.class, value -> SkBool.of(value.value.signum() != 0),
+            SkChar.class, value -> SkChar.of((char) value.value.intValue())
+    );
+    private final BigInteger value;
+    
+    private SkBigInt(BigInteger value) {
+        this.value = value;
+    }
+    
+    /**
+     * Get a value as the narrowest of Long or BigInt that can hold it
+     *
+     * @param value The value
+     * @return An SkLong if the value fits in a long, otherwise an SkBigInt
+     */
+    public static SkNumber of(BigInteger value) {
+        return value.bitLength() < Long.SIZE ? new SkLong(value.longValue()) : new SkBigInt(value);
+    }
+    
+    @Override
+    public String getType() {
+        return "BigInt";
+    }
+    
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T into(Class<T> clazz) {
+        Function<SkBigInt, SkValue> function = CONVERTERS.get(clazz);
+        if (function == null) {
+            return null;
+        }
+        return (T) function.apply(this);
+    }
+    
+    @Override
+    public String toString() {
+        return value.toString();
+    }
+}
@@ -16,44 +16,65 @@
 
 package com.zytekaron.sk.types.primitive;
 
+import com.zytekaron.sk.types.NumericKernel;
 import com.zytekaron.sk.types.SkValue;
 
 import java.util.Map;
 import java.util.function.Function;
 
 public class SkBool extends SkValue {
-    private final boolean value;
-    private final Map<Class<? extends SkValue>, Function<Boolean, SkValue>> converter = Map.of(
-            SkInt.class, value -> new SkInt(value ? 1 : 0),
-            SkLong.class, value -> new SkInt(value ? 1 : 0),
-            SkDouble.class, value -> new SkInt(value ? 1 : 0),
-            SkBool.class, SkBool::new,
-            SkChar.class, SkBool::new
+    private static final Map<Class<? extends SkValue>, Function<SkBool, SkValue>> CONVERTERS = Map.of(
+            SkInt.class, value -> SkInt.of(value.value ? 1 : 0),
+            SkLong.class, value -> new SkLong(value.value ? 1 : 0),
+            SkDouble.class, value -> new SkDouble(value.value ? 1 : 0),
+            SkBool.class, value -> value,
+            SkChar.class, value -> SkChar.of(value.value ? (char) 1 : (char) 0)
     );
+    public static final SkBool TRUE = new SkBool(true);
+    public static final SkBool FALSE = new SkBool(false);
+    private final boolean value;
     
-    public SkBool(boolean value) {
-        super("Boolean");
+    private SkBool(boolean value) {
         this.value = value;
     }
     
+    public static SkBool of(boolean value) {
+        return value ? TRUE : FALSE;
+    }
+    
+    @Override
+    public String getType() {
+        return "Boolean";
+    }
+    
     @Override
     @SuppressWarnings("unchecked")
     public <T> T into(Class<T> clazz) {
-        Function<Boolean, SkValue> function = converter.get(clazz);
+        Function<SkBool, SkValue> function = CONVERTERS.get(clazz);
         if (function == null) {
             return null;
         }
-        return (T) function.apply(value);
+        return (T) function.apply(this);
+    }
+    
+    @Override
+    protected int kind() {
+        return KIND_NUMBER;
     }
     
     @Override
     protected int compare(SkValue other) {
-        return new SkInt(value ? 1 : 0).compare(other);
+        return NumericKernel.compare(this, other);
+    }
+    
+    @Override
+    public int hash() {
+        return NumericKernel.hash(this);
     }
     
     public static SkBool fromString(String string) {
         boolean b = Boolean.parseBoolean(string);
-        return new SkBool(b);
+        return SkBool.of(b);
     }
     
     public SkBool and(SkValue other) {
@@ -75,15 +96,15 @@ public class SkBool extends SkValue {
     
     
     public SkBool and(boolean other) {
-        return new SkBool(value && other);
+        return SkBool.of(value && other);
     }
     
     public SkBool or(boolean other) {
-        return new SkBool(value || other);
+        return SkBool.of(value || other);
     }
     
     public SkBool not() {
-        return new SkBool(!value);
+        return SkBool.of(!value);
     }
     
     @Override
@@ -16,6 +16,7 @@
 
 package com.zytekaron.sk.types.primitive;
 
+import com.zytekaron.sk.types.NumericKernel;
 import com.zytekaron.sk.types.SkValue;
 import lombok.Getter;
 
@@ -24,34 +25,62 @@ import java.util.function.Function;
 
 @Getter
 public class SkChar extends SkValue {
-    private final char value;
-    private final Map<Class<? extends SkValue>, Function<Character, SkValue>> converter = Map.of(
-            SkInt.class, SkInt::new,
-            SkLong.class, SkDouble::new,
-            SkDouble.class, SkDouble::new,
-            SkBool.class, value -> new SkBool(value != 0),
-            SkChar.class, SkChar::new
+    private static final Map<Class<? extends SkValue>, Function<SkChar, SkValue>> CONVERTERS = Map.of(
+            SkInt.class, value -> SkInt.of(value.value),
+            SkLong.class, value -> new SkLong(value.value),
+            SkDouble.class, value -> new SkDouble(value.value),
+            SkBool.class, value -> SkBool.of(value.value != 0),
+            SkChar.class, value -> value
     );
+    private static final SkChar[] ASCII = new SkChar[128];
     
-    public SkChar(char value) {
-        super("Int");
+    static {
+        for (char c = 0; c < ASCII.length; c++) {
+            ASCII[c] = new SkChar(c);
+        }
+    }
+    
+    private final char value;
+    
+    private SkChar(char value) {
         this.value = value;
     }
     
+    public static SkChar of(char value) {
+        if (value < ASCII.length) {
+            return ASCII[value];
+        }
+        return new SkChar(value);
+    }
+    
+    @Override
+    public String getType() {
+        return "Int";
+    }
+    
     @Override
     @SuppressWarnings("unchecked")
     public <T> T into(Class<T> clazz) {
-        Function<Character, SkValue> function = converter.get(clazz);
+        Function<SkChar, SkValue> function = CONVERTERS.get(clazz);
         if (function == null) {
             return null;
         }
-        return (T) function.apply(value);
+        return (T) function.apply(this);
+    }
+    
+    @Override
+    protected int kind() {
+        return KIND_NUMBER;
     }
     
-    // todo implement & implement into(SkChar.class) for other types
     @Override
     protected int compare(SkValue other) {
-        return 0;
+        return NumericKernel.compare(this, other);
+    }
+    
+    @Override
+    public int hash() {
+        return NumericKernel.hash(this);
     }
     
     @Override
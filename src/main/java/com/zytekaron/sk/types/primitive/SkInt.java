@@ -16,154 +16,63 @@
 
 package com.zytekaron.sk.types.primitive;
 
-import com.zytekaron.sk.struct.Utils;
 import com.zytekaron.sk.types.SkNumber;
 import com.zytekaron.sk.types.SkValue;
-import com.zytekaron.sk.types.object.SkString;
 import lombok.Getter;
 
 import java.util.Map;
 import java.util.function.Function;
 
 @Getter
-public class SkInt extends SkNumber {
-    private final int value;
-    private final Map<Class<? extends SkValue>, Function<Integer, SkValue>> converter = Map.of(
-            SkInt.class, SkInt::new,
-            SkLong.class, SkDouble::new,
-            SkDouble.class, SkDouble::new,
-            SkBool.class, value -> new SkBool(value != 0)
+public final class SkInt extends SkNumber {
+    // Shared by every instance, so that an SkInt is only its header and int
+    private static final Map<Class<? extends SkValue>, Function<SkInt, SkValue>> CONVERTERS = Map.of(
+            SkInt.class, value -> value,
+            SkLong.class, value -> new SkLong(value.value),
+            SkDouble.class, value -> new SkDouble(value.value),
+            SkBool.class, value -> SkBool.of(value.value != 0),
+            SkChar.class, value -> SkChar.of((char) value.value)
     );
-    
-    public SkInt(int value) {
-        super("Int");
-        this.value = value;
-    }
-    
-    @Override
-    @SuppressWarnings("unchecked")
-    public <T> T into(Class<T> clazz) {
-        Function<Integer, SkValue> function = converter.get(clazz);
-        if (function == null) {
-            return null;
+    // Small values are shared rather than allocated by every operation,
+    // the range can be changed with -Dsk.int.cache.low and -Dsk.int.cache.high
+    private static final int CACHE_LOW = Integer.getInteger("sk.int.cache.low", -128);
+    private static final int CACHE_HIGH = Integer.getInteger("sk.int.cache.high", 1023);
+    private static final SkInt[] CACHE = new SkInt[Math.max(0, CACHE_HIGH - CACHE_LOW + 1)];
+    
+    static {
+        for (int i = 0; i < CACHE.length; i++) {
+            CACHE[i] = new SkInt(CACHE_LOW + i);
         }
-        return (T) function.apply(value);
     }
     
-    @Override
-    protected int compare(SkValue other) {
-        return 0;
-    }
-    
-    @Override
-    public SkValue add(SkValue other) {
-        if (other instanceof SkString) {
-            return toSkString().add(other);
-        }
-        return Utils.math(this::add, this::add, this::add, other);
-    }
-    
-    @Override
-    public SkValue subtract(SkValue other) {
-        return Utils.math(this::subtract, this::subtract, this::subtract, other);
-    }
+    private final int value;
     
-    @Override
-    public SkValue multiply(SkValue other) {
-        return Utils.math(this::multiply, this::multiply, this::multiply, other);
+    private SkInt(int value) {
+        this.value = value;
     }
     
-    @Override
-    public SkValue divide(SkValue other) {
-        return Utils.math(this::divide, this::divide, this::divide, other);
+    public static SkInt of(int value) {
+        if (value >= CACHE_LOW && value <= CACHE_HIGH) {
+            return CACHE[value - CACHE_LOW];
+        }
+        return new SkInt(value);
     }
     
     @Override
-    public SkValue modulo(SkValue other) {
-        return Utils.math(this::modulo, this::modulo, this::modulo, other);
+    public String getType() {
+        return "Int";
     }
     
     @Override
-    public SkValue power(SkValue other) {
-        return Utils.math(this::power, this::power, this::power, other);
-    }
-    
-    
-    
-    public SkInt add(int other) {
-        return new SkInt(value + other);
-    }
-    
-    public SkLong add(long other) {
-        return new SkLong(value + other);
-    }
-    
-    public SkDouble add(double other) {
-        return new SkDouble(value + other);
-    }
-    
-    public SkInt subtract(int other) {
-        return new SkInt(value - other);
-    }
-    
-    public SkLong subtract(long other) {
-        return new SkLong(value - other);
-    }
-    
-    public SkDouble subtract(double other) {
-        return new SkDouble(value - other);
-    }
-    
-    public SkInt multiply(int other) {
-        return new SkInt(value * other);
-    }
-    
-    public SkLong multiply(long other) {
-        return new SkLong(value * other);
-    }
-    
-    public SkDouble multiply(double other) {
-        return new SkDouble(value * other);
-    }
-    
-    public SkInt divide(int other) {
-        return new SkInt(value / other);
-    }
-    
-    public SkLong divide(long other) {
-        return new SkLong(value / other);
-    }
-    
-    public SkDouble divide(double other) {
-        return new SkDouble(value / other);
-    }
-    
-    public SkInt modulo(int other) {
-        return new SkInt(value % other);
-    }
-    
-    public SkLong modulo(long other) {
-        return new SkLong(value % other);
-    }
-    
-    public SkDouble modulo(double other) {
-        return new SkDouble(value % other);
-    }
-    
-    public SkInt power(int other) {
-        return new SkInt((int) Math.pow(value, other));
-    }
-    
-    public SkLong power(long other) {
-        return new SkLong((long) Math.pow(value, other));
-    }
-    
-    public SkDouble power(double other) {
-        return new SkDouble(Math.pow(value, other));
+    @SuppressWarnings("unchecked")
+    public <T> T into(Class<T> clazz) {
+        Function<SkInt, SkValue> function = CONVERTERS.get(clazz);
+        if (function == null) {
+            return null;
+        }
+        return (T) function.apply(this);
     }
     
-    
-    
     @Override
     public String toString() {
         return Integer.toString(value);
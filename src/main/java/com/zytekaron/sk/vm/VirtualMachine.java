@@ -0,0 +1,462 @@
+/*
+ *    Copyright 2020 Michael Thornes
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.zytekaron.sk.vm;
+
+import com.zytekaron.sk.compile.Chunk;
+import com.zytekaron.sk.compile.CompiledFunction;
+import com.zytekaron.sk.compile.Compiler;
+import com.zytekaron.sk.compile.FunctionPrototype;
+import com.zytekaron.sk.interpret.handlers.BinaryOperationHandler;
+import com.zytekaron.sk.interpret.handlers.ElementAccessHandler;
+import com.zytekaron.sk.interpret.handlers.FunctionCallHandler;
+import com.zytekaron.sk.interpret.handlers.FunctionDefineHandler;
+import com.zytekaron.sk.interpret.handlers.MethodCallHandler;
+import com.zytekaron.sk.interpret.handlers.UnaryOperationHandler;
+import com.zytekaron.sk.parse.nodes.*;
+import com.zytekaron.sk.struct.CallSiteCache;
+import com.zytekaron.sk.struct.Context;
+import com.zytekaron.sk.struct.MemoCache;
+import com.zytekaron.sk.struct.Token;
+import com.zytekaron.sk.struct.VariableTable;
+import com.zytekaron.sk.struct.result.CompileResult;
+import com.zytekaron.sk.struct.result.RuntimeResult;
+import com.zytekaron.sk.types.SkNull;
+import com.zytekaron.sk.types.SkValue;
+import com.zytekaron.sk.types.error.SkError;
+import com.zytekaron.sk.types.error.SkRuntimeError;
+import com.zytekaron.sk.types.object.NativeFunction;
+import com.zytekaron.sk.types.object.SkArray;
+import com.zytekaron.sk.types.object.SkFunction;
+import com.zytekaron.sk.types.object.SkParameter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.zytekaron.sk.compile.OpCode.*;
+
+/**
+ * Executes Chunks produced by the Compiler on an operand stack.
+ * <p>
+ * This is an alternative to the Interpreter with the same semantics,
+ * so the two can be compared on the same programs.
+ * <p>
+ * Calls do not recurse on the Java stack: the caller's position is saved on
+ * a frame stack owned by the VirtualMachine, so recursion is only limited
+ * by -Dsk.vm.max.frames rather than the size of the thread's stack.
+ */
+public class VirtualMachine {
+    private static final int INITIAL_STACK_SIZE = 256;
+    private static final int INITIAL_FRAMES = 64;
+    private static final int MAX_FRAMES = Integer.getInteger("sk.vm.max.frames", 1_000_000);
+    
+    // bodies of functions which were not defined by the virtual machine
+    private final Map<SkFunction, Chunk> functionChunks = new IdentityHashMap<>();
+    private SkValue[] stack = new SkValue[INITIAL_STACK_SIZE];
+    private int sp = 0;
+    // the chunk, ip and stack base of every caller of the running chunk
+    private Chunk[] frameChunks = new Chunk[INITIAL_FRAMES];
+    private int[] frameIps = new int[INITIAL_FRAMES];
+    private int[] frameBases = new int[INITIAL_FRAMES];
+    // the cache to store the callee's result in, and its arguments, for memoized calls
+    private MemoCache[] frameMemos = new MemoCache[INITIAL_FRAMES];
+    private SkValue[][] frameArgs = new SkValue[INITIAL_FRAMES][];
+    // the table and function of every caller, which the callee's frame replaces
+    private VariableTable[] frameTables = new VariableTable[INITIAL_FRAMES];
+    private SkFunction[] frameFunctions = new SkFunction[INITIAL_FRAMES];
+    private int fp = 0;
+    private SkError error;
+    
+    public RuntimeResult run(Chunk chunk, Context context) {
+        if (chunk == null || context == null) {
+            throw new RuntimeException("Found null chunk or context (" + chunk + ", " + context + ")");
+        }
+        RuntimeResult result = new RuntimeResult();
+        
+        sp = 0;
+        fp = 0;
+        error = null;
+        SkValue value = execute(chunk, context);
+        Arrays.fill(stack, null);
+        Arrays.fill(frameChunks, null);
+        Arrays.fill(frameMemos, null);
+        Arrays.fill(frameArgs, null);
+        Arrays.fill(frameTables, null);
+        Arrays.fill(frameFunctions, null);
+        
+        if (error != null) {
+            return result.failure(error);
+        }
+        return result.success(value);
+    }
+    
+    private SkValue execute(Chunk chunk, Context context) {
+        int[] code = chunk.getCode();
+        Object[] constants = chunk.getConstants();
+        VariableTable table = context.getVariableTable();
+        // the function whose frame is the table, or null for the chunk being run
+        SkFunction running = null;
+        
+        int entry = sp;
+        int entryFrame = fp;
+        int base = entry;
+        ensureCapacity(base + chunk.getMaxStack());
+        SkValue[] stack = this.stack;
+        int sp = base;
+        int ip = 0;
+        
+        while (true) {
+            switch (code[ip++]) {
+                case CONSTANT:
+                    stack[sp++] = (SkValue) constants[code[ip++]];
+                    break;
+                case NULL:
+                    stack[sp++] = SkNull.NULL;
+                    break;
+                case POP:
+                    stack[--sp] = null;
+                    break;
+                case ARRAY: {
+                    ArrayNode node = (ArrayNode) constants[code[ip++]];
+                    int count = node.getNodes().size();
+                    List<SkValue> elements = new ArrayList<>(Arrays.asList(stack).subList(sp - count, sp));
+                    sp -= count;
+                    stack[sp++] = new SkArray(elements);
+                    break;
+                }
+                case LOAD_NAME: {
+                    VarAccessNode node = (VarAccessNode) constants[code[ip++]];
+                    Token token = node.getName();
+                    String name = token.getValue();
+                    SkValue value = table.get(node.getDepth(), node.getSlot(), name);
+                    if (value == null) {
+                        return fail(new SkRuntimeError(token, context, "'" + name + "' is not defined"), entry, entryFrame, table, running);
+                    }
+                    stack[sp++] = value;
+                    break;
+                }
+                case DEFINE_NAME: {
+                    VarAssignNode node = (VarAssignNode) constants[code[ip++]];
+                    String name = node.getName().getValue();
+                    if (table.containsHere(node.getSlot(), name)) {
+                        return fail(new SkRuntimeError(node, context, "Variable '" + name + "' is already defined in this scope"), entry, entryFrame, table, running);
+                    }
+                    table.put(node.getSlot(), name, stack[sp - 1]);
+                    break;
+                }
+                case STORE_NAME: {
+                    VarReassignNode node = (VarReassignNode) constants[code[ip++]];
+                    String name = node.getName().getValue();
+                    if (!table.set(node.getDepth(), node.getSlot(), name, stack[sp - 1])) {
+                        return fail(new SkRuntimeError(node, context, "Variable '" + name + "' not defined"), entry, entryFrame, table, running);
+                    }
+                    break;
+                }
+                case DELETE_NAME: {
+                    VarDeleteNode node = (VarDeleteNode) constants[code[ip++]];
+                    String name = node.getName().getValue();
+                    SkValue value = table.get(node.getDepth(), node.getSlot(), name);
+                    if (value == null) {
+                        return fail(new SkRuntimeError(node, context, "Variable '" + name + "' not defined"), entry, entryFrame, table, running);
+                    }
+                    if (table.isImmutable()) {
+                        return fail(new SkRuntimeError(node, context, "Variable '" + name + "' cannot be deleted"), entry, entryFrame, table, running);
+                    }
+                    stack[sp++] = value;
+                    table.delete(name);
+                    break;
+                }
+                case ELEMENT: {
+                    ElementAccessNode node = (ElementAccessNode) constants[code[ip++]];
+                    Token token = node.getName();
+                    String name = token.getValue();
+                    SkValue receiver = table.get(node.getDepth(), node.getSlot(), name);
+                    if (receiver == null) {
+                        return fail(new SkRuntimeError(token, context, "'" + name + "' is not defined"), entry, entryFrame, table, running);
+                    }
+                    SkValue key = stack[sp - 1];
+                    SkValue element = ElementAccessHandler.access(receiver, key, node);
+                    if (element == null) {
+                        return fail(ElementAccessHandler.typeError(receiver, key, node, context), entry, entryFrame, table, running);
+                    }
+                    stack[sp - 1] = element;
+                    break;
+                }
+                case INVOKE: {
+                    MethodCallNode node = (MethodCallNode) constants[code[ip++]];
+                    int count = node.getParams().size();
+                    SkValue[] args = Arrays.copyOfRange(stack, sp - count, sp);
+                    SkValue receiver = stack[sp - count - 1];
+                    SkValue result = MethodCallHandler.invoke(receiver, node, args);
+                    if (result == null) {
+                        return fail(MethodCallHandler.methodError(receiver, node, context), entry, entryFrame, table, running);
+                    }
+                    while (count-- > 0) {
+                        stack[--sp] = null;
+                    }
+                    stack[sp - 1] = result;
+                    break;
+                }
+                case UNARY: {
+                    UnaryOperationNode node = (UnaryOperationNode) constants[code[ip++]];
+                    SkValue operand = stack[sp - 1];
+                    SkValue value = UnaryOperationHandler.operate(operand, node, context);
+                    if (value == null) {
+                        return fail(UnaryOperationHandler.typeError(operand, node, context), entry, entryFrame, table, running);
+                    }
+                    stack[sp - 1] = value;
+                    break;
+                }
+                case BINARY: {
+                    BinaryOperationNode node = (BinaryOperationNode) constants[code[ip++]];
+                    SkValue right = stack[--sp];
+                    SkValue value = BinaryOperationHandler.operate(stack[sp - 1], right, node, context);
+                    if (value == null) {
+                        return fail(BinaryOperationHandler.operationError(node, context), entry, entryFrame, table, running);
+                    }
+                    stack[sp - 1] = value;
+                    break;
+                }
+                case DEFINE_FUNCTION: {
+                    FunctionPrototype prototype = (FunctionPrototype) constants[code[ip++]];
+                    FunctionDefineNode node = prototype.getNode();
+                    List<Node> nodes = node.getParams();
+                    
+                    int defaults = 0;
+                    for (Node param : nodes) {
+                        if (((FunctionParameterNode) param).getDefaultValue() != null) {
+                            defaults++;
+                        }
+                    }
+                    sp -= defaults;
+                    
+                    List<SkParameter> params = new ArrayList<>();
+                    int defaultIndex = sp;
+                    for (Node param : nodes) {
+                        FunctionParameterNode input = (FunctionParameterNode) param;
+                        SkValue defaultValue = input.getDefaultValue() == null ? null : stack[defaultIndex++];
+                        params.add(new SkParameter(input.getName().getValue(), input.isSpread(), defaultValue));
+                    }
+                    
+                    SkError validationError = FunctionDefineHandler.validateParameters(nodes, params, context);
+                    if (validationError != null) {
+                        return fail(validationError, entry, entryFrame, table, running);
+                    }
+                    
+                    SkFunction function = new CompiledFunction(params, prototype.getStatements(), prototype.getChunk());
+                    function.setMemo(MemoCache.create(node));
+                    function.setLayout(node.getLayout());
+                    function.setClosure(table);
+                    table.put(node.getName().getValue(), function);
+                    stack[sp++] = function;
+                    break;
+                }
+                case LOAD_FUNCTION: {
+                    FunctionCallNode node = (FunctionCallNode) constants[code[ip++]];
+                    CallSiteCache cache = node.getCache();
+                    SkFunction function = cache.get(table);
+                    if (function == null) {
+                        Token token = node.getName();
+                        String name = token.getValue();
+                        SkValue value = table.get(node.getDepth(), node.getSlot(), name);
+                        if (value == null) {
+                            return fail(new SkRuntimeError(token, context, "'" + name + "' is not defined"), entry, entryFrame, table, running);
+                        }
+                        if (!(value instanceof SkFunction)) {
+                            return fail(new SkRuntimeError(token, context, "'" + name + "' is not a function"), entry, entryFrame, table, running);
+                        }
+                        function = (SkFunction) value;
+                        cache.set(table, function);
+                    }
+                    stack[sp++] = function;
+                    break;
+                }
+                case CALL:
+                case TAIL_CALL: {
+                    boolean tailCall = code[ip - 1] == TAIL_CALL;
+                    FunctionCallNode node = (FunctionCallNode) constants[code[ip++]];
+                    int argc = node.getParams().size();
+                    SkFunction function = (SkFunction) stack[sp - argc - 1];
+                    
+                    SkError validateError = FunctionCallHandler.validateParameters(function, node, argc, context);
+                    if (validateError != null) {
+                        return fail(validateError, entry, entryFrame, table, running);
+                    }
+                    
+                    // a native's value replaces it and its arguments; the RETURN after a tail call returns it
+                    if (function instanceof NativeFunction) {
+                        SkValue value = ((NativeFunction) function).call(stack, sp - argc, argc);
+                        if (value == null) {
+                            return fail(FunctionCallHandler.nativeError((NativeFunction) function, node, context), entry, entryFrame, table, running);
+                        }
+                        Arrays.fill(stack, sp - argc, sp, null);
+                        sp -= argc + 1;
+                        stack[sp++] = value;
+                        break;
+                    }
+                    
+                    // arguments stay on the stack; only a memoized call copies them for its key
+                    MemoCache memo = function.getMemo();
+                    SkValue[] argv = null;
+                    if (memo != null) {
+                        argv = Arrays.copyOfRange(stack, sp - argc, sp);
+                        SkValue value = memo.get(Arrays.asList(argv));
+                        if (value != null) {
+                            Arrays.fill(stack, sp - argc, sp, null);
+                            sp -= argc + 1;
+                            stack[sp++] = value;
+                            break;
+                        }
+                    }
+                    
+                    Chunk body = chunkOf(function);
+                    if (body == null) {
+                        return fail(error, entry, entryFrame, table, running);
+                    }
+                    // checked before activating, which may take a frame from the function's pool
+                    if (!tailCall && fp - entryFrame == MAX_FRAMES) {
+                        return fail(new SkRuntimeError(node, context, "Maximum call depth of " + MAX_FRAMES + " exceeded"), entry, entryFrame, table, running);
+                    }
+                    
+                    VariableTable frame = function.activate(table, stack, sp - argc, argc);
+                    if (tailCall) {
+                        // run the callee in this frame, so that its RETURN returns to our caller,
+                        // which is why the result of a tail call is not memoized
+                        if (running != null) {
+                            running.release(table);
+                        }
+                        Arrays.fill(stack, base, sp, null);
+                        sp = base;
+                    } else {
+                        pushFrame(chunk, ip, base, memo, argv, table, running);
+                        // the callee's value replaces the function and its arguments
+                        sp -= argc + 1;
+                        base = sp;
+                    }
+                    table = frame;
+                    running = function;
+                    chunk = body;
+                    code = body.getCode();
+                    constants = body.getConstants();
+                    ensureCapacity(sp + body.getMaxStack());
+                    stack = this.stack;
+                    ip = 0;
+                    break;
+                }
+                case RETURN: {
+                    SkValue value = stack[--sp];
+                    if (fp == entryFrame) {
+                        this.sp = entry;
+                        return value;
+                    }
+                    stack[sp] = null;
+                    sp = base;
+                    running.release(table);
+                    
+                    fp--;
+                    if (frameMemos[fp] != null) {
+                        frameMemos[fp].put(Arrays.asList(frameArgs[fp]), value);
+                        frameMemos[fp] = null;
+                        frameArgs[fp] = null;
+                    }
+                    chunk = frameChunks[fp];
+                    code = chunk.getCode();
+                    constants = chunk.getConstants();
+                    ip = frameIps[fp];
+                    base = frameBases[fp];
+                    table = frameTables[fp];
+                    running = frameFunctions[fp];
+                    frameTables[fp] = null;
+                    frameFunctions[fp] = null;
+                    stack[sp++] = value;
+                    break;
+                }
+                default:
+                    throw new RuntimeException("Invalid op code " + code[ip - 1] + " at " + (ip - 1));
+            }
+        }
+    }
+    
+    private Chunk chunkOf(SkFunction function) {
+        if (function instanceof CompiledFunction) {
+            return ((CompiledFunction) function).getChunk();
+        }
+        Chunk chunk = functionChunks.get(function);
+        if (chunk == null) {
+            CompileResult result = new Compiler().compileFunction(function.getStatements());
+            if (!result.success()) {
+                error = result.getError();
+                return null;
+            }
+            chunk = result.getResult();
+            functionChunks.put(function, chunk);
+        }
+        return chunk;
+    }
+    
+    private void pushFrame(Chunk chunk, int ip, int base, MemoCache memo, SkValue[] args, VariableTable table, SkFunction function) {
+        if (fp == frameChunks.length) {
+            int size = fp * 2;
+            frameChunks = Arrays.copyOf(frameChunks, size);
+            frameIps = Arrays.copyOf(frameIps, size);
+            frameBases = Arrays.copyOf(frameBases, size);
+            frameMemos = Arrays.copyOf(frameMemos, size);
+            frameArgs = Arrays.copyOf(frameArgs, size);
+            frameTables = Arrays.copyOf(frameTables, size);
+            frameFunctions = Arrays.copyOf(frameFunctions, size);
+        }
+        frameChunks[fp] = chunk;
+        frameIps[fp] = ip;
+        frameBases[fp] = base;
+        frameTables[fp] = table;
+        frameFunctions[fp] = function;
+        if (memo != null) {
+            frameMemos[fp] = memo;
+            frameArgs[fp] = args;
+        }
+        fp++;
+    }
+    
+    // Unwind the frames pushed since entryFrame, giving every frame back to its function's pool
+    private SkValue fail(SkError error, int base, int entryFrame, VariableTable table, SkFunction running) {
+        this.error = error;
+        this.sp = base;
+        if (running != null) {
+            running.release(table);
+        }
+        while (fp > entryFrame) {
+            fp--;
+            if (frameFunctions[fp] != null) {
+                frameFunctions[fp].release(frameTables[fp]);
+            }
+            frameChunks[fp] = null;
+            frameMemos[fp] = null;
+            frameArgs[fp] = null;
+            frameTables[fp] = null;
+            frameFunctions[fp] = null;
+        }
+        return null;
+    }
+    
+    private void ensureCapacity(int size) {
+        if (size > stack.length) {
+            stack = Arrays.copyOf(stack, Math.max(size, stack.length * 2));
+        }
+    }
+}
\ No newline at end of file
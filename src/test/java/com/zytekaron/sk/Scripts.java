@@ -0,0 +1,216 @@
+/*
+   Copyright 2020 Michael Thornes
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.zytekaron.sk;
+
+import com.zytekaron.sk.compile.Compiler;
+import com.zytekaron.sk.execute.ExecutableCompiler;
+import com.zytekaron.sk.interpret.Interpreter;
+import com.zytekaron.sk.lex.Lexer;
+import com.zytekaron.sk.optimize.Optimizer;
+import com.zytekaron.sk.optimize.PurityAnalyzer;
+import com.zytekaron.sk.parse.Parser;
+import com.zytekaron.sk.parse.nodes.FunctionCallNode;
+import com.zytekaron.sk.parse.nodes.Node;
+import com.zytekaron.sk.resolve.Resolver;
+import com.zytekaron.sk.struct.Context;
+import com.zytekaron.sk.struct.Position;
+import com.zytekaron.sk.struct.Token;
+import com.zytekaron.sk.struct.TokenType;
+import com.zytekaron.sk.struct.VariableTable;
+import com.zytekaron.sk.struct.result.CompileResult;
+import com.zytekaron.sk.struct.result.LexResult;
+import com.zytekaron.sk.struct.result.ParseResult;
+import com.zytekaron.sk.struct.result.RuntimeResult;
+import com.zytekaron.sk.types.SkNull;
+import com.zytekaron.sk.types.SkValue;
+import com.zytekaron.sk.types.object.SkMap;
+import com.zytekaron.sk.types.object.SkSet;
+import com.zytekaron.sk.vm.VirtualMachine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Runs scripts the way Main does, on any of the three engines
+ */
+public final class Scripts {
+    
+    public enum Engine {
+        INTERPRETER, EXECUTABLES, VIRTUAL_MACHINE
+    }
+    
+    private Scripts() {
+    }
+    
+    /**
+     * Lex, parse, optimize, resolve and analyze a script
+     *
+     * @param text    The script
+     * @param globals The global variables to resolve against
+     * @return The program, which defines the module function
+     */
+    public static Node prepare(String text, VariableTable globals) {
+        return prepare(text, globals, true);
+    }
+    
+    /**
+     * Lex, parse, optionally optimize, resolve and analyze a script
+     *
+     * @param text     The script
+     * @param globals  The global variables to resolve against
+     * @param optimize Whether to run the Optimizer
+     * @return The program, which defines the module function
+     */
+    public static Node prepare(String text, VariableTable globals, boolean optimize) {
+        LexResult<List<Token>> lexResult = new Lexer(text).tokenize();
+        if (!lexResult.success()) {
+            throw new AssertionError(lexResult.getError());
+        }
+        ParseResult parseResult = new Parser(lexResult.getResult()).parse();
+        if (!parseResult.success()) {
+            throw new AssertionError(parseResult.getError());
+        }
+        Node node = parseResult.getResult();
+        if (optimize) {
+            node = new Optimizer().optimize(node);
+        }
+        new Resolver(globals).resolve(node);
+        new PurityAnalyzer(globals).analyze(node);
+        return node;
+    }
+    
+    /**
+     * Run a script, and call the module function it defines
+     *
+     * @param engine The engine to run it on
+     * @param text   The script
+     * @return The result of the module function
+     */
+    public static RuntimeResult run(Engine engine, String text) {
+        return run(engine, text, true);
+    }
+    
+    /**
+     * Run a script, optionally unoptimized, and call the module function it defines
+     *
+     * @param engine   The engine to run it on
+     * @param text     The script
+     * @param optimize Whether to run the Optimizer
+     * @return The result of the module function
+     */
+    public static RuntimeResult run(Engine engine, String text, boolean optimize) {
+        return run(engine, text, globals(), optimize);
+    }
+    
+    /**
+     * Run a script in the given global variables, and call the module function it defines
+     *
+     * @param engine   The engine to run it on
+     * @param text     The script
+     * @param globals  The global variables, which the script may reassign
+     * @param optimize Whether to run the Optimizer
+     * @return The result of the module function
+     */
+    public static RuntimeResult run(Engine engine, String text, VariableTable globals, boolean optimize) {
+        Context context = new Context("<program>");
+        context.setVariableTable(globals);
+        
+        RuntimeResult result = execute(engine, prepare(text, globals, optimize), context);
+        if (!result.success()) {
+            return result;
+        }
+        Node call = new FunctionCallNode(new Token(TokenType.IDENTIFIER, new Position(), "module"), new ArrayList<>());
+        new Resolver(globals).resolve(call);
+        return execute(engine, call, context);
+    }
+    
+    /**
+     * Run a script which must succeed
+     *
+     * @param engine The engine to run it on
+     * @param text   The script
+     * @return The result of the module function
+     */
+    public static SkValue eval(Engine engine, String text) {
+        RuntimeResult result = run(engine, text);
+        if (!result.success()) {
+            throw new AssertionError(engine + ": " + result.getError());
+        }
+        return result.getResult();
+    }
+    
+    /**
+     * Create the global variables scripts run in by default
+     *
+     * @return A table defining null and the Map and Set constructors
+     */
+    public static VariableTable globals() {
+        VariableTable globals = new VariableTable();
+        globals.put("null", SkNull.NULL);
+        globals.put("Map", SkMap.CONSTRUCTOR);
+        globals.put("Set", SkSet.CONSTRUCTOR);
+        return globals;
+    }
+    
+    /**
+     * Run something on a new thread with a given stack size, rethrowing anything it throws
+     *
+     * @param stackSize The stack size, in bytes
+     * @param run       The thing to run
+     * @return Its result
+     */
+    public static <T> T onStack(long stackSize, Supplier<T> run) {
+        AtomicReference<T> result = new AtomicReference<>();
+        AtomicReference<Throwable> thrown = new AtomicReference<>();
+        Thread thread = new Thread(null, () -> {
+            try {
+                result.set(run.get());
+            } catch (Throwable t) {
+                thrown.set(t);
+            }
+        }, "script", stackSize);
+        thread.start();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            throw new AssertionError(e);
+        }
+        if (thrown.get() instanceof Error) {
+            throw (Error) thrown.get();
+        } else if (thrown.get() != null) {
+            throw new AssertionError(thrown.get());
+        }
+        return result.get();
+    }
+    
+    private static RuntimeResult execute(Engine engine, Node node, Context context) {
+        switch (engine) {
+            case INTERPRETER:
+                return new Interpreter().visit(node, context);
+            case EXECUTABLES:
+                return new ExecutableCompiler().compile(node).run(context);
+            default:
+                CompileResult compileResult = new Compiler().compile(node);
+                if (!compileResult.success()) {
+                    return new RuntimeResult().failure(compileResult.getError());
+                }
+                return new VirtualMachine().run(compileResult.getResult(), context);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/*
+   Copyright 2020 Michael Thornes
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.zytekaron.sk;
+
+import com.zytekaron.sk.Scripts.Engine;
+import com.zytekaron.sk.struct.result.RuntimeResult;
+import com.zytekaron.sk.types.primitive.SkInt;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TailCallTest {
+    // far too small for 100,000 nested calls on any engine
+    private static final long STACK_SIZE = 256 * 1024;
+    private static final int DEPTH = 100_000;
+    
+    @Test
+    public void tailCallsRunInConstantStack() {
+        // the recursion ends by dividing by zero
+        String script = "fn loop(n) { 1 / n; return loop(n - 1); }; return loop(" + DEPTH + ");";
+        for (Engine engine : Engine.values()) {
+            RuntimeResult result = Scripts.onStack(STACK_SIZE, () -> Scripts.run(engine, script));
+            assertFalse(engine.name(), result.success());
+            assertTrue(engine.name(), result.getError().getName().contains("RuntimeError"));
+        }
+    }
+    
+    @Test
+    public void tailCallsToOtherFunctionsRunInConstantStack() {
+        // count calls itself until n is 0, when 0 ** n selects stop
+        String script = "fn stop(n, acc) { return acc; }; "
+                + "fn count(n, acc) { var fs = [stop, count]; var next = fs[1 - 0 ** n]; return next(n - 1, acc + 1); }; "
+                + "return count(" + DEPTH + ", 0);";
+        for (Engine engine : Engine.values()) {
+            RuntimeResult result = Scripts.onStack(STACK_SIZE, () -> Scripts.run(engine, script));
+            assertTrue(engine.name() + ": " + result.getError(), result.success());
+            assertEquals(engine.name(), SkInt.of(DEPTH + 1), result.getResult());
+        }
+    }
+    
+    @Test(expected = StackOverflowError.class)
+    public void theStackIsSmallEnoughToOverflowWithoutTailCalls() {
+        Scripts.onStack(STACK_SIZE, () -> Scripts.run(Engine.INTERPRETER,
+                "fn loop(n) { 1 / n; return loop(n - 1) + 0; }; return loop(" + DEPTH + ");"));
+    }
+}
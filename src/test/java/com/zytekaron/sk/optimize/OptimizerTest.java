@@ -0,0 +1,101 @@
+/*
+   Copyright 2020 Michael Thornes
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.zytekaron.sk.optimize;
+
+import com.zytekaron.sk.Scripts;
+import com.zytekaron.sk.Scripts.Engine;
+import com.zytekaron.sk.lex.Lexer;
+import com.zytekaron.sk.parse.Parser;
+import com.zytekaron.sk.struct.result.RuntimeResult;
+import com.zytekaron.sk.types.SkValue;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class OptimizerTest {
+    
+    @Test
+    public void divisionByZeroIsNotFolded() {
+        assertEquals(0, removed("return 1 / 0;"));
+        for (Engine engine : Engine.values()) {
+            RuntimeResult folded = Scripts.run(engine, "return 1 / 0;", true);
+            RuntimeResult unfolded = Scripts.run(engine, "return 1 / 0;", false);
+            assertFalse(engine.name(), folded.success());
+            assertEquals(engine.name(), unfolded.getError().toString(), folded.getError().toString());
+        }
+    }
+    
+    @Test
+    public void constantExpressionsFoldToTheirValue() {
+        // six literals and six operations (including the negation) fold into one node
+        String script = "return 2 * (2 ** -5. / 3) - (1./3);";
+        assertEquals(11, removed(script));
+        assertSameResult(script);
+        assertEquals(2, removed("return 1 + 2;"));
+    }
+    
+    @Test
+    public void stringChainsAreReassociated() {
+        String script = "var x = 1; return (x + \"a\") + \"b\";";
+        assertEquals(2, removed(script));
+        assertSameResult(script);
+        assertEquals("1ab", Scripts.eval(Engine.INTERPRETER, script).toString());
+    }
+    
+    @Test
+    public void otherChainsAreNotReassociated() {
+        // folding 1 + 2 first would give "s3"
+        String numbers = "var x = \"s\"; return (x + 1) + 2;";
+        assertEquals(0, removed(numbers));
+        assertSameResult(numbers);
+        assertEquals("s12", Scripts.eval(Engine.INTERPRETER, numbers).toString());
+        
+        String mixed = "var x = 1; return (x + \"a\") + 1;";
+        assertEquals(0, removed(mixed));
+        assertSameResult(mixed);
+        
+        String subtraction = "var x = \"s\"; return (x + \"a\") - \"b\";";
+        assertEquals(0, removed(subtraction));
+        assertSameResult(subtraction);
+    }
+    
+    // The number of nodes the Optimizer removes from a script
+    private static int removed(String text) {
+        Optimizer optimizer = new Optimizer();
+        optimizer.optimize(new Parser(new Lexer(text).tokenize().getResult()).parse().getResult());
+        return optimizer.getRemoved();
+    }
+    
+    // The script gives the same result (or error), of the same type, with and without the Optimizer
+    private static void assertSameResult(String text) {
+        for (Engine engine : Engine.values()) {
+            RuntimeResult folded = Scripts.run(engine, text, true);
+            RuntimeResult unfolded = Scripts.run(engine, text, false);
+            assertEquals(engine.name(), unfolded.success(), folded.success());
+            if (!folded.success()) {
+                assertEquals(engine.name(), unfolded.getError().toString(), folded.getError().toString());
+                continue;
+            }
+            SkValue expected = unfolded.getResult();
+            SkValue actual = folded.getResult();
+            assertEquals(engine.name(), expected.getClass(), actual.getClass());
+            // errors are only equal to themselves, so they are compared by message
+            assertEquals(engine.name(), expected.toString(), actual.toString());
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/*
+   Copyright 2020 Michael Thornes
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.zytekaron.sk.optimize;
+
+import com.zytekaron.sk.Scripts;
+import com.zytekaron.sk.Scripts.Engine;
+import com.zytekaron.sk.parse.nodes.FunctionDefineNode;
+import com.zytekaron.sk.parse.nodes.Node;
+import com.zytekaron.sk.parse.nodes.ScopeNode;
+import com.zytekaron.sk.struct.VariableTable;
+import com.zytekaron.sk.types.primitive.SkInt;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PurityAnalyzerTest {
+    // h's parameter shadows the pure function g, so h(bump) must call bump every time
+    private static final String SHADOWED = "fn g(x) { return x; }; var n = 10; "
+            + "fn bump(x) { n = n + x; return n; }; "
+            + "fn h(g) { return g(1) + 0; }; "
+            + "h(bump); return h(bump);";
+    
+    @Test
+    public void parameterShadowingPureFunctionIsNotPure() {
+        Node program = Scripts.prepare(SHADOWED, new VariableTable());
+        assertTrue(function(program, "g").isPure());
+        assertFalse(function(program, "bump").isPure());
+        assertFalse(function(program, "h").isPure());
+    }
+    
+    @Test
+    public void pureFunctionsCanCallEachOther() {
+        Node program = Scripts.prepare("fn sq(x) { return x * x; }; fn f(a, b) { return sq(a) + sq(b); }; f(1, 2);",
+                new VariableTable());
+        assertTrue(function(program, "sq").isPure());
+        assertTrue(function(program, "f").isPure());
+    }
+    
+    @Test
+    public void shadowedCallIsNotMemoized() {
+        for (Engine engine : Engine.values()) {
+            assertEquals(engine.toString(), SkInt.of(12), Scripts.eval(engine, SHADOWED));
+        }
+    }
+    
+    private static FunctionDefineNode function(Node program, String name) {
+        for (Node node : ((ScopeNode) ((FunctionDefineNode) program).getScope()).getExpressions()) {
+            if (node instanceof FunctionDefineNode && ((FunctionDefineNode) node).getName().getValue().equals(name)) {
+                return (FunctionDefineNode) node;
+            }
+        }
+        throw new AssertionError("no function " + name);
+    }
+}
@@ -0,0 +1,82 @@
+/*
+   Copyright 2020 Michael Thornes
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.zytekaron.sk.struct;
+
+import com.zytekaron.sk.Scripts;
+import com.zytekaron.sk.Scripts.Engine;
+import com.zytekaron.sk.struct.result.RuntimeResult;
+import com.zytekaron.sk.types.object.SkFunction;
+import com.zytekaron.sk.types.primitive.SkInt;
+import org.junit.Test;
+
+import java.util.ArrayList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class CallSiteCacheTest {
+    
+    @Test
+    public void reassigningTheCalleeInvalidatesTheCallSite() {
+        // the call site in call() runs once, then its name is rebound to another function
+        String script = "fn one() { return 1; }; fn two() { return 2; }; var f = one; fn call() { return f(); };"
+                + "var a = call(); f = two; var b = call(); return a * 10 + b;";
+        for (Engine engine : Engine.values()) {
+            RuntimeResult result = Scripts.run(engine, script);
+            assertEquals(engine.name(), SkInt.of(12), result.getResult());
+        }
+    }
+    
+    @Test
+    public void rebindingAParameterInvalidatesTheCallSite() {
+        // both calls of call() may reuse the same pooled frame, with g bound to a different function
+        String script = "fn one(n) { return 1; }; fn two(n) { return 2; }; fn call(g) { return g(0); };"
+                + "var a = call(one); var b = call(two); return a * 10 + b;";
+        for (Engine engine : Engine.values()) {
+            RuntimeResult result = Scripts.run(engine, script);
+            assertEquals(engine.name(), SkInt.of(12), result.getResult());
+        }
+    }
+    
+    @Test
+    public void reassigningTheCalleeToAValueFailsTheCall() {
+        String script = "fn one() { return 1; }; var f = one; fn call() { return f(); }; call(); f = 3; return call();";
+        for (Engine engine : Engine.values()) {
+            RuntimeResult result = Scripts.run(engine, script);
+            assertFalse(engine.name(), result.success());
+            assertEquals(engine.name(), "'f' is not a function", result.getError().getDetails());
+        }
+    }
+    
+    @Test
+    public void deletingAShadowingFunctionInvalidatesTheCache() {
+        VariableTable globals = new VariableTable();
+        VariableTable frame = new VariableTable(globals);
+        SkFunction outer = new SkFunction(new ArrayList<>(), new ArrayList<>());
+        SkFunction inner = new SkFunction(new ArrayList<>(), new ArrayList<>());
+        globals.put("f", outer);
+        frame.put("f", inner);
+        
+        CallSiteCache cache = new CallSiteCache();
+        cache.set(frame, inner);
+        assertSame(inner, cache.get(frame));
+        // the name now resolves to the global function
+        frame.delete("f");
+        assertNull(cache.get(frame));
+    }
+}
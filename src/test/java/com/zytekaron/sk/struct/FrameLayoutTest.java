@@ -0,0 +1,125 @@
+/*
+   Copyright 2020 Michael Thornes
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.zytekaron.sk.struct;
+
+import com.zytekaron.sk.Scripts;
+import com.zytekaron.sk.Scripts.Engine;
+import com.zytekaron.sk.struct.result.RuntimeResult;
+import com.zytekaron.sk.types.SkNull;
+import com.zytekaron.sk.types.object.SkFunction;
+import com.zytekaron.sk.types.primitive.SkInt;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class FrameLayoutTest {
+    
+    @Test
+    public void parametersAreBoundInOrder() {
+        assertAllEngines(123, "fn f(a, b, c) { return a * 100 + b * 10 + c; }; return f(1, 2, 3);");
+    }
+    
+    @Test
+    public void defaultsFillMissingArguments() {
+        assertAllEngines(1512, "fn f(a, b = 5) { return a * 10 + b; }; return f(1) * 100 + f(1, 2);");
+    }
+    
+    @Test
+    public void parametersAndLocalsShadowOuterVariables() {
+        // writing the parameter and the local must leave the globals alone
+        assertAllEngines(1512, "var a = 1; var b = 2; fn f(a) { var b = a * 10; a = b + 5; return a; };"
+                + "var r = f(1); return r * 100 + a * 10 + b;");
+    }
+    
+    @Test
+    public void nestedFunctionsSeeTheNearestDefinition() {
+        assertAllEngines(21, "var x = 1; fn outer() { var x = 2; fn inner() { return x; }; return inner(); };"
+                + "return outer() * 10 + x;");
+    }
+    
+    @Test
+    public void closuresKeepTheFrameTheyCaptured() {
+        // the second call of outer must not reuse the frame the first closure holds
+        assertAllEngines(101110, "fn outer(x) { fn inner(y) { return x + y; }; return inner; };"
+                + "var a = outer(1); var b = outer(10); return a(100) * 1000 + b(100);");
+    }
+    
+    @Test
+    public void reusedFramesStartEmpty() {
+        // the second call reuses the first call's frame, so its default must be applied again
+        assertAllEngines(70, "fn f(a, b = 0) { var c = a + b; return c; }; var x = f(1, 6); var y = f(0); return x * 10 + y;");
+    }
+    
+    @Test
+    public void framesAreReturnedToThePool() {
+        for (Engine engine : Engine.values()) {
+            // keep is a global, so the function can be inspected once the module returns
+            VariableTable globals = Scripts.globals();
+            globals.put("keep", SkNull.NULL);
+            RuntimeResult result = Scripts.run(engine, "var x = 0; fn f(a) { x = a; return a; }; keep = f; f(1); f(2); return f(3);", globals, true);
+            assertEquals(engine.name(), SkInt.of(3), result.getResult());
+            
+            FrameLayout layout = ((SkFunction) globals.get("keep")).getLayout();
+            assertFalse(engine.name(), layout.isCaptured());
+            assertEquals(engine.name(), 1, layout.getPooled());
+        }
+    }
+    
+    @Test
+    public void releasedFramesAreCleared() {
+        FrameLayout layout = new FrameLayout(new VariableTable(), 8);
+        layout.getTable().declare("a");
+        VariableTable frame = layout.acquire(null);
+        frame.put("a", SkInt.of(1));
+        layout.release(frame);
+        
+        VariableTable reused = layout.acquire(null);
+        assertSame(frame, reused);
+        assertNull(reused.get("a"));
+    }
+    
+    @Test
+    public void noFramesArePooledWhenThePoolIsOff() {
+        FrameLayout layout = new FrameLayout(new VariableTable(), 0);
+        VariableTable frame = layout.acquire(null);
+        layout.release(frame);
+        assertEquals(0, layout.getPooled());
+        assertNotSame(frame, layout.acquire(null));
+    }
+    
+    @Test
+    public void capturedFramesAreNeverPooled() {
+        FrameLayout layout = new FrameLayout(new VariableTable(), 8);
+        layout.markCaptured();
+        VariableTable frame = layout.acquire(null);
+        layout.release(frame);
+        assertTrue(layout.isCaptured());
+        assertEquals(0, layout.getPooled());
+    }
+    
+    private static void assertAllEngines(int expected, String script) {
+        for (Engine engine : Engine.values()) {
+            RuntimeResult result = Scripts.run(engine, script);
+            assertTrue(engine.name() + ": " + result.getError(), result.success());
+            assertEquals(engine.name(), SkInt.of(expected), result.getResult());
+        }
+    }
+}
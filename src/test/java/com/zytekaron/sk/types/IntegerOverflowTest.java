@@ -0,0 +1,251 @@
+/*
+   Copyright 2020 Michael Thornes
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.zytekaron.sk.types;
+
+import com.zytekaron.sk.Scripts;
+import com.zytekaron.sk.Scripts.Engine;
+import com.zytekaron.sk.types.primitive.SkBigInt;
+import com.zytekaron.sk.types.primitive.SkDouble;
+import com.zytekaron.sk.types.primitive.SkInt;
+import com.zytekaron.sk.types.primitive.SkLong;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class IntegerOverflowTest {
+    private static final long[] EDGES = {
+            0, 1, -1, 2, -2, 3, 46340, 46341, -46341, 65536,
+            Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE + 1L, Integer.MIN_VALUE - 1L,
+            3037000499L, 3037000500L, -3037000500L, 4294967296L, Long.MAX_VALUE, Long.MIN_VALUE
+    };
+    private static final String[] OPERATORS = {"+", "-", "*", "/", "%", "**"};
+    private static final int INT = 0;
+    private static final int LONG = 1;
+    private static final int BIG_INT = 2;
+    
+    @Test
+    public void edgesPromoteExactly() {
+        List<BigInteger> edges = new ArrayList<>();
+        for (long edge : EDGES) {
+            edges.add(BigInteger.valueOf(edge));
+        }
+        edges.add(BigInteger.valueOf(Long.MAX_VALUE).add(BigInteger.ONE));
+        edges.add(BigInteger.valueOf(Long.MIN_VALUE).subtract(BigInteger.ONE));
+        edges.add(BigInteger.ONE.shiftLeft(100));
+        
+        for (BigInteger a : edges) {
+            for (BigInteger b : edges) {
+                checkAll(a, b);
+            }
+        }
+    }
+    
+    @Test
+    public void randomOperandsPromoteExactly() {
+        Random random = new Random(7);
+        for (int i = 0; i < 2000; i++) {
+            checkAll(operand(random), operand(random));
+        }
+    }
+    
+    @Test
+    public void bigIntsAreOnlyMadeBeyondALong() {
+        BigInteger max = BigInteger.valueOf(Long.MAX_VALUE);
+        BigInteger min = BigInteger.valueOf(Long.MIN_VALUE);
+        assertEquals(SkLong.class, SkBigInt.of(max).getClass());
+        assertEquals(SkLong.class, SkBigInt.of(min).getClass());
+        assertEquals(SkBigInt.class, SkBigInt.of(max.add(BigInteger.ONE)).getClass());
+        assertEquals(SkBigInt.class, SkBigInt.of(min.subtract(BigInteger.ONE)).getClass());
+        assertNull(SkInt.of(1).into(SkBigInt.class));
+        assertNull(new SkLong(1).into(SkBigInt.class));
+    }
+    
+    @Test
+    public void infiniteDoublesAreBeyondEveryBigInt() {
+        SkValue big = SkBigInt.of(BigInteger.ONE.shiftLeft(2000));
+        assertTrue(NumericKernel.compare(big, new SkDouble(Double.POSITIVE_INFINITY)) < 0);
+        assertTrue(NumericKernel.compare(big, new SkDouble(Double.NaN)) < 0);
+        assertTrue(NumericKernel.compare(new SkDouble(Double.NEGATIVE_INFINITY), big) < 0);
+    }
+    
+    @Test
+    public void enginesPromoteOverflowingResults() {
+        for (Engine engine : Engine.values()) {
+            assertEquals(new SkLong(2147483648L), Scripts.eval(engine, "return 2147483647 + 1;"));
+            assertEquals(SkBigInt.of(BigInteger.ONE.shiftLeft(64)), Scripts.eval(engine, "return 2 ** 64;"));
+            assertEquals(SkInt.of(1 << 30), Scripts.eval(engine, "return 2 ** 64 / 2 ** 34;"));
+        }
+    }
+    
+    // Every operator and the negation, with both operands as each type they fit in
+    private static void checkAll(BigInteger a, BigInteger b) {
+        for (int leftType = INT; leftType <= BIG_INT; leftType++) {
+            for (int rightType = INT; rightType <= BIG_INT; rightType++) {
+                SkNumber left = number(a, leftType);
+                SkNumber right = number(b, rightType);
+                if (left == null || right == null) {
+                    continue;
+                }
+                for (String operator : OPERATORS) {
+                    if (operator.equals("**") && isSlowPower(a, b)) {
+                        continue;
+                    }
+                    check(operator, left, right, apply(operator, left, right), reference(operator, a, b));
+                }
+                check("-", SkInt.of(0), left, NumericKernel.negate(left), a.negate());
+                
+                // order and hashes agree with BigInteger, and with Doubles
+                int order = NumericKernel.compare(left, right);
+                assertEquals(left + " <=> " + right, a.compareTo(b), Integer.signum(order));
+                if (order == 0) {
+                    assertEquals(left + " hash " + right, NumericKernel.hash(left), NumericKernel.hash(right));
+                }
+                SkDouble approximate = new SkDouble(a.doubleValue());
+                int doubleOrder = NumericKernel.compare(left, approximate);
+                assertEquals(left + " <=> " + approximate, new BigDecimal(a).compareTo(new BigDecimal(a.doubleValue())),
+                        Integer.signum(doubleOrder));
+                if (doubleOrder == 0) {
+                    assertEquals(left + " hash " + approximate, NumericKernel.hash(left), NumericKernel.hash(approximate));
+                }
+            }
+        }
+    }
+    
+    // An integer result has the narrowest type of its operands it fits in, but a Long or BigInt result is at least a Long
+    private static void check(String operator, SkValue left, SkValue right, SkValue actual, BigInteger expected) {
+        String operation = left.getType() + ":" + left + " " + operator + " " + right.getType() + ":" + right;
+        if (expected == null) {
+            assertNull(operation, actual);
+            return;
+        }
+        int bits = expected.bitLength();
+        boolean ints = type(left) == INT && type(right) == INT;
+        int expectedType = ints && bits < Integer.SIZE ? INT : bits < Long.SIZE ? LONG : BIG_INT;
+        assertEquals(operation, expectedType, type(actual));
+        assertEquals(operation, expected, toBigInteger(actual));
+    }
+    
+    // Null if the operation throws
+    private static SkValue apply(String operator, SkValue left, SkValue right) {
+        try {
+            switch (operator) {
+                case "+":
+                    return NumericKernel.add(left, right);
+                case "-":
+                    return NumericKernel.subtract(left, right);
+                case "*":
+                    return NumericKernel.multiply(left, right);
+                case "/":
+                    return NumericKernel.divide(left, right);
+                case "%":
+                    return NumericKernel.modulo(left, right);
+                default:
+                    return NumericKernel.power(left, right);
+            }
+        } catch (ArithmeticException e) {
+            return null;
+        }
+    }
+    
+    // Null if the operation should throw
+    private static BigInteger reference(String operator, BigInteger a, BigInteger b) {
+        switch (operator) {
+            case "+":
+                return a.add(b);
+            case "-":
+                return a.subtract(b);
+            case "*":
+                return a.multiply(b);
+            case "/":
+                return b.signum() == 0 ? null : a.divide(b);
+            case "%":
+                return b.signum() == 0 ? null : a.remainder(b);
+            default:
+                if (b.signum() < 0) {
+                    if (a.signum() == 0) {
+                        return null;
+                    }
+                    // negative powers truncate towards zero
+                    return a.abs().equals(BigInteger.ONE) ? a.pow(b.testBit(0) ? 1 : 2) : BigInteger.ZERO;
+                }
+                if (a.abs().compareTo(BigInteger.ONE) <= 0) {
+                    return a.pow(b.signum() == 0 ? 0 : b.testBit(0) ? 1 : 2);
+                }
+                return isTooLarge(a, b) ? null : a.pow(b.intValue());
+        }
+    }
+    
+    // Whether the power has at least the default -Dsk.power.max.bits bits
+    private static boolean isTooLarge(BigInteger a, BigInteger b) {
+        return b.multiply(BigInteger.valueOf(a.abs().bitLength() - 1)).compareTo(BigInteger.valueOf(1 << 20)) >= 0;
+    }
+    
+    // Powers which are allowed but too large to check quickly
+    private static boolean isSlowPower(BigInteger a, BigInteger b) {
+        return b.signum() > 0 && a.abs().bitLength() > 1 && !isTooLarge(a, b)
+                && b.multiply(BigInteger.valueOf(a.abs().bitLength())).compareTo(BigInteger.valueOf(4096)) > 0;
+    }
+    
+    private static BigInteger operand(Random random) {
+        switch (random.nextInt(4)) {
+            case 0:
+                return BigInteger.valueOf(random.nextInt(100) - 50);
+            case 1:
+                return BigInteger.valueOf(random.nextInt());
+            case 2:
+                return BigInteger.valueOf(random.nextLong());
+            default:
+                BigInteger big = new BigInteger(70 + random.nextInt(60), random);
+                return random.nextBoolean() ? big : big.negate();
+        }
+    }
+    
+    // The value as the given type, or null if it does not fit or would be a BigInt in the range of a Long
+    private static SkNumber number(BigInteger value, int type) {
+        int bits = value.bitLength();
+        if (type == INT) {
+            return bits < Integer.SIZE ? SkInt.of(value.intValue()) : null;
+        } else if (type == LONG) {
+            return bits < Long.SIZE ? new SkLong(value.longValue()) : null;
+        }
+        return bits < Long.SIZE ? null : SkBigInt.of(value);
+    }
+    
+    private static int type(SkValue value) {
+        if (value instanceof SkInt) {
+            return INT;
+        }
+        return value instanceof SkLong ? LONG : BIG_INT;
+    }
+    
+    private static BigInteger toBigInteger(SkValue value) {
+        if (value instanceof SkInt) {
+            return BigInteger.valueOf(((SkInt) value).getValue());
+        } else if (value instanceof SkLong) {
+            return BigInteger.valueOf(((SkLong) value).getValue());
+        }
+        return ((SkBigInt) value).getValue();
+    }
+}
@@ -0,0 +1,157 @@
+/*
+   Copyright 2020 Michael Thornes
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.zytekaron.sk.types;
+
+import com.zytekaron.sk.types.primitive.SkBigInt;
+import com.zytekaron.sk.types.primitive.SkDouble;
+import com.zytekaron.sk.types.primitive.SkInt;
+import com.zytekaron.sk.types.primitive.SkLong;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.function.BinaryOperator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class NumericKernelTest {
+    private static final BigInteger TWO_TO_70 = BigInteger.ONE.shiftLeft(70);
+    private static final String[] OPERATORS = {"+", "-", "*", "/", "%", "**"};
+    private static final SkValue[] LEFT = {SkInt.of(-7), new SkLong(3_000_000_007L), SkBigInt.of(TWO_TO_70.add(BigInteger.valueOf(7))), new SkDouble(7.5)};
+    private static final SkValue[] RIGHT = {SkInt.of(3), new SkLong(3), SkBigInt.of(TWO_TO_70.negate()), new SkDouble(-2.5)};
+    
+    @Test
+    public void everyOperatorAndTypePairPromotes() {
+        for (String operator : OPERATORS) {
+            for (SkValue left : LEFT) {
+                for (SkValue right : RIGHT) {
+                    String pair = left.getType() + " " + operator + " " + right.getType();
+                    SkValue expected = reference(operator, left, right);
+                    SkValue actual;
+                    try {
+                        actual = kernel(operator).apply(left, right);
+                    } catch (ArithmeticException e) {
+                        actual = null;
+                    }
+                    if (expected == null || actual == null) {
+                        assertEquals(pair, expected, actual);
+                        continue;
+                    }
+                    assertEquals(pair, expected.getClass(), actual.getClass());
+                    assertEquals(pair, expected, actual);
+                }
+            }
+        }
+    }
+    
+    @Test
+    public void nonNumbersAreNotSupported() {
+        for (String operator : OPERATORS) {
+            assertEquals(null, kernel(operator).apply(SkInt.of(1), SkNull.NULL));
+            assertEquals(null, kernel(operator).apply(SkNull.NULL, new SkDouble(1)));
+        }
+    }
+    
+    private static BinaryOperator<SkValue> kernel(String operator) {
+        switch (operator) {
+            case "+":
+                return NumericKernel::add;
+            case "-":
+                return NumericKernel::subtract;
+            case "*":
+                return NumericKernel::multiply;
+            case "/":
+                return NumericKernel::divide;
+            case "%":
+                return NumericKernel::modulo;
+            default:
+                return NumericKernel::power;
+        }
+    }
+    
+    // The result computed by BigInteger or double arithmetic, or null if the operation throws
+    private static SkValue reference(String operator, SkValue left, SkValue right) {
+        if (left instanceof SkDouble || right instanceof SkDouble) {
+            double a = toDouble(left);
+            double b = toDouble(right);
+            switch (operator) {
+                case "+":
+                    return new SkDouble(a + b);
+                case "-":
+                    return new SkDouble(a - b);
+                case "*":
+                    return new SkDouble(a * b);
+                case "/":
+                    return new SkDouble(a / b);
+                case "%":
+                    return new SkDouble(a % b);
+                default:
+                    return new SkDouble(Math.pow(a, b));
+            }
+        }
+        BigInteger a = toBigInteger(left);
+        BigInteger b = toBigInteger(right);
+        BigInteger result;
+        switch (operator) {
+            case "+":
+                result = a.add(b);
+                break;
+            case "-":
+                result = a.subtract(b);
+                break;
+            case "*":
+                result = a.multiply(b);
+                break;
+            case "/":
+                result = a.divide(b);
+                break;
+            case "%":
+                result = a.remainder(b);
+                break;
+            default:
+                if (b.signum() < 0) {
+                    // every left operand is beyond -1..1, so a negative power truncates to 0
+                    result = BigInteger.ZERO;
+                } else if (b.bitLength() > 31) {
+                    return null;
+                } else {
+                    result = a.pow(b.intValue());
+                }
+        }
+        boolean ints = left instanceof SkInt && right instanceof SkInt;
+        if (ints && result.bitLength() < 32) {
+            return SkInt.of(result.intValue());
+        }
+        return result.bitLength() < 64 ? new SkLong(result.longValue()) : SkBigInt.of(result);
+    }
+    
+    private static double toDouble(SkValue value) {
+        return value instanceof SkDouble ? ((SkDouble) value).getValue() : toBigInteger(value).doubleValue();
+    }
+    
+    private static BigInteger toBigInteger(SkValue value) {
+        if (value instanceof SkInt) {
+            return BigInteger.valueOf(((SkInt) value).getValue());
+        } else if (value instanceof SkLong) {
+            return BigInteger.valueOf(((SkLong) value).getValue());
+        } else if (value instanceof SkBigInt) {
+            return ((SkBigInt) value).getValue();
+        }
+        fail("not an integer: " + value);
+        return null;
+    }
+}
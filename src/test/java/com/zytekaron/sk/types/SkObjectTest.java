@@ -0,0 +1,59 @@
+/*
+   Copyright 2020 Michael Thornes
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.zytekaron.sk.types;
+
+import com.zytekaron.sk.types.primitive.SkInt;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class SkObjectTest {
+    
+    @Test
+    public void objectsWithManyDifferentKeysBecomeDictionaries() {
+        List<SkObject> objects = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            SkObject object = new SkObject();
+            object.put("distinct-root-key-" + i, SkInt.of(i));
+            objects.add(object);
+        }
+        // The first objects share shapes made from the root, the rest are dictionaries
+        assertNotNull(objects.get(0).getShape());
+        assertNull(objects.get(999).getShape());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(SkInt.of(i), objects.get(i).get("distinct-root-key-" + i));
+        }
+    }
+    
+    @Test
+    public void dictionariesKeepInsertionOrder() {
+        SkObject object = new SkObject();
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            String key = "order-" + (i * 7919 % 200);
+            keys.add(key);
+            object.put(key, SkInt.of(i));
+        }
+        assertNull(object.getShape());
+        assertEquals(keys, new ArrayList<>(object.getValues().keySet()));
+    }
+}
@@ -0,0 +1,144 @@
+/*
+   Copyright 2020 Michael Thornes
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.zytekaron.sk.types;
+
+import com.zytekaron.sk.struct.Position;
+import com.zytekaron.sk.types.error.SkRuntimeError;
+import com.zytekaron.sk.types.object.SkString;
+import com.zytekaron.sk.types.primitive.SkBigInt;
+import com.zytekaron.sk.types.primitive.SkDouble;
+import com.zytekaron.sk.types.primitive.SkInt;
+import com.zytekaron.sk.types.primitive.SkLong;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class SkValueTest {
+    private static final BigInteger TWO_TO_70 = BigInteger.ONE.shiftLeft(70);
+    
+    private static List<SkValue> values() {
+        List<SkValue> values = new ArrayList<>();
+        for (int i : new int[]{Integer.MIN_VALUE, -1, 0, 1, 2, Integer.MAX_VALUE}) {
+            values.add(SkInt.of(i));
+            values.add(new SkLong(i));
+            values.add(SkBigInt.of(BigInteger.valueOf(i)));
+            values.add(new SkDouble(i));
+        }
+        for (long l : new long[]{Long.MIN_VALUE, Integer.MAX_VALUE + 1L, Long.MAX_VALUE}) {
+            values.add(new SkLong(l));
+            values.add(SkBigInt.of(BigInteger.valueOf(l)));
+        }
+        values.add(SkBigInt.of(TWO_TO_70));
+        values.add(SkBigInt.of(TWO_TO_70.negate()));
+        values.add(new SkDouble(TWO_TO_70.doubleValue()));
+        values.add(new SkDouble(0.5));
+        values.add(new SkDouble(-0.0));
+        values.add(new SkDouble(Double.POSITIVE_INFINITY));
+        values.add(new SkDouble(Double.NEGATIVE_INFINITY));
+        for (String s : new String[]{"", "a", "b", "ab", "1"}) {
+            values.add(new SkString(s));
+        }
+        values.add(SkNull.NULL);
+        values.add(new SkClass());
+        values.add(new SkClass());
+        values.add(new SkRuntimeError(new Position(), new Position(), null, "a"));
+        values.add(new SkRuntimeError(new Position(), new Position(), null, "a"));
+        return values;
+    }
+    
+    @Test
+    public void compareIsReflexive() {
+        for (SkValue value : values()) {
+            assertEquals(value.toString(), 0, value.compareTo(value));
+        }
+    }
+    
+    @Test
+    public void compareIsAntisymmetric() {
+        List<SkValue> values = values();
+        for (SkValue a : values) {
+            for (SkValue b : values) {
+                assertEquals(a + " vs " + b, Integer.signum(a.compareTo(b)), -Integer.signum(b.compareTo(a)));
+            }
+        }
+    }
+    
+    @Test
+    public void compareIsTransitive() {
+        List<SkValue> values = values();
+        for (SkValue a : values) {
+            for (SkValue b : values) {
+                if (a.compareTo(b) > 0) {
+                    continue;
+                }
+                for (SkValue c : values) {
+                    if (b.compareTo(c) <= 0) {
+                        int expected = a.compareTo(b) == 0 && b.compareTo(c) == 0 ? 0 : -1;
+                        assertEquals(a + " <= " + b + " <= " + c, expected, Integer.signum(a.compareTo(c)));
+                    }
+                }
+            }
+        }
+    }
+    
+    @Test
+    public void equalValuesHaveEqualHashes() {
+        List<SkValue> values = values();
+        for (SkValue a : values) {
+            for (SkValue b : values) {
+                assertEquals(a + " vs " + b, a.compareTo(b) == 0, a.equals(b));
+                if (a.equals(b)) {
+                    assertEquals(a + " vs " + b, a.hashCode(), b.hashCode());
+                }
+            }
+        }
+    }
+    
+    @Test
+    public void numbersOfEveryTypeAreEqual() {
+        SkValue[] ones = {SkInt.of(1), new SkLong(1), SkBigInt.of(BigInteger.ONE), new SkDouble(1)};
+        for (SkValue a : ones) {
+            for (SkValue b : ones) {
+                assertEquals(a.getType() + " vs " + b.getType(), a, b);
+            }
+        }
+        assertNotEquals(SkInt.of(1), new SkString("1"));
+    }
+    
+    @Test
+    public void identityHashCollisionsAreOrdered() {
+        // Identity hash codes collide within a few hundred thousand objects
+        Map<Integer, SkClass> seen = new HashMap<>();
+        for (int i = 0; i < 2_000_000; i++) {
+            SkClass value = new SkClass();
+            SkClass other = seen.put(System.identityHashCode(value), value);
+            if (other != null) {
+                int order = value.compareTo(other);
+                assertNotEquals(0, order);
+                assertEquals(Integer.signum(order), -Integer.signum(other.compareTo(value)));
+                return;
+            }
+        }
+    }
+}
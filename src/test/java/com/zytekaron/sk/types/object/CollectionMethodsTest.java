@@ -0,0 +1,75 @@
+/*
+   Copyright 2020 Michael Thornes
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.zytekaron.sk.types.object;
+
+import com.zytekaron.sk.Scripts;
+import com.zytekaron.sk.Scripts.Engine;
+import com.zytekaron.sk.struct.result.RuntimeResult;
+import com.zytekaron.sk.types.SkNull;
+import com.zytekaron.sk.types.primitive.SkBool;
+import com.zytekaron.sk.types.primitive.SkInt;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class CollectionMethodsTest {
+    
+    @Test
+    public void mapsCanBeUsedFromScripts() {
+        for (Engine engine : Engine.values()) {
+            assertEquals(engine.toString(), SkInt.of(3), Scripts.eval(engine, "var m = Map(); m.put(\"a\", 1); m.put(2, \"b\"); return m.get(\"a\") + m.size();"));
+            assertEquals(engine.toString(), SkInt.of(5), Scripts.eval(engine, "var m = Map(); m.put(1, 4); m.put(1.0, 5); return m[1];"));
+            assertEquals(engine.toString(), SkNull.NULL, Scripts.eval(engine, "return Map().get(1);"));
+            assertEquals(engine.toString(), new SkString("b"), Scripts.eval(engine, "var m = Map(); m.put(1, \"b\"); var v = m.remove(1); return v * (1 + m.size());"));
+            assertEquals(engine.toString(), SkBool.of(true), Scripts.eval(engine, "var m = Map(); m.put(null, 0); return m.has(null);"));
+            assertEquals(engine.toString(), new SkString("[x, y]"), Scripts.eval(engine, "var m = Map(); m.put(\"x\", 1); m.put(\"y\", 2); return \"\" + m.keys();"));
+        }
+    }
+    
+    @Test
+    public void setsCanBeUsedFromScripts() {
+        for (Engine engine : Engine.values()) {
+            assertEquals(engine.toString(), SkInt.of(4), Scripts.eval(engine, "var s = Set([1, 2, 2, 3]); s.add(4); s.add(1.0); return s.size();"));
+            assertEquals(engine.toString(), SkBool.of(false), Scripts.eval(engine, "return Set().has(1);"));
+            assertEquals(engine.toString(), SkBool.of(true), Scripts.eval(engine, "var s = Set([\"a\"]); return s.remove(\"a\");"));
+        }
+    }
+    
+    @Test
+    public void everyCallMakesANewCollection() {
+        for (Engine engine : Engine.values()) {
+            // make() is a tail call of a native, and must not be memoized
+            assertEquals(engine.toString(), SkInt.of(0), Scripts.eval(engine, "fn make() { return Map(); }; var a = make(); var b = make(); a.put(1, 1); return b.size();"));
+        }
+    }
+    
+    @Test
+    public void unsupportedCallsAreErrors() {
+        for (Engine engine : Engine.values()) {
+            assertError(engine, "Expected 0 to 0 args, instead got 1", "return Map(1);");
+            assertError(engine, "Invalid arguments for 'Set'", "return Set(1);");
+            assertError(engine, "Invalid arguments for Map method 'get'", "return Map().get();");
+            assertError(engine, "Set has no method 'put'", "return Set().put(1);");
+        }
+    }
+    
+    private static void assertError(Engine engine, String details, String script) {
+        RuntimeResult result = Scripts.run(engine, script);
+        assertFalse(engine.toString(), result.success());
+        assertEquals(engine.toString(), details, result.getError().getDetails());
+    }
+}
@@ -0,0 +1,81 @@
+/*
+   Copyright 2020 Michael Thornes
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.zytekaron.sk.types.object;
+
+import com.zytekaron.sk.Scripts;
+import com.zytekaron.sk.Scripts.Engine;
+import com.zytekaron.sk.types.SkValue;
+import com.zytekaron.sk.types.primitive.SkDouble;
+import com.zytekaron.sk.types.primitive.SkInt;
+import com.zytekaron.sk.types.primitive.SkLong;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+
+public class SkArrayTest {
+    
+    @Test
+    public void typedGettersReadTheirStorage() {
+        assertEquals(3, new SkArray(new int[]{1, 2, 3}).getInt(2));
+        assertEquals(1L << 40, new SkArray(new long[]{1L << 40}).getLong(0));
+        assertEquals(0.5, new SkArray(new double[]{0.5}).getDouble(0), 0);
+    }
+    
+    @Test
+    public void typedGettersWidenNumbers() {
+        SkArray array = new SkArray(Arrays.<SkValue>asList(SkInt.of(1), new SkLong(1L << 40), new SkString("x")));
+        assertEquals("value[]", array.getStorageType());
+        assertEquals(1L, array.getLong(0));
+        assertEquals(1.0, array.getDouble(0), 0);
+        assertEquals((double) (1L << 40), array.getDouble(1), 0);
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void typedGetterOfOtherTypeIsATypeError() {
+        new SkArray(Arrays.<SkValue>asList(SkInt.of(1), new SkString("x"))).getInt(1);
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void narrowingIsATypeError() {
+        new SkArray(new long[]{1L << 40}).getInt(0);
+    }
+    
+    @Test
+    public void storageKeepsItsTypeUntilAnotherTypeIsStored() {
+        SkArray array = new SkArray(new int[]{1, 2});
+        array.set(0, SkInt.of(5));
+        array.add(SkInt.of(7));
+        assertEquals("int[]", array.getStorageType());
+        // Ints are not widened, as reading them back would change their type
+        array.add(new SkLong(1L << 40));
+        assertEquals("value[]", array.getStorageType());
+        assertEquals(Arrays.asList(SkInt.of(5), SkInt.of(2), SkInt.of(7), new SkLong(1L << 40)), array.getElements());
+    }
+    
+    @Test
+    public void enginesReadElementsOfEveryStorage() {
+        for (Engine engine : Engine.values()) {
+            assertEquals(SkInt.of(3), Scripts.eval(engine, "var a = [1, 2, 3]; return a[2];"));
+            assertEquals(new SkDouble(2.5), Scripts.eval(engine, "var a = [1.5, 2.5]; return a[1];"));
+            assertEquals(new SkString("x"), Scripts.eval(engine, "var a = [1, \"x\"]; return a[1];"));
+            assertEquals(new SkLong(4294967294L), Scripts.eval(engine,
+                    "var a = [2147483647, 2147483647]; var s = a[0] + a[1]; var b = [s, s]; return b[1];"));
+        }
+    }
+}
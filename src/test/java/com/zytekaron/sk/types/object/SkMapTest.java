@@ -0,0 +1,107 @@
+/*
+   Copyright 2020 Michael Thornes
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.zytekaron.sk.types.object;
+
+import com.zytekaron.sk.types.SkValue;
+import com.zytekaron.sk.types.primitive.SkBool;
+import com.zytekaron.sk.types.primitive.SkDouble;
+import com.zytekaron.sk.types.primitive.SkInt;
+import com.zytekaron.sk.types.primitive.SkLong;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+public class SkMapTest {
+    
+    @Test
+    public void behavesLikeLinkedCollections() {
+        Random random = new Random(3);
+        for (int round = 0; round < 20; round++) {
+            SkMap map = new SkMap();
+            SkSet set = new SkSet();
+            LinkedHashMap<SkValue, SkValue> mapReference = new LinkedHashMap<>();
+            LinkedHashSet<SkValue> setReference = new LinkedHashSet<>();
+            // small ranges collide often, large ones make the tables grow
+            int range = 1 + random.nextInt(round < 10 ? 50 : 5000);
+            
+            for (int op = 0; op < 5000; op++) {
+                int k = random.nextInt(range) - range / 4;
+                SkValue key = key(random.nextInt(5), k);
+                int action = random.nextInt(10);
+                if (action < 5) {
+                    SkValue value = SkInt.of(op);
+                    assertEquals(mapReference.put(key, value), map.put(key, value));
+                    assertEquals(setReference.add(key), set.add(key));
+                } else if (action < 7) {
+                    assertEquals(mapReference.remove(key), map.remove(key));
+                    assertEquals(setReference.remove(key), set.remove(key));
+                } else {
+                    assertEquals(mapReference.get(key), map.get(key));
+                    assertEquals(mapReference.get(SkInt.of(k)), map.get(k));
+                    assertEquals(setReference.contains(SkInt.of(k)), set.contains(k));
+                }
+                assertEquals(mapReference.size(), map.size());
+                assertEquals(setReference.size(), set.size());
+            }
+            
+            assertEquals(new ArrayList<>(mapReference.keySet()), map.keys());
+            assertEquals(new ArrayList<>(mapReference.values()), map.values());
+            assertEquals(new ArrayList<>(setReference), set.values());
+            
+            // maps with the same entries in another order are equal and hash alike
+            SkMap reordered = new SkMap();
+            List<SkValue> keys = map.keys();
+            Collections.reverse(keys);
+            for (SkValue key : keys) {
+                reordered.put(key, map.get(key));
+            }
+            assertEquals(map, reordered);
+            assertEquals(map.hash(), reordered.hash());
+        }
+    }
+    
+    @Test
+    public void equalNumbersAreTheSameKey() {
+        SkMap map = new SkMap();
+        map.put(SkBool.TRUE, new SkString("t"));
+        assertNotNull(map.get(1));
+        assertNotNull(map.get(SkInt.of(1)));
+        assertNotNull(map.get(new SkLong(1)));
+        assertNotNull(map.get(new SkDouble(1.0)));
+    }
+    
+    private static SkValue key(int type, int k) {
+        switch (type) {
+            case 0:
+                return new SkLong(k);
+            case 1:
+                return new SkString("k" + k);
+            case 2:
+                return new SkDouble(k);
+            default:
+                return SkInt.of(k);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+/*
+   Copyright 2020 Michael Thornes
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.zytekaron.sk.types.object;
+
+import com.zytekaron.sk.Scripts;
+import com.zytekaron.sk.Scripts.Engine;
+import com.zytekaron.sk.types.primitive.SkBool;
+import com.zytekaron.sk.types.primitive.SkInt;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class StringMethodsTest {
+    
+    @Test
+    public void methodsCanBeCalledFromScripts() {
+        for (Engine engine : Engine.values()) {
+            assertEquals(new SkString("HELLO"), Scripts.eval(engine, "var s = \"hello\"; return s.upper();"));
+            assertEquals(SkInt.of(3), Scripts.eval(engine, "return \"  abc \".trim().length();"));
+            assertEquals(new SkString("B"), Scripts.eval(engine, "var p = \"a,b,c\".split(\",\"); return p[1].upper();"));
+            assertEquals(SkBool.of(true), Scripts.eval(engine, "fn f(s) { return s.slice(1).startsWith(\"b\"); }; return f(\"abc\");"));
+        }
+    }
+    
+    @Test
+    public void unsupportedCallsAreErrors() {
+        for (Engine engine : Engine.values()) {
+            assertFalse(engine.toString(), Scripts.run(engine, "return \"abc\".nope();").success());
+            assertFalse(engine.toString(), Scripts.run(engine, "return \"abc\".charAt(\"x\");").success());
+            assertFalse(engine.toString(), Scripts.run(engine, "var n = 1; return n.upper();").success());
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/*
+   Copyright 2020 Michael Thornes
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.zytekaron.sk.types.primitive;
+
+import com.zytekaron.sk.types.SkValue;
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class FootprintTest {
+    
+    // The instance fields of a class and its superclasses, which with the header are its whole size
+    private static List<Class<?>> instanceFields(Class<?> clazz) {
+        List<Class<?>> fields = new ArrayList<>();
+        for (Class<?> c = clazz; c != null; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    fields.add(field.getType());
+                }
+            }
+        }
+        return fields;
+    }
+    
+    @Test
+    public void primitivesAreAHeaderAndTheirValue() {
+        assertEquals(List.of(int.class), instanceFields(SkInt.class));
+        assertEquals(List.of(long.class), instanceFields(SkLong.class));
+        assertEquals(List.of(double.class), instanceFields(SkDouble.class));
+        assertEquals(List.of(boolean.class), instanceFields(SkBool.class));
+        assertEquals(List.of(char.class), instanceFields(SkChar.class));
+        assertEquals(List.of(BigInteger.class), instanceFields(SkBigInt.class));
+    }
+    
+    @Test
+    public void conversionsReturnTheRequestedType() {
+        SkValue[] values = {SkInt.of(7), new SkLong(7), new SkDouble(7), SkChar.of((char) 7)};
+        List<Class<? extends SkValue>> targets = List.of(SkInt.class, SkLong.class, SkDouble.class, SkChar.class);
+        for (SkValue value : values) {
+            for (Class<? extends SkValue> target : targets) {
+                SkValue converted = value.into(target);
+                String conversion = value.getType() + " into " + target.getSimpleName();
+                assertSame(conversion, target, converted.getClass());
+                assertEquals(conversion, 0, converted.compareTo(SkInt.of(7)));
+            }
+            assertSame(value.getType(), SkBool.TRUE, value.into(SkBool.class));
+        }
+        assertSame(SkBool.FALSE, SkInt.of(0).into(SkBool.class));
+        assertSame(SkInt.class, SkBool.TRUE.into(SkInt.class).getClass());
+        assertEquals('A', SkInt.of(65).into(SkChar.class).getValue());
+        SkValue big = SkBigInt.of(BigInteger.ONE.shiftLeft(64).add(BigInteger.valueOf(65)));
+        assertEquals('A', big.into(SkChar.class).getValue());
+        assertSame(SkDouble.class, big.into(SkDouble.class).getClass());
+    }
+}
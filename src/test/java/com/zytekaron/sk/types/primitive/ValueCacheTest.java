@@ -0,0 +1,64 @@
+/*
+   Copyright 2020 Michael Thornes
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.zytekaron.sk.types.primitive;
+
+import com.zytekaron.sk.types.SkNull;
+import com.zytekaron.sk.types.SkObject;
+import com.zytekaron.sk.types.SkValue;
+import com.zytekaron.sk.types.object.SkString;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class ValueCacheTest {
+    
+    @Test
+    public void smallIntsAreShared() {
+        for (int i = -128; i <= 1023; i++) {
+            assertSame(SkInt.of(i), SkInt.of(i));
+        }
+        assertNotSame(SkInt.of(1024), SkInt.of(1024));
+        assertEquals(SkInt.of(1024), SkInt.of(1024));
+    }
+    
+    @Test
+    public void asciiCharsAreShared() {
+        for (char c = 0; c < 128; c++) {
+            assertSame(SkChar.of(c), SkChar.of(c));
+        }
+        assertEquals(SkChar.of('\u00e9'), SkChar.of('\u00e9'));
+    }
+    
+    @Test
+    public void comparisonsReturnTheSharedBools() {
+        SkValue one = SkInt.of(1);
+        SkValue two = new SkDouble(2);
+        assertSame(SkBool.TRUE, one.lessThan(two));
+        assertSame(SkBool.FALSE, one.greaterThan(two));
+        assertSame(SkBool.FALSE, one.equalTo(two));
+        assertSame(SkBool.TRUE, new SkString("a").equalTo(new SkString("a")));
+        assertSame(SkBool.TRUE, SkBool.of(true));
+        assertSame(SkBool.FALSE, SkBool.of(false));
+    }
+    
+    @Test
+    public void missingPropertiesAreTheSharedNull() {
+        assertSame(SkNull.NULL, new SkObject().get("missing"));
+    }
+}
@@ -0,0 +1,67 @@
+/*
+   Copyright 2020 Michael Thornes
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.zytekaron.sk.vm;
+
+import com.zytekaron.sk.Scripts;
+import com.zytekaron.sk.Scripts.Engine;
+import com.zytekaron.sk.struct.VariableTable;
+import com.zytekaron.sk.struct.result.RuntimeResult;
+import com.zytekaron.sk.types.SkNull;
+import com.zytekaron.sk.types.object.SkFunction;
+import com.zytekaron.sk.types.primitive.SkInt;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class VirtualMachineTest {
+    // far too small for the nested calls below if they used the Java stack
+    private static final long STACK_SIZE = 256 * 1024;
+    
+    @Test
+    public void deepRecursionDoesNotUseTheJavaStack() {
+        // sum(n) is not a tail call, so every level keeps its frame until the bottom is reached
+        String script = "fn stop(n) { return 0; };"
+                + "fn sum(n) { var fs = [stop, sum]; var next = fs[1 - 0 ** n]; return 1 + next(n - 1); };"
+                + "return sum(500000);";
+        RuntimeResult result = Scripts.onStack(STACK_SIZE, () -> Scripts.run(Engine.VIRTUAL_MACHINE, script));
+        assertTrue(String.valueOf(result.getError()), result.success());
+        assertEquals(SkInt.of(500_001), result.getResult());
+    }
+    
+    @Test
+    public void unboundedRecursionHitsTheCallDepthLimit() {
+        RuntimeResult result = Scripts.run(Engine.VIRTUAL_MACHINE, "fn down(n) { return down(n + 1) + 0; }; return down(0);");
+        assertFalse(result.success());
+        assertEquals("Maximum call depth of 1000000 exceeded", result.getError().getDetails());
+    }
+    
+    @Test
+    public void failingCallsGiveTheirFramesBack() {
+        // keep is a global, so the function can be inspected after the failure unwinds the module
+        VariableTable globals = Scripts.globals();
+        globals.put("keep", SkNull.NULL);
+        String script = "fn down(n) { var k = n; 1 / (50 - k); return 1 + down(k + 1); };"
+                + "keep = down;"
+                + "return down(0);";
+        RuntimeResult result = Scripts.run(Engine.VIRTUAL_MACHINE, script, globals, true);
+        assertFalse(result.success());
+        
+        SkFunction down = (SkFunction) globals.get("keep");
+        assertEquals(8, down.getLayout().getPooled());
+    }
+}